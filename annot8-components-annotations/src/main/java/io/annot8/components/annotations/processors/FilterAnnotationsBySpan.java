@@ -16,10 +16,18 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
+import io.annot8.components.base.utils.WildcardMatcher;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ComponentName("Filter Annotations by Span")
 @ComponentDescription("Remove all annotations with given span values")
@@ -31,29 +39,97 @@ public class FilterAnnotationsBySpan
 
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    return new Processor(settings.getSpanValues(), settings.isCaseSensitive(), settings.isRegex());
+    return new Processor(
+        settings.getSpanValues(),
+        settings.isCaseSensitive(),
+        settings.isRegex(),
+        settings.getTypes());
   }
 
   @Override
   public Capabilities capabilities() {
-    return new SimpleCapabilities.Builder()
-        .withProcessesContent(Text.class)
-        .withDeletesAnnotations("*", SpanBounds.class)
-        .build();
+    SimpleCapabilities.Builder builder =
+        new SimpleCapabilities.Builder().withProcessesContent(Text.class);
+
+    List<String> types = getSettings().getTypes();
+    if (types == null || types.isEmpty()) {
+      builder = builder.withDeletesAnnotations("*", SpanBounds.class);
+    } else {
+      for (String type : types) {
+        builder = builder.withDeletesAnnotations(type, SpanBounds.class);
+      }
+    }
+
+    return builder.build();
   }
 
+  /**
+   * Processor that removes annotations whose span matches any of the span values.
+   *
+   * <p>Span values that are literal strings (including regular expressions without any
+   * metacharacters) are held in a hash set, so the cost of checking them doesn't depend on how many
+   * there are. The remaining regular expressions are combined into a single alternation where
+   * possible, and are matched against the region of the content rather than a copy of the span.
+   */
   public static class Processor extends AbstractProcessor {
-    private final List<Pattern> spanPatterns;
+    private static final String METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final Pattern UNCOMBINABLE =
+        Pattern.compile("\\\\([0-9]|k<|Q|E)|\\(\\?<[^=!]|\\(\\?[a-zA-Z-]*x");
+
+    private final boolean caseSensitive;
+    private final Set<String> literals = new HashSet<>();
+    private final BitSet literalLengths = new BitSet();
+    private final List<Pattern> spanPatterns = new ArrayList<>();
+
+    private final Set<String> types = new HashSet<>();
+    private final List<WildcardMatcher> wildcards = new ArrayList<>();
 
     public Processor(List<String> spanValues, boolean caseSensitive, boolean regex) {
-      spanPatterns =
-          spanValues.stream()
-              .map(
-                  s ->
-                      Pattern.compile(
-                          regex ? s : Pattern.quote(s),
-                          caseSensitive ? 0 : Pattern.CASE_INSENSITIVE))
-              .collect(Collectors.toList());
+      this(spanValues, caseSensitive, regex, Collections.emptyList());
+    }
+
+    public Processor(
+        List<String> spanValues, boolean caseSensitive, boolean regex, List<String> types) {
+      this.caseSensitive = caseSensitive;
+
+      int flags = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE;
+
+      List<String> combinable = new ArrayList<>();
+      for (String s : spanValues) {
+        if (!regex || isLiteral(s)) {
+          literals.add(caseSensitive ? s : toLowerCase(s));
+          literalLengths.set(s.length());
+        } else if (isCombinable(s)) {
+          // Compile on its own first, so that invalid patterns are reported as before
+          Pattern.compile(s, flags);
+          combinable.add(s);
+        } else {
+          spanPatterns.add(Pattern.compile(s, flags));
+        }
+      }
+
+      if (combinable.size() == 1) {
+        spanPatterns.add(Pattern.compile(combinable.get(0), flags));
+      } else if (!combinable.isEmpty()) {
+        String combined =
+            combinable.stream().map(s -> "(?:" + s + ")").collect(Collectors.joining("|"));
+        try {
+          spanPatterns.add(Pattern.compile(combined, flags));
+        } catch (PatternSyntaxException e) {
+          // Something in one of the patterns stops them being joined, so match them separately
+          combinable.forEach(s -> spanPatterns.add(Pattern.compile(s, flags)));
+        }
+      }
+
+      if (types != null) {
+        for (String type : types) {
+          if (type.contains("*")) {
+            wildcards.add(WildcardMatcher.compile(type));
+          } else {
+            this.types.add(type);
+          }
+        }
+      }
     }
 
     @Override
@@ -61,16 +137,15 @@ public class FilterAnnotationsBySpan
       item.getContents(Text.class)
           .forEach(
               c -> {
+                String data = c.getData();
+
+                // Matchers are reused for every annotation on the content
+                List<Matcher> matchers =
+                    spanPatterns.stream().map(p -> p.matcher(data)).collect(Collectors.toList());
+
                 List<Annotation> toRemove =
-                    c.getAnnotations()
-                        .getByBounds(SpanBounds.class)
-                        .filter(
-                            a -> {
-                              String val = c.getText(a).orElse(null);
-                              if (val == null) return false;
-
-                              return spanPatterns.stream().anyMatch(p -> p.matcher(val).matches());
-                            })
+                    getAnnotations(c)
+                        .filter(a -> matches(data, a.getBounds(SpanBounds.class).get(), matchers))
                         .collect(Collectors.toList());
 
                 c.getAnnotations().delete(toRemove);
@@ -78,23 +153,89 @@ public class FilterAnnotationsBySpan
 
       return ProcessorResponse.ok();
     }
+
+    private Stream<Annotation> getAnnotations(Text c) {
+      if (types.isEmpty() && wildcards.isEmpty()) {
+        return c.getAnnotations().getByBounds(SpanBounds.class);
+      } else if (wildcards.isEmpty()) {
+        // No wildcard, so use the exact types to quickly get annotations
+        return types.stream()
+            .flatMap(t -> c.getAnnotations().getByBoundsAndType(SpanBounds.class, t));
+      } else {
+        return c.getAnnotations()
+            .getByBounds(SpanBounds.class)
+            .filter(
+                a ->
+                    types.contains(a.getType())
+                        || wildcards.stream().anyMatch(w -> w.matches(a.getType())));
+      }
+    }
+
+    private boolean matches(String data, SpanBounds bounds, List<Matcher> matchers) {
+      int begin = bounds.getBegin();
+      int end = bounds.getEnd();
+      if (begin < 0 || end > data.length() || begin > end) return false;
+
+      if (literalLengths.get(end - begin)) {
+        String val = data.substring(begin, end);
+        if (literals.contains(caseSensitive ? val : toLowerCase(val))) return true;
+      }
+
+      for (Matcher m : matchers) {
+        if (m.region(begin, end).matches()) return true;
+      }
+
+      return false;
+    }
+
+    private static boolean isLiteral(String regex) {
+      for (int i = 0; i < regex.length(); i++) {
+        if (METACHARACTERS.indexOf(regex.charAt(i)) >= 0) return false;
+      }
+
+      return true;
+    }
+
+    // Patterns with back references, named groups, quotes or comments can't safely be combined
+    // with others
+    private static boolean isCombinable(String regex) {
+      return !UNCOMBINABLE.matcher(regex).find();
+    }
+
+    // Case insensitive matching is only for US-ASCII characters, unless UNICODE_CASE is also set
+    private static String toLowerCase(String s) {
+      char[] chars = s.toCharArray();
+      for (int i = 0; i < chars.length; i++) {
+        if (chars[i] >= 'A' && chars[i] <= 'Z') chars[i] += 'a' - 'A';
+      }
+
+      return new String(chars);
+    }
   }
 
   public static class Settings implements io.annot8.api.settings.Settings {
     private List<String> spanValues;
     private boolean caseSensitive;
     private boolean regex;
+    private List<String> types;
 
     public Settings() {
       this.spanValues = Collections.emptyList();
       this.caseSensitive = true;
       this.regex = true;
+      this.types = Collections.emptyList();
     }
 
     public Settings(List<String> spanValues, boolean caseSensitive, boolean regex) {
+      this(spanValues, caseSensitive, regex, Collections.emptyList());
+    }
+
+    public Settings(
+        List<String> spanValues, boolean caseSensitive, boolean regex, List<String> types) {
       this.spanValues = spanValues;
       this.caseSensitive = caseSensitive;
       this.regex = regex;
+      this.types = types;
     }
 
     @Description("Span values to remove")
@@ -129,5 +270,15 @@ public class FilterAnnotationsBySpan
     public void setRegex(boolean regex) {
       this.regex = regex;
     }
+
+    @Description(
+        "Annotation types to filter (all types if empty) - you can use * as a wildcard for a single part, or ** as a wildcard for multiple parts")
+    public List<String> getTypes() {
+      return types;
+    }
+
+    public void setTypes(List<String> types) {
+      this.types = types;
+    }
   }
 }
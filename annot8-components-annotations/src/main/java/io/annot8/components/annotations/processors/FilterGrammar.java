@@ -15,7 +15,7 @@ import io.annot8.common.components.AbstractProcessor;
 import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
-import io.annot8.components.base.utils.TypeUtils;
+import io.annot8.components.base.utils.WildcardMatcher;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.GroupTypes;
 import java.util.List;
@@ -41,6 +41,11 @@ public class FilterGrammar
   }
 
   public static class Processor extends AbstractProcessor {
+    private static final WildcardMatcher GRAMMAR_ANNOTATIONS =
+        WildcardMatcher.compile(AnnotationTypes.GRAMMAR_PREFIX + "*");
+    private static final WildcardMatcher GRAMMAR_GROUPS =
+        WildcardMatcher.compile(GroupTypes.GRAMMAR_PREFIX + "*");
+
     @Override
     public ProcessorResponse process(Item item) {
       item.getContents()
@@ -49,10 +54,7 @@ public class FilterGrammar
                 List<Annotation> toRemove =
                     c.getAnnotations()
                         .getAll()
-                        .filter(
-                            a ->
-                                TypeUtils.matchesWildcard(
-                                    a.getType(), AnnotationTypes.GRAMMAR_PREFIX + "*"))
+                        .filter(a -> GRAMMAR_ANNOTATIONS.matches(a.getType()))
                         .collect(Collectors.toList());
 
                 log()
@@ -67,7 +69,7 @@ public class FilterGrammar
       List<Group> toRemove =
           item.getGroups()
               .getAll()
-              .filter(g -> TypeUtils.matchesWildcard(g.getType(), GroupTypes.GRAMMAR_PREFIX + "*"))
+              .filter(g -> GRAMMAR_GROUPS.matches(g.getType()))
               .filter(g -> !g.getType().equals(GroupTypes.GROUP_TYPE_GRAMMAR_COREFERENCE))
               .collect(Collectors.toList());
 
@@ -53,9 +53,17 @@ public class MergeAdjacentSpanBounds
 
   public static class Processor extends AbstractProcessor {
     private final Settings settings;
+    private final String separators;
 
     public Processor(Settings settings) {
       this.settings = settings;
+
+      // Separators are checked a character at a time, so only single character separators can match
+      StringBuilder sb = new StringBuilder();
+      for (Object o : settings.getAllowableSeparators()) {
+        if (o instanceof String && ((String) o).length() == 1) sb.append(o);
+      }
+      this.separators = sb.toString();
     }
 
     @Override
@@ -74,6 +82,9 @@ public class MergeAdjacentSpanBounds
                   types = settings.getTypes();
                 }
 
+                Object data = c.getData();
+                CharSequence text = data instanceof CharSequence ? (CharSequence) data : "";
+
                 for (String type : types) {
                   List<Annotation> annotations =
                       c.getAnnotations()
@@ -85,58 +96,76 @@ public class MergeAdjacentSpanBounds
 
                   if (annotations.size() < 2) continue;
 
-                  Annotation aCurr = annotations.get(0);
-                  for (int i = 1; i < annotations.size() - 1; i++) {
-                    Annotation a2 = annotations.get(i);
+                  mergeAdjacent(c, text, annotations);
+                }
+              });
+
+      return ProcessorResponse.ok();
+    }
 
-                    SpanBounds s1 = aCurr.getBounds(SpanBounds.class).get();
-                    SpanBounds s2 = a2.getBounds(SpanBounds.class).get();
+    /**
+     * Sweep through the annotations in order of begin, building up runs of annotations which are
+     * adjacent to (or overlap) the run so far. Each run is then merged into a single annotation.
+     */
+    private void mergeAdjacent(Content<?> c, CharSequence text, List<Annotation> annotations) {
+      List<Annotation> run = new ArrayList<>();
+      int runBegin = 0;
+      int runEnd = 0;
+
+      for (Annotation a : annotations) {
+        SpanBounds s = a.getBounds(SpanBounds.class).get();
+
+        if (!run.isEmpty() && isAdjacent(text, runEnd, s.getBegin())) {
+          run.add(a);
+          runEnd = Math.max(runEnd, s.getEnd());
+        } else {
+          mergeAnnotations(c, run, runBegin, runEnd);
+
+          run = new ArrayList<>();
+          run.add(a);
+          runBegin = s.getBegin();
+          runEnd = s.getEnd();
+        }
+      }
 
-                    boolean merge = true;
+      mergeAnnotations(c, run, runBegin, runEnd);
+    }
 
-                    if (!s2.isOverlaps(s1)) {
-                      if (settings.getMaxRepeatableSeparators() < s2.getBegin() - s1.getBegin()
-                          && settings.getMaxRepeatableSeparators() >= 0) merge = false;
+    private boolean isAdjacent(CharSequence text, int end, int begin) {
+      // Overlapping
+      if (begin <= end) return true;
 
-                      for (int j = s1.getEnd(); j < s2.getBegin() && merge; j++) {
-                        Optional<?> dataStep = new SpanBounds(j, j + 1).getData(c);
+      if (settings.getMaxRepeatableSeparators() >= 0
+          && begin - end > settings.getMaxRepeatableSeparators()) return false;
 
-                        merge =
-                            dataStep
-                                .filter(o -> settings.getAllowableSeparators().contains(o))
-                                .isPresent();
-                      }
-                    }
+      if (begin > text.length()) return false;
 
-                    if (merge) {
-                      aCurr = mergeAnnotations(c, aCurr, a2);
-                    } else {
-                      aCurr = a2;
-                    }
-                  }
-                }
-              });
+      for (int i = end; i < begin; i++) {
+        if (separators.indexOf(text.charAt(i)) < 0) return false;
+      }
 
-      return ProcessorResponse.ok();
+      return true;
     }
 
-    private Annotation mergeAnnotations(Content<?> c, Annotation a1, Annotation a2) {
-      SpanBounds s1 = a1.getBounds(SpanBounds.class).get();
-      SpanBounds s2 = a2.getBounds(SpanBounds.class).get();
-      SpanBounds s = new SpanBounds(s1.getBegin(), s2.getEnd());
+    private void mergeAnnotations(Content<?> c, List<Annotation> run, int begin, int end) {
+      if (run.size() < 2) return;
 
-      Map<String, Object> properties = new HashMap<>(a1.getProperties().getAll());
-      properties.putAll(a2.getProperties().getAll());
+      Map<String, Object> properties = new HashMap<>();
+      run.forEach(a -> properties.putAll(a.getProperties().getAll()));
 
-      Annotation.Builder a = c.getAnnotations().create().withType(a1.getType()).withBounds(s);
+      Annotation.Builder a =
+          c.getAnnotations()
+              .create()
+              .withType(run.get(0).getType())
+              .withBounds(new SpanBounds(begin, end));
 
       for (Map.Entry<String, Object> e : properties.entrySet()) {
         a = a.withProperty(e.getKey(), e.getValue());
       }
 
-      c.getAnnotations().delete(List.of(a1, a2));
+      c.getAnnotations().delete(run);
 
-      return a.save();
+      a.save();
     }
   }
 
@@ -84,35 +84,84 @@ public class MergeContainedSpanBounds
                           .collect(Collectors.toList());
                   if (annotations.size() <= 1) continue;
 
-                  Map<Annotation, List<Annotation>> groups = new HashMap<>();
-                  List<Annotation> grouped = new ArrayList<>();
+                  mergeContained(c, annotations);
+                }
+              });
 
-                  for (int i = annotations.size() - 1; i >= 0; i--) {
-                    Annotation a1 = annotations.get(i);
-                    if (grouped.contains(a1)) continue;
+      return ProcessorResponse.ok();
+    }
 
-                    SpanBounds s1 = a1.getBounds(SpanBounds.class).get();
+    /**
+     * Merge each annotation into the longer annotations which contain it, where the annotations are
+     * sorted by length. An annotation which has been merged into a longer one isn't itself used as
+     * a container.
+     *
+     * <p>Rather than comparing every pair of annotations, the annotations are also sorted by begin,
+     * so that the only candidates to be contained within a span are those which begin within it.
+     */
+    private void mergeContained(Content<?> c, List<Annotation> annotations) {
+      int n = annotations.size();
+
+      SpanBounds[] bounds = new SpanBounds[n];
+
+      // Begin in the upper bits and the index (by length) in the lower bits, so that sorting gives
+      // the annotations in order of begin
+      long[] byBegin = new long[n];
+      for (int i = 0; i < n; i++) {
+        bounds[i] = annotations.get(i).getBounds(SpanBounds.class).get();
+        byBegin[i] = ((long) bounds[i].getBegin() << 32) | i;
+      }
+      Arrays.sort(byBegin);
 
-                    for (int j = 0; j < i; j++) {
-                      Annotation a2 = annotations.get(j);
-                      SpanBounds s2 = a2.getBounds(SpanBounds.class).get();
+      boolean[] grouped = new boolean[n];
+      Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
 
-                      if (s1.isWithin(s2)) {
-                        List<Annotation> g = groups.getOrDefault(a1, new ArrayList<>());
-                        g.add(a2);
-                        groups.put(a1, g);
+      for (int i = n - 1; i >= 0; i--) {
+        if (grouped[i]) continue;
 
-                        grouped.add(a2);
-                      }
-                    }
-                  }
+        SpanBounds s1 = bounds[i];
 
-                  for (Map.Entry<Annotation, List<Annotation>> e : groups.entrySet())
-                    mergeAnnotations(c, e.getKey(), e.getValue());
-                }
-              });
+        List<Integer> group = new ArrayList<>();
+        for (int k = firstBeginAtOrAfter(byBegin, s1.getBegin());
+            k < n && (int) (byBegin[k] >>> 32) <= s1.getEnd();
+            k++) {
+          int j = (int) byBegin[k];
 
-      return ProcessorResponse.ok();
+          // Only shorter annotations (or equal length ones earlier in the list) can be contained
+          if (j < i && s1.isWithin(bounds[j])) {
+            group.add(j);
+            grouped[j] = true;
+          }
+        }
+
+        if (!group.isEmpty()) {
+          // Keep the order by length, so that properties are merged in the same order
+          Collections.sort(group);
+
+          groups.put(i, group);
+        }
+      }
+
+      for (Map.Entry<Integer, List<Integer>> e : groups.entrySet()) {
+        List<Annotation> contained =
+            e.getValue().stream().map(annotations::get).collect(Collectors.toList());
+        mergeAnnotations(c, annotations.get(e.getKey()), contained);
+      }
+    }
+
+    private static int firstBeginAtOrAfter(long[] byBegin, int begin) {
+      int low = 0;
+      int high = byBegin.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if ((int) (byBegin[mid] >>> 32) < begin) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+
+      return low;
     }
 
     private void mergeAnnotations(Content<?> c, Annotation a1, List<Annotation> a2) {
@@ -3,14 +3,17 @@ package io.annot8.components.annotations.processors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.annot8.api.annotations.Annotation;
 import io.annot8.api.components.Processor;
 import io.annot8.api.components.responses.ProcessorResponse;
 import io.annot8.api.data.Item;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
+import io.annot8.common.data.utils.SortUtils;
 import io.annot8.testing.testimpl.TestItem;
 import io.annot8.testing.testimpl.content.TestStringContent;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 public class FilterAnnotationsBySpanTest {
@@ -148,4 +151,87 @@ public class FilterAnnotationsBySpanTest {
                       .count());
             });
   }
+
+  @Test
+  public void testCommentsPattern() {
+    Item item = new TestItem();
+
+    TestStringContent c =
+        item.createContent(TestStringContent.class).withData("the cat sat on 42 mats").save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(0, 3)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(4, 7)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(15, 17)).save();
+
+    // The comment would swallow the rest of a combined pattern, so these must be kept separate
+    Processor p =
+        new FilterAnnotationsBySpan.Processor(
+            List.of("(?x) c a t # the cat", "[0-9]+", "t.e"), true, true);
+
+    ProcessorResponse pr = p.process(item);
+    assertEquals(ProcessorResponse.ok(), pr);
+
+    assertEquals(0, c.getAnnotations().getAll().count());
+  }
+
+  @Test
+  public void testMultiplePatterns() {
+    Item item = new TestItem();
+
+    TestStringContent c =
+        item.createContent(TestStringContent.class).withData("the cat sat on 42 mats").save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(0, 3)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(4, 7)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(8, 11)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(12, 14)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(15, 17)).save();
+    c.getAnnotations().create().withType("word").withBounds(new SpanBounds(18, 22)).save();
+
+    Processor p =
+        new FilterAnnotationsBySpan.Processor(
+            List.of("THE", "on", "[0-9]+", "m.*s", "(s)a\\1?t"), false, true);
+
+    ProcessorResponse pr = p.process(item);
+    assertEquals(ProcessorResponse.ok(), pr);
+
+    assertEquals(
+        List.of("cat"),
+        c.getAnnotations()
+            .getByBounds(SpanBounds.class)
+            .map(a -> c.getText(a).get())
+            .collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testTypes() {
+    Item item = new TestItem();
+
+    TestStringContent c = item.createContent(TestStringContent.class).withData("ABC").save();
+    c.getAnnotations().create().withType("letter").withBounds(new SpanBounds(0, 1)).save();
+    c.getAnnotations().create().withType("entity/letter").withBounds(new SpanBounds(0, 1)).save();
+    c.getAnnotations().create().withType("other").withBounds(new SpanBounds(0, 1)).save();
+    c.getAnnotations().create().withType("letter").withBounds(new SpanBounds(1, 2)).save();
+
+    FilterAnnotationsBySpan.Settings settings =
+        new FilterAnnotationsBySpan.Settings(
+            List.of("A"), true, false, List.of("letter", "entity/*"));
+    assertTrue(settings.validate());
+
+    FilterAnnotationsBySpan d = new FilterAnnotationsBySpan();
+    d.setSettings(settings);
+
+    assertNotNull(d.capabilities());
+
+    Processor p = d.createComponent(null, settings);
+
+    ProcessorResponse pr = p.process(item);
+    assertEquals(ProcessorResponse.ok(), pr);
+
+    assertEquals(
+        List.of("other", "letter"),
+        c.getAnnotations()
+            .getByBounds(SpanBounds.class)
+            .sorted(SortUtils.SORT_BY_SPANBOUNDS)
+            .map(Annotation::getType)
+            .collect(Collectors.toList()));
+  }
 }
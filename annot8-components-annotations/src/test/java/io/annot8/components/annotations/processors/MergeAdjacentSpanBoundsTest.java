@@ -99,4 +99,34 @@ public class MergeAdjacentSpanBoundsTest {
     assertTrue(timeValues.contains("last"));
     assertTrue(timeValues.contains("week"));
   }
+
+  @Test
+  public void testLastAndMaxSeparators() {
+    Item item = new TestItem();
+
+    TestStringContent c =
+        item.createContent(TestStringContent.class).withData("red green  blue yellow").save();
+
+    c.getAnnotations().create().withType("colour").withBounds(new SpanBounds(0, 3)).save();
+    c.getAnnotations().create().withType("colour").withBounds(new SpanBounds(4, 9)).save();
+    c.getAnnotations().create().withType("colour").withBounds(new SpanBounds(11, 15)).save();
+    c.getAnnotations().create().withType("colour").withBounds(new SpanBounds(16, 22)).save();
+
+    MergeAdjacentSpanBounds.Settings settings = new MergeAdjacentSpanBounds.Settings();
+    settings.setMaxRepeatableSeparators(1);
+
+    Processor p = new MergeAdjacentSpanBounds.Processor(settings);
+    assertEquals(ProcessorResponse.ok(), p.process(item));
+
+    List<String> colours =
+        c.getAnnotations()
+            .getByType("colour")
+            .map(a -> a.getBounds().getData(c).get())
+            .collect(Collectors.toList());
+
+    // The double space is more than the maximum number of separators
+    assertEquals(2, colours.size());
+    assertTrue(colours.contains("red green"));
+    assertTrue(colours.contains("blue yellow"));
+  }
 }
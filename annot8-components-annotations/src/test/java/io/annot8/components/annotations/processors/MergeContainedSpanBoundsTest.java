@@ -137,4 +137,52 @@ public class MergeContainedSpanBoundsTest {
 
     assertEquals("Dallas", locations.get(0).getBounds().getData(c).get());
   }
+
+  @Test
+  public void testMany() {
+    Item item = new TestItem();
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("New York City ");
+    }
+
+    TestStringContent c =
+        item.createContent(TestStringContent.class).withData(sb.toString()).save();
+
+    for (int i = 0; i < 1000; i++) {
+      int offset = i * 14;
+      c.getAnnotations()
+          .create()
+          .withType("location")
+          .withBounds(new SpanBounds(offset, offset + 8))
+          .withProperty("a", 1)
+          .save(); // New York
+      c.getAnnotations()
+          .create()
+          .withType("location")
+          .withBounds(new SpanBounds(offset + 4, offset + 13))
+          .withProperty("b", 2)
+          .save(); // York City
+      c.getAnnotations()
+          .create()
+          .withType("location")
+          .withBounds(new SpanBounds(offset, offset + 13))
+          .save(); // New York City
+    }
+
+    MergeContainedSpanBounds.Settings settings = new MergeContainedSpanBounds.Settings();
+    Processor p = new MergeContainedSpanBounds.Processor(settings);
+
+    assertEquals(ProcessorResponse.ok(), p.process(item));
+
+    List<Annotation> locations = c.getAnnotations().getAll().collect(Collectors.toList());
+    assertEquals(1000, locations.size());
+
+    for (Annotation location : locations) {
+      assertEquals("New York City", location.getBounds().getData(c).get());
+      assertEquals(1, location.getProperties().get("a").orElse(null));
+      assertEquals(2, location.getProperties().get("b").orElse(null));
+    }
+  }
 }
@@ -22,10 +22,24 @@ import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.GroupRoles;
 import io.annot8.conventions.GroupTypes;
 import io.annot8.conventions.PropertyKeys;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import org.vosk.Model;
 import org.vosk.Recognizer;
@@ -55,19 +69,53 @@ public class Transcribe
     return builder.build();
   }
 
+  /**
+   * Processor that transcribes Audio content with Vosk.
+   *
+   * <p>If a chunk duration is set, then the audio is split into chunks of approximately that
+   * duration, each ending at the quietest point within the silence window either side of it, and
+   * the chunks are transcribed separately. With a concurrency greater than 1, chunks are
+   * transcribed concurrently by separate recognisers sharing the same model, whilst the rest of the
+   * audio is still being read. The transcripts are joined in order, and content and annotations are
+   * always created on the calling thread.
+   */
   public static class Processor extends AbstractProcessor {
     private final Model model;
     private final boolean annotateAudio;
+    private final double chunkDuration;
+    private final double silenceWindow;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
 
     private static final Gson gson = new Gson();
 
     public Processor(Settings settings) {
       model = new Model(settings.getModel());
       annotateAudio = settings.isAnnotateAudio();
+      chunkDuration = settings.getChunkDuration();
+      silenceWindow = settings.getSilenceWindow();
+
+      if (chunkDuration > 0 && settings.getConcurrency() > 1) {
+        executor =
+            Executors.newFixedThreadPool(
+                settings.getConcurrency(),
+                r -> {
+                  Thread t = new Thread(r, "annot8-vosk-transcribe");
+                  t.setDaemon(true);
+                  return t;
+                });
+
+        // Limit the number of chunks held in memory whilst waiting to be transcribed
+        inFlight = new Semaphore(2 * settings.getConcurrency());
+      } else {
+        executor = null;
+        inFlight = null;
+      }
     }
 
     @Override
     public void close() {
+      if (executor != null) executor.shutdownNow();
       if (model != null) model.close();
     }
 
@@ -86,65 +134,24 @@ public class Transcribe
                   return;
                 }
 
-                try (Recognizer recognizer = new Recognizer(model, asr)) {
-                  int nbytes;
-                  byte[] b = new byte[4096];
-                  while ((nbytes = audio.getData().read(b)) >= 0) {
-                    recognizer.acceptWaveForm(b, nbytes);
-                  }
-
-                  VoskOutput output = gson.fromJson(recognizer.getFinalResult(), VoskOutput.class);
-
-                  Text t =
-                      item.createContent(Text.class)
-                          .withData(output.getText())
-                          .withDescription("Transcribed audio from " + audio.getId())
-                          .withProperty(PropertyKeys.PROPERTY_KEY_PARENT, audio.getId())
-                          .save();
-
-                  int i = 0;
-                  for (VoskOutputResult vor : output.getResult()) {
-                    String next = output.getText().substring(i);
-
-                    int start = i + next.indexOf(vor.getWord());
-                    int end = start + vor.getWord().length();
-
-                    Annotation aText =
-                        t.getAnnotations()
-                            .create()
-                            .withBounds(new SpanBounds(start, end))
-                            .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
-                            .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, vor.getConf())
-                            .save();
-
-                    if (annotateAudio) {
-                      int frameBegin = (int) Math.floor(vor.getStart() * asr);
-                      int frameEnd = (int) Math.floor(vor.getEnd() * asr);
-
-                      Annotation aAudio =
-                          audio
-                              .getAnnotations()
-                              .create()
-                              .withBounds(new SpanBounds(frameBegin, frameEnd))
-                              .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
-                              .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, vor.getConf())
-                              .withProperty(PropertyKeys.PROPERTY_KEY_VALUE, vor.getWord())
-                              .save();
-
-                      item.getGroups()
-                          .create()
-                          .withType(GroupTypes.GROUP_TYPE_SAMEAS)
-                          .withAnnotation(GroupRoles.GROUP_ROLE_MENTION, aText)
-                          .withAnnotation(GroupRoles.GROUP_ROLE_MENTION, aAudio)
-                          .save();
-                    }
-
-                    i = end;
-                  }
+                List<Transcript> transcripts;
+                try {
+                  transcripts = transcribe(audio.getData(), asr);
                 } catch (IOException e) {
                   log().error("Error reading Audio data", e);
                   exceptions.add(e);
+                  return;
+                } catch (ExecutionException e) {
+                  log().error("Error transcribing Audio data", e.getCause());
+                  exceptions.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                  return;
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  exceptions.add(e);
+                  return;
                 }
+
+                createContent(item, audio, asr, transcripts);
               });
 
       if (exceptions.isEmpty()) {
@@ -153,15 +160,234 @@ public class Transcribe
         return ProcessorResponse.itemError(exceptions);
       }
     }
+
+    private void createContent(Item item, Audio audio, float asr, List<Transcript> transcripts) {
+      // Join the transcripts, recording the offset of each word as it is appended
+      StringBuilder sb = new StringBuilder();
+      List<int[]> begins = new ArrayList<>(transcripts.size());
+      for (Transcript transcript : transcripts) {
+        List<VoskOutputResult> results = transcript.output.getResult();
+
+        if (results.isEmpty()) {
+          String text = transcript.output.getText();
+          if (text != null && !text.isEmpty()) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(text);
+          }
+        }
+
+        int[] b = new int[results.size()];
+        for (int i = 0; i < b.length; i++) {
+          if (sb.length() > 0) sb.append(' ');
+
+          b[i] = sb.length();
+          sb.append(results.get(i).getWord());
+        }
+        begins.add(b);
+      }
+
+      Text t =
+          item.createContent(Text.class)
+              .withData(sb.toString())
+              .withDescription("Transcribed audio from " + audio.getId())
+              .withProperty(PropertyKeys.PROPERTY_KEY_PARENT, audio.getId())
+              .save();
+
+      for (int c = 0; c < transcripts.size(); c++) {
+        Transcript transcript = transcripts.get(c);
+        List<VoskOutputResult> results = transcript.output.getResult();
+
+        for (int i = 0; i < results.size(); i++) {
+          VoskOutputResult vor = results.get(i);
+
+          int start = begins.get(c)[i];
+          int end = start + vor.getWord().length();
+
+          Annotation aText =
+              t.getAnnotations()
+                  .create()
+                  .withBounds(new SpanBounds(start, end))
+                  .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+                  .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, vor.getConf())
+                  .save();
+
+          if (annotateAudio) {
+            int frameBegin = (int) (transcript.frameOffset + Math.floor(vor.getStart() * asr));
+            int frameEnd = (int) (transcript.frameOffset + Math.floor(vor.getEnd() * asr));
+
+            Annotation aAudio =
+                audio
+                    .getAnnotations()
+                    .create()
+                    .withBounds(new SpanBounds(frameBegin, frameEnd))
+                    .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+                    .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, vor.getConf())
+                    .withProperty(PropertyKeys.PROPERTY_KEY_VALUE, vor.getWord())
+                    .save();
+
+            item.getGroups()
+                .create()
+                .withType(GroupTypes.GROUP_TYPE_SAMEAS)
+                .withAnnotation(GroupRoles.GROUP_ROLE_MENTION, aText)
+                .withAnnotation(GroupRoles.GROUP_ROLE_MENTION, aAudio)
+                .save();
+          }
+        }
+      }
+    }
+
+    private List<Transcript> transcribe(AudioInputStream stream, float asr)
+        throws IOException, ExecutionException, InterruptedException {
+      if (chunkDuration <= 0) return List.of(new Transcript(0, recognise(stream, asr)));
+
+      AudioFormat format = stream.getFormat();
+      int frameSize = Math.max(1, format.getFrameSize());
+      int chunkFrames = Math.max(1, (int) Math.round(chunkDuration * asr));
+      int windowFrames = Math.min((int) Math.round(silenceWindow * asr), chunkFrames / 2);
+
+      byte[] buffer = new byte[(chunkFrames + windowFrames) * frameSize];
+      int length = 0;
+      long offset = 0;
+
+      List<Future<Transcript>> futures = new ArrayList<>();
+      try {
+        while (true) {
+          length += stream.readNBytes(buffer, length, buffer.length - length);
+          boolean eof = length < buffer.length;
+
+          int cut =
+              eof ? length : findCut(buffer, format, asr, chunkFrames, windowFrames) * frameSize;
+          if (cut > 0) futures.add(submit(Arrays.copyOf(buffer, cut), asr, offset));
+
+          if (eof) break;
+
+          offset += cut / frameSize;
+          System.arraycopy(buffer, cut, buffer, 0, length - cut);
+          length -= cut;
+        }
+
+        List<Transcript> transcripts = new ArrayList<>(futures.size());
+        for (Future<Transcript> future : futures) {
+          transcripts.add(future.get());
+        }
+
+        return transcripts;
+      } catch (IOException | ExecutionException | InterruptedException e) {
+        futures.forEach(f -> f.cancel(true));
+        throw e;
+      }
+    }
+
+    private Future<Transcript> submit(byte[] data, float asr, long offset)
+        throws InterruptedException {
+      Callable<Transcript> task =
+          () -> new Transcript(offset, recognise(new ByteArrayInputStream(data), asr));
+
+      if (executor == null) {
+        try {
+          return CompletableFuture.completedFuture(task.call());
+        } catch (Exception e) {
+          return CompletableFuture.failedFuture(e);
+        }
+      }
+
+      // Release the permit however the task finishes, including if it is cancelled before running
+      inFlight.acquire();
+      FutureTask<Transcript> future =
+          new FutureTask<>(task) {
+            @Override
+            protected void done() {
+              inFlight.release();
+            }
+          };
+
+      try {
+        executor.execute(future);
+      } catch (RejectedExecutionException e) {
+        inFlight.release();
+        throw e;
+      }
+
+      return future;
+    }
+
+    private VoskOutput recognise(InputStream data, float asr) throws IOException {
+      return gson.fromJson(recogniseJson(data, asr), VoskOutput.class);
+    }
+
+    /** Returns the Vosk result for the audio data, using a new recogniser on the shared model. */
+    String recogniseJson(InputStream data, float asr) throws IOException {
+      try (Recognizer recognizer = new Recognizer(model, asr)) {
+        int nbytes;
+        byte[] b = new byte[4096];
+        while ((nbytes = data.read(b)) >= 0) {
+          recognizer.acceptWaveForm(b, nbytes);
+        }
+
+        return recognizer.getFinalResult();
+      }
+    }
+
+    /**
+     * Returns the frame at which to end a chunk, which is the middle of the quietest 10ms block
+     * within the window either side of the chunk duration. If the audio isn't 16-bit PCM, then the
+     * chunk ends at exactly the chunk duration.
+     */
+    private static int findCut(
+        byte[] buffer, AudioFormat format, float asr, int chunkFrames, int windowFrames) {
+      if (windowFrames == 0
+          || format.getSampleSizeInBits() != 16
+          || !AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())) return chunkFrames;
+
+      int frameSize = format.getFrameSize();
+      boolean bigEndian = format.isBigEndian();
+      int blockFrames = Math.max(1, (int) (asr / 100));
+
+      long quietest = Long.MAX_VALUE;
+      int cut = chunkFrames;
+      for (int block = chunkFrames - windowFrames;
+          block + blockFrames <= chunkFrames + windowFrames;
+          block += blockFrames) {
+        long energy = 0;
+        for (int i = block * frameSize; i < (block + blockFrames) * frameSize; i += 2) {
+          int sample =
+              bigEndian
+                  ? (buffer[i] << 8) | (buffer[i + 1] & 0xFF)
+                  : (buffer[i + 1] << 8) | (buffer[i] & 0xFF);
+          energy += Math.abs(sample);
+        }
+
+        if (energy < quietest) {
+          quietest = energy;
+          cut = block + blockFrames / 2;
+        }
+      }
+
+      return cut;
+    }
+  }
+
+  private static class Transcript {
+    private final long frameOffset;
+    private final VoskOutput output;
+
+    private Transcript(long frameOffset, VoskOutput output) {
+      this.frameOffset = frameOffset;
+      this.output = output;
+    }
   }
 
   public static class Settings implements io.annot8.api.settings.Settings {
     private String model = null;
     private boolean annotateAudio = true;
 
+    private double chunkDuration = 0;
+    private double silenceWindow = 2;
+    private int concurrency = 1;
+
     @Override
     public boolean validate() {
-      return model != null;
+      return model != null && chunkDuration >= 0 && silenceWindow >= 0 && concurrency >= 1;
     }
 
     @Description("Path to the Vosk model")
@@ -182,6 +408,41 @@ public class Transcribe
     public void setAnnotateAudio(boolean annotateAudio) {
       this.annotateAudio = annotateAudio;
     }
+
+    @Description(
+        value =
+            "Approximate duration, in seconds, of the chunks that the audio is split into before transcribing. If 0, then the audio is transcribed as a single chunk",
+        defaultValue = "0")
+    public double getChunkDuration() {
+      return chunkDuration;
+    }
+
+    public void setChunkDuration(double chunkDuration) {
+      this.chunkDuration = chunkDuration;
+    }
+
+    @Description(
+        value =
+            "Duration, in seconds, either side of the chunk duration to search for the quietest point at which to split the audio",
+        defaultValue = "2")
+    public double getSilenceWindow() {
+      return silenceWindow;
+    }
+
+    public void setSilenceWindow(double silenceWindow) {
+      this.silenceWindow = silenceWindow;
+    }
+
+    @Description(
+        value = "Maximum number of chunks to transcribe concurrently, sharing the same model",
+        defaultValue = "1")
+    public int getConcurrency() {
+      return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+      this.concurrency = concurrency;
+    }
   }
 
   private static class VoskOutput {
@@ -3,13 +3,22 @@ package io.annot8.components.audio.processors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.annot8.api.annotations.Annotation;
+import io.annot8.api.components.responses.ProcessorResponse;
 import io.annot8.api.data.Item;
+import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Audio;
 import io.annot8.common.data.content.Text;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.implementations.support.context.SimpleContext;
 import io.annot8.testing.testimpl.TestItem;
 import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import javax.sound.sampled.AudioSystem;
 import org.junit.jupiter.api.Test;
 
@@ -71,6 +80,110 @@ public class TranscribeTest {
     p.close();
   }
 
+  @Test
+  public void testChunked() throws Exception {
+    Transcribe.Settings s = new Transcribe.Settings();
+    s.setAnnotateAudio(true);
+    s.setChunkDuration(3);
+    s.setSilenceWindow(1);
+    s.setConcurrency(2);
+    s.setModel(
+        "src/test/resources/io/annot8/components/audio/processors/vosk-model-small-en-us-0.15/");
+
+    Item i = new TestItem();
+    Audio a =
+        i.createContent(Audio.class)
+            .withData(
+                AudioSystem.getAudioInputStream(
+                    new BufferedInputStream(TranscribeTest.class.getResourceAsStream("test.wav"))))
+            .save();
+    long frames = a.getData().getFrameLength();
+
+    Transcribe.Processor p = new Transcribe.Processor(s);
+    p.process(i);
+
+    assertEquals(1, i.getContents(Text.class).count());
+    Text t = i.getContents(Text.class).findFirst().orElseThrow();
+
+    List<Annotation> words =
+        t.getAnnotations()
+            .getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+            .collect(Collectors.toList());
+    assertFalse(words.isEmpty());
+    for (Annotation word : words) {
+      String covered = t.getText(word).orElseThrow();
+      assertFalse(covered.isEmpty());
+      assertFalse(covered.contains(" "));
+    }
+
+    assertEquals(
+        words.size(),
+        a.getAnnotations().getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN).count());
+    assertTrue(
+        a.getAnnotations()
+            .getByBounds(SpanBounds.class)
+            .map(an -> an.getBounds(SpanBounds.class).orElseThrow())
+            .allMatch(sb -> sb.getBegin() >= 0 && sb.getEnd() <= frames));
+    assertEquals(words.size(), i.getGroups().getAll().count());
+
+    p.close();
+  }
+
+  @Test
+  public void testChunkFailure() throws Exception {
+    Transcribe.Settings s = new Transcribe.Settings();
+    s.setAnnotateAudio(false);
+    s.setChunkDuration(1);
+    s.setSilenceWindow(0);
+    s.setConcurrency(2);
+    s.setModel(
+        "src/test/resources/io/annot8/components/audio/processors/vosk-model-small-en-us-0.15/");
+
+    AtomicBoolean fail = new AtomicBoolean(true);
+    Transcribe.Processor p =
+        new Transcribe.Processor(s) {
+          @Override
+          String recogniseJson(InputStream data, float asr) throws IOException {
+            if (fail.get()) throw new IOException("Failed to transcribe chunk");
+
+            return super.recogniseJson(data, asr);
+          }
+        };
+
+    assertTimeoutPreemptively(
+        Duration.ofMinutes(2),
+        () -> {
+          // Each failure cancels the chunks still waiting to be transcribed
+          for (int n = 0; n < 5; n++) {
+            Item i = new TestItem();
+            i.createContent(Audio.class)
+                .withData(
+                    AudioSystem.getAudioInputStream(
+                        new BufferedInputStream(
+                            TranscribeTest.class.getResourceAsStream("test.wav"))))
+                .save();
+
+            assertEquals(ProcessorResponse.Status.ITEM_ERROR, p.process(i).getStatus());
+            assertEquals(0, i.getContents(Text.class).count());
+          }
+
+          fail.set(false);
+
+          Item i = new TestItem();
+          i.createContent(Audio.class)
+              .withData(
+                  AudioSystem.getAudioInputStream(
+                      new BufferedInputStream(
+                          TranscribeTest.class.getResourceAsStream("test.wav"))))
+              .save();
+
+          assertEquals(ProcessorResponse.Status.OK, p.process(i).getStatus());
+          assertEquals(1, i.getContents(Text.class).count());
+        });
+
+    p.close();
+  }
+
   @Test
   public void testDescriptor() {
     Transcribe.Settings s = new Transcribe.Settings();
@@ -101,6 +214,23 @@ public class TranscribeTest {
     assertEquals("my-model", s.getModel());
 
     assertTrue(s.validate());
+
+    s.setChunkDuration(30);
+    assertEquals(30, s.getChunkDuration());
+    s.setSilenceWindow(1.5);
+    assertEquals(1.5, s.getSilenceWindow());
+    s.setConcurrency(4);
+    assertEquals(4, s.getConcurrency());
+    assertTrue(s.validate());
+
+    s.setConcurrency(0);
+    assertFalse(s.validate());
+    s.setConcurrency(1);
+    s.setChunkDuration(-1);
+    assertFalse(s.validate());
+    s.setChunkDuration(0);
+    assertTrue(s.validate());
+
     s.setModel(null);
     assertFalse(s.validate());
   }
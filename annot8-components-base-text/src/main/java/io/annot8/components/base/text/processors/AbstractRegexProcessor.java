@@ -4,7 +4,6 @@ package io.annot8.components.base.text.processors;
 import io.annot8.api.annotations.Annotation;
 import io.annot8.api.exceptions.BadConfigurationException;
 import io.annot8.api.exceptions.ProcessingException;
-import io.annot8.api.stores.AnnotationStore;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import java.util.regex.Matcher;
@@ -12,11 +11,18 @@ import java.util.regex.Pattern;
 
 /** Base class for regex annotators */
 public abstract class AbstractRegexProcessor extends AbstractTextProcessor {
+  public static final String METRIC_PREFILTER_HIT = "prefilter.hit";
+  public static final String METRIC_PREFILTER_SKIP = "prefilter.skip";
+
+  // Number of characters to look back when a match starts at the beginning of a window
+  private static final int MIN_LOOK_BACK = 64;
 
   protected final Pattern pattern;
   protected final int group;
   protected final String type;
 
+  private volatile RequiredCharacters required;
+
   public AbstractRegexProcessor(Pattern pattern, String type) {
     this.pattern = pattern;
     this.group = 0;
@@ -35,30 +41,153 @@ public abstract class AbstractRegexProcessor extends AbstractTextProcessor {
       throw new BadConfigurationException("Parameter 'pattern' must not be null");
     }
 
-    AnnotationStore annotationStore = content.getAnnotations();
+    String text = content.getData();
+    if (!mayMatch(text)) {
+      metrics().counter(METRIC_PREFILTER_SKIP).increment();
+      return;
+    }
+
+    processMatches(content, text);
+  }
 
-    Matcher m = pattern.matcher(content.getData());
-    while (m.find()) {
-      if (!acceptMatch(m)) {
-        continue;
-      }
+  /**
+   * Find and annotate all matches of the pattern in the text, without first checking for required
+   * characters. If there is a prefilter, then the pattern is only run within the windows it finds.
+   */
+  void processMatches(Text content, String text) {
+    RegexPrefilter prefilter = prefilter();
+    if (prefilter == null) {
+      if (requiredCharacters() != null) metrics().counter(METRIC_PREFILTER_HIT).increment();
+
+      processMatches(content, text, null);
+    } else {
+      processMatches(content, text, prefilter.findWindows(text));
+    }
+  }
+
+  /**
+   * Find and annotate all matches of the pattern within the given windows of the text (as returned
+   * by {@link RegexPrefilter#findWindows(String)}), or within all of the text if windows is null.
+   */
+  void processMatches(Text content, String text, int[] windows) {
+    Matcher m = pattern.matcher(text);
+
+    if (windows == null) {
+      while (m.find()) annotateMatch(content, m);
+      return;
+    }
 
-      try {
+    if (windows.length == 0) {
+      metrics().counter(METRIC_PREFILTER_SKIP).increment();
+      return;
+    }
+
+    metrics().counter(METRIC_PREFILTER_HIT).increment();
+
+    // Allow look-arounds and boundaries to see beyond the window, so that matches are the same as
+    // they would have been without the prefilter
+    m.useTransparentBounds(true);
+    m.useAnchoringBounds(false);
+
+    int length = text.length();
+    int from = 0;
+    for (int i = 0; i < windows.length; i += 2) {
+      int end = windows[i + 1];
+      int start = Math.max(windows[i], from);
+
+      while (start < end) {
+        m.region(start, end);
+        if (!m.find()) break;
+
+        if (m.start() == start && start > from) {
+          // The match may have been cut short by the start of the window, so match again from
+          // further back until it isn't
+          for (long lookBack = MIN_LOOK_BACK; ; lookBack *= 2) {
+            int earlier = (int) Math.max(from, start - lookBack);
+            m.region(earlier, end);
+            m.find();
 
-        Annotation.Builder builder =
-            annotationStore
-                .create()
-                .withType(type)
-                .withBounds(new SpanBounds(m.start(group), m.end(group)));
-        addProperties(builder, m);
+            if (m.start() > earlier || earlier == from) break;
+          }
+        }
 
-        builder.save();
-      } catch (IndexOutOfBoundsException e) {
-        throw new ProcessingException("Invalid group", e);
+        if (m.hitEnd() && end < length) {
+          // The match may have been cut short by the end of the window, so match again without it
+          m.region(m.start(), length);
+          if (!m.find()) break;
+        }
+
+        annotateMatch(content, m);
+
+        // Carry on after the match, as a scan of the whole text would, even if it ran past the end
+        // of this window
+        from = m.end() > m.start() ? m.end() : m.end() + 1;
+        start = from;
       }
     }
   }
 
+  private void annotateMatch(Text content, Matcher m) {
+    if (!acceptMatch(m)) {
+      return;
+    }
+
+    try {
+
+      Annotation.Builder builder =
+          content
+              .getAnnotations()
+              .create()
+              .withType(type)
+              .withBounds(new SpanBounds(m.start(group), m.end(group)));
+      addProperties(builder, m);
+
+      builder.save();
+    } catch (IndexOutOfBoundsException e) {
+      throw new ProcessingException("Invalid group", e);
+    }
+  }
+
+  /**
+   * Returns a prefilter which finds the windows of text in which the pattern could match, or null
+   * (the default) to run the pattern over all of the text.
+   *
+   * <p>Text in which the prefilter finds no windows is skipped entirely. The number of texts which
+   * are skipped, and which have candidate windows, are recorded in the {@value
+   * #METRIC_PREFILTER_SKIP} and {@value #METRIC_PREFILTER_HIT} counters.
+   */
+  protected RegexPrefilter prefilter() {
+    return null;
+  }
+
+  /**
+   * Returns the characters, at least one of which must appear in any match of the pattern (for
+   * instance, an email address must contain {@code @}), or null if there is no such requirement.
+   *
+   * <p>Text which contains none of these characters is skipped without running the pattern over it.
+   * Processors should only override this where the requirement is guaranteed by the pattern,
+   * otherwise matches will be missed. By default, the first characters of the {@link #prefilter()}
+   * literals are used.
+   */
+  protected String requiredCharacters() {
+    RegexPrefilter prefilter = prefilter();
+    return prefilter == null ? null : prefilter.getRequiredCharacters();
+  }
+
+  /** Returns false if the text can't contain a match, as it has none of the required characters */
+  protected boolean mayMatch(String text) {
+    String characters = requiredCharacters();
+    if (characters == null || characters.isEmpty()) return true;
+
+    RequiredCharacters r = required;
+    if (r == null || !r.characters.equals(characters)) {
+      r = new RequiredCharacters(characters);
+      required = r;
+    }
+
+    return r.anyIn(text);
+  }
+
   protected void addProperties(Annotation.Builder builder, Matcher m) {
     // Do nothing
   }
@@ -66,4 +195,43 @@ public abstract class AbstractRegexProcessor extends AbstractTextProcessor {
   protected boolean acceptMatch(final Matcher m) {
     return true;
   }
+
+  /** A set of characters, which can be looked for in a single pass over the text */
+  private static final class RequiredCharacters {
+    private final String characters;
+    private final boolean[] ascii = new boolean[128];
+    private final String nonAscii;
+
+    private RequiredCharacters(String characters) {
+      this.characters = characters;
+
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < characters.length(); i++) {
+        char c = characters.charAt(i);
+        if (c < ascii.length) {
+          ascii[c] = true;
+        } else {
+          sb.append(c);
+        }
+      }
+      nonAscii = sb.toString();
+    }
+
+    private boolean anyIn(String text) {
+      // A single character is found fastest by indexOf, which is already a single pass
+      if (characters.length() == 1) return text.indexOf(characters.charAt(0)) != -1;
+
+      boolean checkNonAscii = !nonAscii.isEmpty();
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (c < ascii.length) {
+          if (ascii[c]) return true;
+        } else if (checkNonAscii && nonAscii.indexOf(c) != -1) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
 }
@@ -0,0 +1,36 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.processors;
+
+import io.annot8.api.capabilities.Capabilities;
+import io.annot8.api.components.annotations.ComponentDescription;
+import io.annot8.api.components.annotations.ComponentName;
+import io.annot8.api.components.annotations.SettingsClass;
+import io.annot8.api.context.Context;
+import io.annot8.common.components.AbstractProcessorDescriptor;
+import io.annot8.common.components.capabilities.SimpleCapabilities;
+import io.annot8.common.data.bounds.SpanBounds;
+import io.annot8.common.data.content.Text;
+
+@ComponentName("Combined Regex")
+@ComponentDescription(
+    "Annotate text content using multiple regular expressions, making a single pass over the text to find where each one could match and then only running it there")
+@SettingsClass(CombinedRegexSettings.class)
+public class CombinedRegex
+    extends AbstractProcessorDescriptor<CombinedRegexProcessor, CombinedRegexSettings> {
+  @Override
+  public Capabilities capabilities() {
+    SimpleCapabilities.Builder builder =
+        new SimpleCapabilities.Builder().withProcessesContent(Text.class);
+
+    getSettings()
+        .getPatterns()
+        .forEach(p -> builder.withCreatesAnnotations(p.getType(), SpanBounds.class));
+
+    return builder.build();
+  }
+
+  @Override
+  public CombinedRegexProcessor createComponent(Context context, CombinedRegexSettings settings) {
+    return new CombinedRegexProcessor(settings);
+  }
+}
@@ -0,0 +1,174 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.processors;
+
+import io.annot8.api.exceptions.BadConfigurationException;
+import io.annot8.common.data.content.Text;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a set of regex processors over each piece of text, making a single pass over the text to
+ * find the windows in which each of them could match.
+ *
+ * <p>The literals of every processor's {@link AbstractRegexProcessor#prefilter()} are looked for
+ * together, and each processor's pattern is then only run within the windows around its own
+ * literals, rather than over the whole text. Processors whose literals don't appear in the text
+ * aren't run at all. Processors with required characters (see {@link
+ * AbstractRegexProcessor#requiredCharacters()}) but no prefilter are run over the whole text, but
+ * only if one of those characters was found. Processors with neither are always run over the whole
+ * text.
+ */
+public class CombinedRegexProcessor extends AbstractTextProcessor {
+  private final List<AbstractRegexProcessor> processors;
+
+  // Literals of all the processors, indexed by their first character in lower case
+  private final Literal[][] asciiLiterals = new Literal[128][];
+  private final Map<Character, Literal[]> nonAsciiLiterals = new HashMap<>();
+
+  // Whether each processor has any literals, or should always be run over the whole text
+  private final boolean[] filtered;
+
+  public CombinedRegexProcessor(List<? extends AbstractRegexProcessor> processors) {
+    this.processors = Collections.unmodifiableList(new ArrayList<>(processors));
+
+    Map<Character, List<Literal>> byFirst = new HashMap<>();
+
+    filtered = new boolean[this.processors.size()];
+    for (int i = 0; i < this.processors.size(); i++) {
+      AbstractRegexProcessor p = this.processors.get(i);
+      if (p.pattern == null) {
+        throw new BadConfigurationException("Parameter 'pattern' must not be null");
+      }
+
+      List<Literal> literals = new ArrayList<>();
+
+      RegexPrefilter prefilter = p.prefilter();
+      if (prefilter != null) {
+        for (String literal : prefilter.getLiterals()) {
+          literals.add(
+              new Literal(
+                  i,
+                  literal,
+                  prefilter.isIgnoreCase(),
+                  prefilter.getBefore(),
+                  prefilter.getAfter()));
+        }
+      } else {
+        // A required character can be anywhere in a match, so the window is the whole text
+        String required = p.requiredCharacters();
+        if (required != null) {
+          for (int c : required.chars().distinct().toArray()) {
+            literals.add(
+                new Literal(
+                    i, String.valueOf((char) c), false, Integer.MAX_VALUE, Integer.MAX_VALUE));
+          }
+        }
+      }
+
+      filtered[i] = !literals.isEmpty();
+      literals.forEach(
+          l ->
+              byFirst
+                  .computeIfAbsent(Character.toLowerCase(l.text.charAt(0)), k -> new ArrayList<>())
+                  .add(l));
+    }
+
+    byFirst.forEach(
+        (c, l) -> {
+          Literal[] arr = l.toArray(new Literal[0]);
+          if (c < asciiLiterals.length) {
+            asciiLiterals[c] = arr;
+          } else {
+            nonAsciiLiterals.put(c, arr);
+          }
+        });
+  }
+
+  public CombinedRegexProcessor(CombinedRegexSettings settings) {
+    this(settings.getPatterns().stream().map(RegexProcessor::new).collect(Collectors.toList()));
+  }
+
+  @Override
+  protected void process(Text content) {
+    String text = content.getData();
+    int[][] windows = findWindows(text);
+
+    for (int i = 0; i < processors.size(); i++) {
+      AbstractRegexProcessor p = processors.get(i);
+      if (windows[i] != null && windows[i].length > 0) {
+        p.metrics().counter(AbstractRegexProcessor.METRIC_PREFILTER_HIT).increment();
+      }
+
+      p.processMatches(content, text, windows[i]);
+    }
+  }
+
+  /**
+   * Returns the windows in which each processor could match, found in a single pass over the text.
+   * The windows for a processor are null if it should be run over the whole text, or empty if it
+   * can't match anywhere in the text.
+   */
+  int[][] findWindows(String text) {
+    RegexPrefilter.Windows[] found = new RegexPrefilter.Windows[processors.size()];
+    for (int i = 0; i < found.length; i++) {
+      if (filtered[i]) found[i] = new RegexPrefilter.Windows();
+    }
+
+    boolean checkNonAscii = !nonAsciiLiterals.isEmpty();
+    int length = text.length();
+
+    for (int i = 0; i < length; i++) {
+      char c = Character.toLowerCase(text.charAt(i));
+
+      Literal[] candidates;
+      if (c < asciiLiterals.length) {
+        candidates = asciiLiterals[c];
+      } else if (checkNonAscii) {
+        candidates = nonAsciiLiterals.get(c);
+      } else {
+        continue;
+      }
+
+      if (candidates == null) continue;
+
+      for (Literal literal : candidates) {
+        if (text.regionMatches(literal.ignoreCase, i, literal.text, 0, literal.text.length())) {
+          found[literal.processor].add(
+              i, literal.text.length(), literal.before, literal.after, length);
+        }
+      }
+    }
+
+    int[][] windows = new int[found.length][];
+    for (int i = 0; i < found.length; i++) {
+      if (found[i] != null) windows[i] = found[i].toArray();
+    }
+
+    return windows;
+  }
+
+  @Override
+  public void close() {
+    processors.forEach(AbstractRegexProcessor::close);
+  }
+
+  private static final class Literal {
+    private final int processor;
+    private final String text;
+    private final boolean ignoreCase;
+    private final int before;
+    private final int after;
+
+    private Literal(int processor, String text, boolean ignoreCase, int before, int after) {
+      this.processor = processor;
+      this.text = text;
+      this.ignoreCase = ignoreCase;
+      this.before = before;
+      this.after = after;
+    }
+  }
+}
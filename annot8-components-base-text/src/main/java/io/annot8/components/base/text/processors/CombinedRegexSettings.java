@@ -0,0 +1,27 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.processors;
+
+import io.annot8.api.settings.Description;
+import io.annot8.api.settings.Settings;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CombinedRegexSettings implements Settings {
+  private List<RegexSettings> patterns = new ArrayList<>();
+
+  @Override
+  public boolean validate() {
+    return patterns != null
+        && !patterns.isEmpty()
+        && patterns.stream().allMatch(p -> p != null && p.validate());
+  }
+
+  @Description("The regular expressions to match, and the annotations to create for each")
+  public List<RegexSettings> getPatterns() {
+    return patterns;
+  }
+
+  public void setPatterns(List<RegexSettings> patterns) {
+    this.patterns = patterns;
+  }
+}
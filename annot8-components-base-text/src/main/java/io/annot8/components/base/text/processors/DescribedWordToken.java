@@ -12,14 +12,17 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
-import io.annot8.common.data.utils.SortUtils;
+import io.annot8.components.base.text.utils.SpanIndex;
 import io.annot8.components.stopwords.resources.NoOpStopwords;
 import io.annot8.components.stopwords.resources.Stopwords;
 import io.annot8.conventions.AnnotationTypes;
 import jakarta.json.bind.annotation.JsonbCreator;
 import jakarta.json.bind.annotation.JsonbProperty;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @ComponentName("Described Word Token")
 @ComponentDescription(
@@ -49,12 +52,22 @@ public class DescribedWordToken
         .build();
   }
 
+  /**
+   * Processor that finds root tokens, and the descriptors preceding them.
+   *
+   * <p>Root tokens and descriptors are matched case insensitively, by looking up the case folded
+   * text of each word token in a hash set. The sentences and word tokens are indexed once per
+   * content, and the descriptors are found by scanning backwards through the sorted tokens of the
+   * sentence from the root token.
+   *
+   * <p>A single processor can also look for several sets of root tokens at once, with different
+   * properties for each (e.g. a subtype), rather than running one processor per set.
+   */
   public static class Processor extends AbstractTextProcessor {
     private final String type;
-    private final Set<String> rootTokens;
+    private final Map<String, Map<String, Object>> rootTokens;
     private final Set<String> descriptors;
     private final boolean requireDescriptors;
-    private final Map<String, Object> properties;
 
     private final Stopwords stopwords;
 
@@ -65,53 +78,88 @@ public class DescribedWordToken
         Set<String> descriptors,
         boolean requireDescriptors,
         Map<String, Object> properties) {
+      this(
+          stopwords,
+          type,
+          rootTokens.stream().collect(Collectors.toMap(t -> t, t -> properties, (p1, p2) -> p1)),
+          descriptors,
+          requireDescriptors);
+    }
+
+    /**
+     * Create a processor that looks for several sets of root tokens at once
+     *
+     * @param stopwords Stopwords which may appear between descriptors
+     * @param type The type to assign to annotations
+     * @param rootTokens The root tokens to look for, mapped to the properties to add to matches
+     * @param descriptors The allowed descriptors
+     * @param requireDescriptors Is at least one descriptor required?
+     */
+    public Processor(
+        Stopwords stopwords,
+        String type,
+        Map<String, Map<String, Object>> rootTokens,
+        Set<String> descriptors,
+        boolean requireDescriptors) {
       this.stopwords = stopwords;
       this.type = type;
-      this.rootTokens = rootTokens;
-      this.descriptors = descriptors;
       this.requireDescriptors = requireDescriptors;
-      this.properties = properties;
+
+      this.rootTokens = new HashMap<>(rootTokens.size() * 2);
+      rootTokens.forEach((t, p) -> this.rootTokens.putIfAbsent(fold(t), p));
+
+      this.descriptors = descriptors.stream().map(Processor::fold).collect(Collectors.toSet());
     }
 
     @Override
     protected void process(Text content) {
-      content
-          .getAnnotations()
-          .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
-          .forEach(
-              sentence -> {
-                SpanBounds sentenceSpan = sentence.getBounds(SpanBounds.class).get();
-                content
-                    .getBetween(sentenceSpan.getBegin(), sentenceSpan.getEnd())
-                    .filter(a -> AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN.equals(a.getType()))
-                    .filter(
-                        a ->
-                            rootTokens.stream()
-                                .anyMatch(s -> s.equalsIgnoreCase(content.getText(a).orElse(""))))
-                    .forEach(a -> findDescriptorsAndCreate(content, sentenceSpan, a));
-              });
+      SpanIndex index =
+          SpanIndex.of(
+              content,
+              AnnotationTypes.ANNOTATION_TYPE_SENTENCE,
+              AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN);
+
+      for (Annotation sentence : index.getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)) {
+        List<Annotation> tokens =
+            index.getCovered(
+                AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN,
+                sentence.getBounds(SpanBounds.class).get());
+
+        for (int i = 0; i < tokens.size(); i++) {
+          Map<String, Object> properties =
+              rootTokens.get(fold(content.getText(tokens.get(i)).orElse("")));
+
+          if (properties != null) findDescriptorsAndCreate(content, tokens, i, properties);
+        }
+      }
     }
 
+    /**
+     * Find the descriptors preceding a root token, and create an annotation covering them and the
+     * root token
+     *
+     * @param content The content
+     * @param tokens The word tokens in the sentence, sorted by position
+     * @param root The index of the root token in tokens
+     * @param properties The properties to add to the annotation
+     */
     protected void findDescriptorsAndCreate(
-        Text content, SpanBounds sentence, Annotation rootWord) {
-      SpanBounds rootSpan = rootWord.getBounds(SpanBounds.class).get();
+        Text content, List<Annotation> tokens, int root, Map<String, Object> properties) {
+      SpanBounds rootSpan = tokens.get(root).getBounds(SpanBounds.class).get();
 
-      int begin =
-          content
-              .getBetween(sentence.getBegin(), rootSpan.getBegin())
-              .filter(a -> AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN.equals(a.getType()))
-              .sorted(SortUtils.SORT_BY_SPANBOUNDS.reversed())
-              .takeWhile(
-                  a -> {
-                    String w = content.getText(a).orElse("");
-                    return stopwords.isStopword(w)
-                        || descriptors.stream().anyMatch(s -> s.equalsIgnoreCase(w));
-                  })
-              .sorted(SortUtils.SORT_BY_SPANBOUNDS)
-              .dropWhile(a -> stopwords.isStopword(content.getText(a).orElse("")))
-              .mapToInt(a -> a.getBounds(SpanBounds.class).get().getBegin())
-              .min()
-              .orElse(rootSpan.getBegin());
+      // Work backwards through descriptors and stopwords, keeping the earliest descriptor
+      int begin = rootSpan.getBegin();
+      for (int i = root - 1; i >= 0; i--) {
+        Annotation a = tokens.get(i);
+        SpanBounds span = a.getBounds(SpanBounds.class).get();
+        if (span.getEnd() > rootSpan.getBegin()) continue;
+
+        String w = content.getText(a).orElse("");
+        if (stopwords.isStopword(w)) continue;
+        if (!descriptors.contains(fold(w))) break;
+
+        begin = span.getBegin();
+      }
 
       if (requireDescriptors && rootSpan.getBegin() == begin) return;
 
@@ -128,6 +176,17 @@ public class DescribedWordToken
 
       builder.save();
     }
+
+    // Fold case in the same way as String.equalsIgnoreCase, so that equal folded strings are equal
+    // ignoring case
+    private static String fold(String s) {
+      char[] chars = new char[s.length()];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = Character.toLowerCase(Character.toUpperCase(s.charAt(i)));
+      }
+
+      return new String(chars);
+    }
   }
 
   public static class Settings implements io.annot8.api.settings.Settings {
@@ -0,0 +1,182 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.processors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefilter for {@link AbstractRegexProcessor}, which uses a fast literal search to find the
+ * windows of text in which the full pattern could match.
+ *
+ * <p>Every match of the pattern must contain at least one of the literals. The pattern is run from
+ * up to {@code before} characters before the literal, to up to {@code after} characters after it.
+ * If a match starts at the beginning of a window, then the pattern is run again from further back
+ * until it doesn't, and if matching reaches the end of a window, then the pattern is run again from
+ * the start of the match without the window, so that the match isn't cut short. But a match which
+ * can't start or end within the window at all (for instance, because it begins with a word
+ * boundary) will be missed, so these limits should be generous.
+ */
+public class RegexPrefilter {
+  private static final int[] NO_WINDOWS = new int[0];
+
+  private final boolean ignoreCase;
+  private final int before;
+  private final int after;
+  private final String requiredCharacters;
+  private final List<String> literals;
+
+  // Literals indexed by their first character (lower case, if ignoring case)
+  private final String[][] asciiLiterals = new String[128][];
+  private final Map<Character, String[]> nonAsciiLiterals = new HashMap<>();
+
+  /**
+   * @param ignoreCase Whether the literals should be matched case insensitively (e.g. because the
+   *     pattern is {@link java.util.regex.Pattern#CASE_INSENSITIVE})
+   * @param before Maximum number of characters a match can start before a literal
+   * @param after Maximum number of characters a match can end after a literal
+   * @param literals Literals, at least one of which must appear in every match
+   */
+  public RegexPrefilter(boolean ignoreCase, int before, int after, Collection<String> literals) {
+    if (literals == null || literals.isEmpty() || literals.stream().anyMatch(this::isEmpty))
+      throw new IllegalArgumentException("At least one literal is required, and none may be empty");
+    if (before < 0 || after < 0)
+      throw new IllegalArgumentException("Window sizes must not be negative");
+
+    this.ignoreCase = ignoreCase;
+    this.before = before;
+    this.after = after;
+
+    Map<Character, List<String>> byFirst = new HashMap<>();
+    Set<Character> required = new LinkedHashSet<>();
+    for (String literal : literals) {
+      char first = literal.charAt(0);
+      byFirst.computeIfAbsent(fold(first), k -> new ArrayList<>()).add(literal);
+
+      required.add(first);
+      if (ignoreCase) {
+        required.add(Character.toLowerCase(first));
+        required.add(Character.toUpperCase(first));
+      }
+    }
+
+    byFirst.forEach(
+        (c, l) -> {
+          String[] arr = l.stream().distinct().toArray(String[]::new);
+          if (c < asciiLiterals.length) {
+            asciiLiterals[c] = arr;
+          } else {
+            nonAsciiLiterals.put(c, arr);
+          }
+        });
+
+    StringBuilder sb = new StringBuilder();
+    required.forEach(sb::append);
+    requiredCharacters = sb.toString();
+
+    this.literals = List.copyOf(new LinkedHashSet<>(literals));
+  }
+
+  public RegexPrefilter(boolean ignoreCase, int before, int after, String... literals) {
+    this(ignoreCase, before, after, Arrays.asList(literals));
+  }
+
+  /** Returns the first character of each literal, in both cases if ignoring case */
+  public String getRequiredCharacters() {
+    return requiredCharacters;
+  }
+
+  /** Returns whether the literals are matched case insensitively */
+  public boolean isIgnoreCase() {
+    return ignoreCase;
+  }
+
+  /** Returns the maximum number of characters a match can start before a literal */
+  public int getBefore() {
+    return before;
+  }
+
+  /** Returns the maximum number of characters a match can end after a literal */
+  public int getAfter() {
+    return after;
+  }
+
+  /** Returns the literals, at least one of which must appear in every match */
+  public List<String> getLiterals() {
+    return literals;
+  }
+
+  /**
+   * Returns the windows in which the pattern could match, as pairs of begin (inclusive) and end
+   * (exclusive) offsets. Windows are in order and don't overlap. If there are no windows, then the
+   * pattern can't match anywhere in the text.
+   */
+  public int[] findWindows(String text) {
+    Windows windows = new Windows();
+
+    boolean checkNonAscii = !nonAsciiLiterals.isEmpty();
+    int length = text.length();
+
+    for (int i = 0; i < length; i++) {
+      char c = fold(text.charAt(i));
+
+      String[] candidates;
+      if (c < asciiLiterals.length) {
+        candidates = asciiLiterals[c];
+      } else if (checkNonAscii) {
+        candidates = nonAsciiLiterals.get(c);
+      } else {
+        continue;
+      }
+
+      if (candidates == null) continue;
+
+      for (String literal : candidates) {
+        if (text.regionMatches(ignoreCase, i, literal, 0, literal.length())) {
+          windows.add(i, literal.length(), before, after, length);
+        }
+      }
+    }
+
+    return windows.toArray();
+  }
+
+  private char fold(char c) {
+    return ignoreCase ? Character.toLowerCase(c) : c;
+  }
+
+  private boolean isEmpty(String s) {
+    return s == null || s.isEmpty();
+  }
+
+  /** Builds up a list of windows, which are found in order, merging those which overlap */
+  static final class Windows {
+    private int[] windows = NO_WINDOWS;
+    private int count = 0;
+
+    /** Add the window around a literal of the given length, found at the given offset */
+    void add(int offset, int literalLength, int before, int after, int textLength) {
+      int begin = Math.max(0, offset - before);
+      int end = (int) Math.min(textLength, (long) offset + literalLength + after);
+
+      if (count > 0 && begin <= windows[count - 1]) {
+        // Overlaps (or touches) the previous window, so extend that instead
+        windows[count - 1] = Math.max(windows[count - 1], end);
+      } else {
+        if (count + 2 > windows.length) windows = Arrays.copyOf(windows, Math.max(8, count * 2));
+
+        windows[count++] = begin;
+        windows[count++] = end;
+      }
+    }
+
+    int[] toArray() {
+      return count == windows.length ? windows : Arrays.copyOf(windows, count);
+    }
+  }
+}
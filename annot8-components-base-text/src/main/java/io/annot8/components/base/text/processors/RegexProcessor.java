@@ -5,11 +5,63 @@ import java.util.regex.Pattern;
 
 public class RegexProcessor extends AbstractRegexProcessor {
 
+  private final String requiredCharacters;
+  private final RegexPrefilter prefilter;
+
   public RegexProcessor(Pattern pattern, int group, String type) {
+    this(pattern, group, type, null);
+  }
+
+  /**
+   * @param requiredCharacters Characters, at least one of which must appear in any match of the
+   *     pattern, or null if there is no such requirement
+   */
+  public RegexProcessor(Pattern pattern, int group, String type, String requiredCharacters) {
+    this(pattern, group, type, requiredCharacters, 0);
+  }
+
+  /**
+   * @param requiredCharacters Characters, at least one of which must appear in any match of the
+   *     pattern, or null if there is no such requirement
+   * @param maxMatchLength The maximum length of a match, so that the pattern is only run within
+   *     that distance of the required characters, or 0 if the length isn't limited
+   */
+  public RegexProcessor(
+      Pattern pattern, int group, String type, String requiredCharacters, int maxMatchLength) {
     super(pattern, group, type);
+    this.requiredCharacters = requiredCharacters;
+
+    if (requiredCharacters != null && !requiredCharacters.isEmpty() && maxMatchLength > 0) {
+      this.prefilter =
+          new RegexPrefilter(
+              false,
+              maxMatchLength,
+              maxMatchLength,
+              requiredCharacters
+                  .chars()
+                  .mapToObj(c -> String.valueOf((char) c))
+                  .toArray(String[]::new));
+    } else {
+      this.prefilter = null;
+    }
   }
 
   public RegexProcessor(RegexSettings regexSettings) {
-    super(regexSettings.getRegex(), regexSettings.getGroup(), regexSettings.getType());
+    this(
+        regexSettings.getRegex(),
+        regexSettings.getGroup(),
+        regexSettings.getType(),
+        regexSettings.getRequiredCharacters(),
+        regexSettings.getMaxMatchLength());
+  }
+
+  @Override
+  protected RegexPrefilter prefilter() {
+    return prefilter;
+  }
+
+  @Override
+  protected String requiredCharacters() {
+    return requiredCharacters;
   }
 }
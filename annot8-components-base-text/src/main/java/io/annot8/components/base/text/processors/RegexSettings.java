@@ -11,15 +11,25 @@ public class RegexSettings implements Settings {
   private final Pattern regex;
   private final int group;
   private final String type;
+  private final String requiredCharacters;
+  private final int maxMatchLength;
+
+  public RegexSettings(Pattern regex, int group, String type) {
+    this(regex, group, type, null, 0);
+  }
 
   @JsonbCreator
   public RegexSettings(
       @JsonbProperty("regex") Pattern regex,
       @JsonbProperty("group") int group,
-      @JsonbProperty("type") String type) {
+      @JsonbProperty("type") String type,
+      @JsonbProperty("requiredCharacters") String requiredCharacters,
+      @JsonbProperty("maxMatchLength") int maxMatchLength) {
     this.regex = regex;
     this.group = group;
     this.type = type;
+    this.requiredCharacters = requiredCharacters;
+    this.maxMatchLength = maxMatchLength;
   }
 
   @Description("Regular expression pattern to match")
@@ -37,8 +47,22 @@ public class RegexSettings implements Settings {
     return type;
   }
 
+  @Description(
+      "Characters, at least one of which must appear in any match of the pattern, so that text without them can be skipped (optional)")
+  public String getRequiredCharacters() {
+    return requiredCharacters;
+  }
+
+  @Description(
+      value =
+          "The maximum length of a match, so that the pattern is only run near the required characters rather than over all of the text (0 if unknown)",
+      defaultValue = "0")
+  public int getMaxMatchLength() {
+    return maxMatchLength;
+  }
+
   @Override
   public boolean validate() {
-    return regex != null && group >= 0 && type != null && !type.isBlank();
+    return regex != null && group >= 0 && type != null && !type.isBlank() && maxMatchLength >= 0;
   }
 }
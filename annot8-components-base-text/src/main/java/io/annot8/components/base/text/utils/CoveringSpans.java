@@ -0,0 +1,55 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import io.annot8.common.data.bounds.SpanBounds;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A growing set of spans, which can efficiently answer whether a given span is covered by (i.e.
+ * contained within) any of the spans added so far.
+ *
+ * <p>Only the maximal spans are kept, that is those that aren't contained within another span.
+ * Ordered by begin, the ends of the maximal spans are then also increasing, so the only candidate to
+ * cover a span is the maximal span with the greatest begin at or before it. Both adding and
+ * checking a span are therefore logarithmic in the number of spans, rather than linear.
+ */
+public class CoveringSpans {
+  // Begin to end of the maximal spans
+  private final TreeMap<Integer, Integer> spans = new TreeMap<>();
+
+  /** Add a span */
+  public void add(int begin, int end) {
+    if (covers(begin, end)) return;
+
+    // Remove any spans that are contained within the new span, which will all begin at or after it
+    Map.Entry<Integer, Integer> next = spans.ceilingEntry(begin);
+    while (next != null && next.getValue() <= end) {
+      spans.remove(next.getKey());
+      next = spans.higherEntry(next.getKey());
+    }
+
+    spans.put(begin, end);
+  }
+
+  /** Add a span */
+  public void add(SpanBounds bounds) {
+    add(bounds.getBegin(), bounds.getEnd());
+  }
+
+  /** Returns true if the span is contained within any of the spans that have been added */
+  public boolean covers(int begin, int end) {
+    Map.Entry<Integer, Integer> candidate = spans.floorEntry(begin);
+    return candidate != null && candidate.getValue() >= end;
+  }
+
+  /** Returns true if the span is contained within any of the spans that have been added */
+  public boolean covers(SpanBounds bounds) {
+    return covers(bounds.getBegin(), bounds.getEnd());
+  }
+
+  /** Returns true if no spans have been added */
+  public boolean isEmpty() {
+    return spans.isEmpty();
+  }
+}
@@ -0,0 +1,135 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import io.annot8.api.annotations.Annotation;
+import io.annot8.common.data.bounds.SpanBounds;
+import io.annot8.common.data.content.Text;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the {@link SpanBounds} annotations on a {@link Text} content, keyed by type and sorted
+ * by position, for efficiently finding the annotations within a given span (e.g. the tokens within
+ * a sentence).
+ *
+ * <p>Using {@link Text#getBetween(int, int)} for each sentence requires a scan over all the
+ * annotations on the content each time. The index is instead built once per content, and each
+ * lookup is then a binary search.
+ *
+ * <p>The index is a snapshot of the annotations at the time it was built, and is not updated if
+ * annotations are subsequently added or removed.
+ */
+public class SpanIndex {
+  private static final Comparator<Annotation> SORT_BY_BEGIN_THEN_END =
+      Comparator.comparingInt((Annotation a) -> a.getBounds(SpanBounds.class).get().getBegin())
+          .thenComparingInt(a -> a.getBounds(SpanBounds.class).get().getEnd());
+
+  private final Map<String, TypeIndex> index;
+
+  private SpanIndex(Map<String, TypeIndex> index) {
+    this.index = index;
+  }
+
+  /** Index all SpanBounds annotations on the content */
+  public static SpanIndex of(Text content) {
+    return build(content.getAnnotations().getByBounds(SpanBounds.class));
+  }
+
+  /** Index only the SpanBounds annotations of the given types on the content */
+  public static SpanIndex of(Text content, String... types) {
+    return build(
+        Arrays.stream(types)
+            .distinct()
+            .flatMap(t -> content.getAnnotations().getByBoundsAndType(SpanBounds.class, t)));
+  }
+
+  private static SpanIndex build(Stream<Annotation> annotations) {
+    Map<String, List<Annotation>> byType =
+        annotations
+            .filter(a -> a.getType() != null)
+            .collect(Collectors.groupingBy(Annotation::getType));
+
+    Map<String, TypeIndex> index = new HashMap<>(byType.size() * 2);
+    byType.forEach((type, list) -> index.put(type, new TypeIndex(list)));
+
+    return new SpanIndex(index);
+  }
+
+  /** Returns all indexed annotations of the given type, sorted by begin and then end */
+  public List<Annotation> getByType(String type) {
+    TypeIndex ti = index.get(type);
+    if (ti == null) return Collections.emptyList();
+
+    return Collections.unmodifiableList(Arrays.asList(ti.annotations));
+  }
+
+  /**
+   * Returns the annotations of the given type which lie entirely within the span (i.e. {@code begin
+   * <= annotation.begin} and {@code annotation.end <= end}), sorted by begin and then end. This is
+   * equivalent to filtering {@link Text#getBetween(int, int)} by type and sorting.
+   */
+  public List<Annotation> getCovered(String type, int begin, int end) {
+    TypeIndex ti = index.get(type);
+    if (ti == null) return Collections.emptyList();
+
+    return ti.getCovered(begin, end);
+  }
+
+  /** Returns the annotations of the given type which lie entirely within the bounds */
+  public List<Annotation> getCovered(String type, SpanBounds bounds) {
+    return getCovered(type, bounds.getBegin(), bounds.getEnd());
+  }
+
+  private static class TypeIndex {
+    private final Annotation[] annotations;
+    private final int[] begins;
+    private final int[] ends;
+
+    private TypeIndex(List<Annotation> list) {
+      annotations = list.toArray(new Annotation[0]);
+      Arrays.sort(annotations, SORT_BY_BEGIN_THEN_END);
+
+      begins = new int[annotations.length];
+      ends = new int[annotations.length];
+      for (int i = 0; i < annotations.length; i++) {
+        SpanBounds sb = annotations[i].getBounds(SpanBounds.class).get();
+        begins[i] = sb.getBegin();
+        ends[i] = sb.getEnd();
+      }
+    }
+
+    private List<Annotation> getCovered(int begin, int end) {
+      List<Annotation> covered = new ArrayList<>();
+
+      // Candidates start at or after begin, and no later than end
+      for (int i = firstBeginAtOrAfter(begin); i < begins.length && begins[i] <= end; i++) {
+        if (ends[i] <= end) covered.add(annotations[i]);
+      }
+
+      return covered;
+    }
+
+    private int firstBeginAtOrAfter(int begin) {
+      int low = 0;
+      int high = begins.length;
+
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (begins[mid] < begin) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+
+      return low;
+    }
+  }
+}
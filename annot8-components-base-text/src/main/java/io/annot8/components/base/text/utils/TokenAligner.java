@@ -0,0 +1,59 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aligns a list of tokens (e.g. the output of an external tokenizer or speech recognizer) with the
+ * text they were produced from, finding the character offset of each token.
+ *
+ * <p>Tokens are expected to appear in the text in order, separated by any number of other
+ * characters (e.g. whitespace). A single cursor is moved through the text, and each token is
+ * searched for from the end of the previous one, so aligning tokens which are all present takes
+ * time proportional to the length of the text.
+ *
+ * <p>If a token can't be found, then it is given an offset of -1 and the cursor is not moved, so
+ * that the remaining tokens can still be aligned. Finding that a token is missing means searching
+ * the rest of the text, but this is remembered so that a token which is missing more than once
+ * (e.g. one the tokenizer normalises) is only searched for once.
+ */
+public final class TokenAligner {
+  public static final int NOT_FOUND = -1;
+
+  private TokenAligner() {
+    // Utility class
+  }
+
+  /**
+   * Returns the offset of the start of each token in the text, or {@link #NOT_FOUND} if the token
+   * could not be found after the previous token. The end of each token is its start plus its
+   * length.
+   */
+  public static int[] align(String text, List<String> tokens) {
+    int[] begins = new int[tokens.size()];
+
+    // Offset from which each token is known not to appear in the text
+    Map<String, Integer> missingFrom = new HashMap<>();
+
+    int cursor = 0;
+    int i = 0;
+    for (String token : tokens) {
+      int begin = NOT_FOUND;
+
+      if (token != null && !token.isEmpty()) {
+        Integer missing = missingFrom.get(token);
+        if (missing == null || cursor < missing) {
+          begin = text.indexOf(token, cursor);
+          if (begin == NOT_FOUND) missingFrom.put(token, cursor);
+        }
+      }
+
+      begins[i++] = begin;
+      if (begin != NOT_FOUND) cursor = begin + token.length();
+    }
+
+    return begins;
+  }
+}
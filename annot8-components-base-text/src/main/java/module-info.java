@@ -7,4 +7,5 @@ module io.annot8.components.base.text {
   requires jakarta.json.bind;
 
   exports io.annot8.components.base.text.processors;
+  exports io.annot8.components.base.text.utils;
 }
@@ -0,0 +1,218 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.processors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.annot8.api.components.responses.ProcessorResponse;
+import io.annot8.api.data.Item;
+import io.annot8.api.exceptions.BadConfigurationException;
+import io.annot8.common.data.content.Text;
+import io.annot8.common.data.utils.SortUtils;
+import io.annot8.testing.testimpl.TestItem;
+import io.annot8.testing.testimpl.content.TestStringContent;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class CombinedRegexProcessorTest {
+  private static final String TEXT = "Contact james@example.com or #support, quoting 12345.";
+
+  @Test
+  public void testCombined() {
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData(TEXT).save();
+
+    try (CombinedRegexProcessor p = new CombinedRegexProcessor(processors())) {
+      assertEquals(ProcessorResponse.ok(), p.process(item));
+    }
+
+    assertEquals(List.of("james@example.com"), covered(content, "email"));
+    assertEquals(List.of("#support"), covered(content, "hashtag"));
+    assertEquals(List.of("12345"), covered(content, "number"));
+    assertEquals(List.of(), covered(content, "ipv6"));
+    assertEquals(List.of("Contact"), covered(content, "capitalised"));
+  }
+
+  @Test
+  public void testSameAsSeparate() {
+    Item combinedItem = new TestItem();
+    Text combinedContent =
+        combinedItem.createContent(TestStringContent.class).withData(TEXT).save();
+    new CombinedRegexProcessor(processors()).process(combinedItem);
+
+    Item separateItem = new TestItem();
+    Text separateContent =
+        separateItem.createContent(TestStringContent.class).withData(TEXT).save();
+    processors().forEach(p -> p.process(separateItem));
+
+    for (String type : List.of("email", "hashtag", "number", "ipv6", "capitalised")) {
+      assertEquals(covered(separateContent, type), covered(combinedContent, type));
+    }
+  }
+
+  @Test
+  public void testNoRequiredCharacters() {
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData("No matches here").save();
+
+    new CombinedRegexProcessor(processors()).process(item);
+
+    assertEquals(List.of("No"), covered(content, "capitalised"));
+    assertTrue(covered(content, "email").isEmpty());
+  }
+
+  @Test
+  public void testNonAsciiRequiredCharacter() {
+    Item item = new TestItem();
+    Text content =
+        item.createContent(TestStringContent.class).withData("It costs £30, not $40").save();
+
+    new CombinedRegexProcessor(
+            List.of(
+                new RegexProcessor(Pattern.compile("£[0-9]+"), 0, "gbp", "£"),
+                new RegexProcessor(Pattern.compile("€[0-9]+"), 0, "eur", "€")))
+        .process(item);
+
+    assertEquals(List.of("£30"), covered(content, "gbp"));
+    assertEquals(List.of(), covered(content, "eur"));
+  }
+
+  @Test
+  public void testSettings() {
+    CombinedRegexSettings settings = new CombinedRegexSettings();
+    assertFalse(settings.validate());
+
+    settings.setPatterns(
+        List.of(
+            new RegexSettings(Pattern.compile("[0-9]+"), 0, "number"),
+            new RegexSettings(Pattern.compile("#[a-z]+"), 0, "hashtag")));
+    assertTrue(settings.validate());
+
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData(TEXT).save();
+
+    new CombinedRegexProcessor(settings).process(item);
+
+    assertEquals(List.of("12345"), covered(content, "number"));
+    assertEquals(List.of("#support"), covered(content, "hashtag"));
+  }
+
+  @Test
+  public void testWindows() {
+    String text = "x".repeat(1000) + " a@b " + "y".repeat(1000) + " 42";
+
+    CombinedRegexProcessor p =
+        new CombinedRegexProcessor(
+            List.of(
+                new RegexProcessor(Pattern.compile("[a-z]+@[a-z]+"), 0, "email", "@", 10),
+                new RegexProcessor(Pattern.compile("#[a-z]+"), 0, "hashtag", "#", 10),
+                new RegexProcessor(Pattern.compile("[0-9]+"), 0, "number", "0123456789"),
+                new RegexProcessor(Pattern.compile("[A-Z]+"), 0, "capitals")));
+
+    int[][] windows = p.findWindows(text);
+
+    // Only the text around the literals is searched, and nothing if they aren't found
+    assertArrayEquals(new int[] {992, 1013}, windows[0]);
+    assertArrayEquals(new int[0], windows[1]);
+
+    // Required characters without a maximum length mean the whole text is searched, if found
+    assertArrayEquals(new int[] {0, text.length()}, windows[2]);
+    assertNull(windows[3]);
+  }
+
+  @Test
+  public void testSettingsWindows() {
+    String text = "x".repeat(1000) + " james@example.com " + "y".repeat(1000);
+
+    CombinedRegexSettings settings = new CombinedRegexSettings();
+    settings.setPatterns(
+        List.of(
+            new RegexSettings(Pattern.compile("[a-z.]+@[a-z.]+"), 0, "email", "@", 20),
+            new RegexSettings(Pattern.compile("#[a-z]+"), 0, "hashtag", "#", 20)));
+    assertTrue(settings.validate());
+
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData(text).save();
+
+    CombinedRegexProcessor p = new CombinedRegexProcessor(settings);
+    assertArrayEquals(new int[] {986, 1027}, p.findWindows(text)[0]);
+    assertArrayEquals(new int[0], p.findWindows(text)[1]);
+
+    p.process(item);
+
+    assertEquals(List.of("james@example.com"), covered(content, "email"));
+    assertEquals(List.of(), covered(content, "hashtag"));
+  }
+
+  @Test
+  public void testPrefilterSameAsSeparate() {
+    String text = "See CVE-2020-1234, cve-2021-9 and http://example.com/a-b on 12 Jan 2020";
+
+    List<AbstractRegexProcessor> processors =
+        List.of(
+            prefiltered("CVE-[0-9]{4}-[0-9]+", "cve", new RegexPrefilter(true, 0, 20, "cve-")),
+            prefiltered("https?://[^ ]+", "url", new RegexPrefilter(false, 5, 50, "://")),
+            prefiltered(
+                "[0-9]+ [A-Z][a-z]+ [0-9]+", "date", new RegexPrefilter(false, 3, 5, "Jan")),
+            prefiltered("[a-z]-[a-z]", "hyphen", new RegexPrefilter(false, 1, 1, "-")));
+
+    Item combinedItem = new TestItem();
+    Text combinedContent =
+        combinedItem.createContent(TestStringContent.class).withData(text).save();
+    new CombinedRegexProcessor(processors).process(combinedItem);
+
+    Item separateItem = new TestItem();
+    Text separateContent =
+        separateItem.createContent(TestStringContent.class).withData(text).save();
+    processors.forEach(p -> p.process(separateItem));
+
+    for (String type : List.of("cve", "url", "date", "hyphen")) {
+      assertEquals(covered(separateContent, type), covered(combinedContent, type));
+    }
+
+    assertEquals(List.of("http://example.com/a-b"), covered(combinedContent, "url"));
+    assertEquals(List.of("12 Jan 2020"), covered(combinedContent, "date"));
+  }
+
+  @Test
+  public void testNullPattern() {
+    assertThrows(
+        BadConfigurationException.class,
+        () -> new CombinedRegexProcessor(List.of(new RegexProcessor(null, 0, "test"))));
+  }
+
+  private static List<RegexProcessor> processors() {
+    return List.of(
+        new RegexProcessor(
+            Pattern.compile("[a-z0-9.]+@[a-z0-9.]+", Pattern.CASE_INSENSITIVE), 0, "email", "@"),
+        new RegexProcessor(Pattern.compile("#[a-z]+"), 0, "hashtag", "#"),
+        new RegexProcessor(Pattern.compile("\\b[0-9]+\\b"), 0, "number", "0123456789"),
+        new RegexProcessor(Pattern.compile("[0-9a-f]+(:[0-9a-f]+)+"), 0, "ipv6", ":"),
+        new RegexProcessor(Pattern.compile("\\b[A-Z][a-z]+\\b"), 0, "capitalised"));
+  }
+
+  private static AbstractRegexProcessor prefiltered(
+      String regex, String type, RegexPrefilter prefilter) {
+    return new RegexProcessor(Pattern.compile(regex, Pattern.CASE_INSENSITIVE), 0, type) {
+      @Override
+      protected RegexPrefilter prefilter() {
+        return prefilter;
+      }
+    };
+  }
+
+  private static List<String> covered(Text content, String type) {
+    return content
+        .getAnnotations()
+        .getByType(type)
+        .sorted(SortUtils.SORT_BY_SPANBOUNDS)
+        .map(a -> a.getBounds().getData(content).get())
+        .collect(Collectors.toList());
+  }
+}
@@ -13,7 +13,10 @@ import io.annot8.testing.testimpl.TestItem;
 import io.annot8.testing.testimpl.content.TestStringContent;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
@@ -224,4 +227,55 @@ public class DescribedWordTokenTest {
     assertEquals("big juicy and ripe apple", content.getText(a.get(0)).get());
     assertEquals("unripe, green banana", content.getText(a.get(1)).get());
   }
+
+  @Test
+  public void testMultipleRootTokenSets() {
+    TestItem item = new TestItem();
+    TestStringContent content =
+        item.createContent(TestStringContent.class)
+            .withData("A red Apple, a cherry and the small green BANANA.")
+            .save();
+
+    content
+        .getAnnotations()
+        .create()
+        .withBounds(new SpanBounds(0, 50))
+        .withType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
+        .save();
+
+    Matcher m = Pattern.compile("\\w+").matcher(content.getData());
+    while (m.find()) {
+      content
+          .getAnnotations()
+          .create()
+          .withBounds(new SpanBounds(m.start(), m.end()))
+          .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+          .save();
+    }
+
+    DescribedWordToken.Processor p =
+        new DescribedWordToken.Processor(
+            new CollectionStopwords("en", Set.of("a", "the")),
+            "fruit",
+            Map.of(
+                "apple", Map.of("family", "rose"),
+                "cherry", Map.of("family", "rose"),
+                "Banana", Map.of("family", "musa")),
+            Set.of("Red", "small", "green"),
+            true);
+    p.process(item);
+
+    List<Annotation> a =
+        content
+            .getAnnotations()
+            .getByBoundsAndType(SpanBounds.class, "fruit")
+            .sorted(SortUtils.SORT_BY_SPANBOUNDS)
+            .collect(Collectors.toList());
+    assertEquals(2, a.size());
+
+    assertEquals("red Apple", content.getText(a.get(0)).get());
+    assertEquals("rose", a.get(0).getProperties().get("family").get());
+    assertEquals("small green BANANA", content.getText(a.get(1)).get());
+    assertEquals("musa", a.get(1).getProperties().get("family").get());
+  }
 }
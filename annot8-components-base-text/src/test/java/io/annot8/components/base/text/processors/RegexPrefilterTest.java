@@ -0,0 +1,78 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.processors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class RegexPrefilterTest {
+  @Test
+  public void testWindows() {
+    RegexPrefilter prefilter = new RegexPrefilter(false, 2, 3, "@");
+
+    assertArrayEquals(new int[] {3, 9}, prefilter.findWindows("abcde@fghijkl"));
+    assertArrayEquals(new int[0], prefilter.findWindows("no literal here"));
+    assertArrayEquals(new int[0], prefilter.findWindows(""));
+  }
+
+  @Test
+  public void testClamped() {
+    RegexPrefilter prefilter = new RegexPrefilter(false, 10, 10, "@");
+
+    assertArrayEquals(new int[] {0, 5}, prefilter.findWindows("ab@cd"));
+  }
+
+  @Test
+  public void testMerged() {
+    RegexPrefilter prefilter = new RegexPrefilter(false, 1, 1, "@");
+
+    // Overlapping and touching windows are merged, separate ones aren't
+    assertArrayEquals(new int[] {0, 5, 10, 13}, prefilter.findWindows("a@b@c.....x@y"));
+    assertArrayEquals(
+        new int[] {0, 6}, new RegexPrefilter(false, 0, 0, "abc").findWindows("abcabc"));
+  }
+
+  @Test
+  public void testMultipleLiterals() {
+    RegexPrefilter prefilter = new RegexPrefilter(false, 0, 0, "://", "www", "£");
+
+    assertArrayEquals(
+        new int[] {4, 7, 16, 19, 26, 27}, prefilter.findWindows("http://x.com or www.y.com £5"));
+  }
+
+  @Test
+  public void testSharedFirstCharacter() {
+    RegexPrefilter prefilter = new RegexPrefilter(false, 0, 0, "Flight No", "Flat");
+
+    assertArrayEquals(new int[] {0, 4, 9, 18}, prefilter.findWindows("Flat and Flight No"));
+  }
+
+  @Test
+  public void testIgnoreCase() {
+    RegexPrefilter sensitive = new RegexPrefilter(false, 0, 0, "CVE-");
+    RegexPrefilter insensitive = new RegexPrefilter(true, 0, 0, "CVE-");
+
+    assertArrayEquals(new int[0], sensitive.findWindows("see cve-2020-1234"));
+    assertArrayEquals(new int[] {4, 8}, insensitive.findWindows("see cve-2020-1234"));
+    assertArrayEquals(new int[] {4, 8}, insensitive.findWindows("see CvE-2020-1234"));
+  }
+
+  @Test
+  public void testRequiredCharacters() {
+    assertEquals("@", new RegexPrefilter(false, 0, 0, "@").getRequiredCharacters());
+    assertEquals("Fw", new RegexPrefilter(false, 0, 0, "Flight", "www").getRequiredCharacters());
+    assertEquals("Cc", new RegexPrefilter(true, 0, 0, "CVE-").getRequiredCharacters());
+  }
+
+  @Test
+  public void testInvalid() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new RegexPrefilter(false, 0, 0, Collections.emptyList()));
+    assertThrows(IllegalArgumentException.class, () -> new RegexPrefilter(false, 0, 0, "a", ""));
+    assertThrows(IllegalArgumentException.class, () -> new RegexPrefilter(false, -1, 0, "a"));
+  }
+}
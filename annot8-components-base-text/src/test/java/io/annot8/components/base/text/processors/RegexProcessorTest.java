@@ -42,6 +42,108 @@ public class RegexProcessorTest {
     }
   }
 
+  @Test
+  public void testPrefilter() {
+    // Look-behind and boundaries should see beyond the windows found by the prefilter
+    Pattern pattern = Pattern.compile("(?<=ref )\\b[A-Z]+-[0-9]+\\b");
+    String text = "ref ABC-123, ref XYZ-9 and ABCDEFGH-1 but not DEF-45";
+
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData(text).save();
+
+    Processor p =
+        new RegexProcessor(pattern, 0, "ref") {
+          @Override
+          protected RegexPrefilter prefilter() {
+            return new RegexPrefilter(false, 3, 4, "-");
+          }
+        };
+    p.process(item);
+
+    List<String> values =
+        content
+            .getAnnotations()
+            .getAll()
+            .map(a -> a.getBounds(SpanBounds.class).get().getData(content).get())
+            .sorted()
+            .collect(Collectors.toList());
+    Assertions.assertEquals(List.of("ABC-123", "XYZ-9"), values);
+  }
+
+  @Test
+  public void testPrefilterLongMatch() {
+    // Matches which run past the end of a window should be found in full, not cut short
+    Pattern pattern = Pattern.compile("([a-z0-9.]+)@([a-z0-9.-]+[.][a-z]{2,6})");
+    String text = "Email joe@a.very.long.domain.example.com or ann@b.co.uk, not bob@";
+
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData(text).save();
+
+    Processor p =
+        new RegexProcessor(pattern, 0, "email") {
+          @Override
+          protected RegexPrefilter prefilter() {
+            return new RegexPrefilter(false, 10, 5, "@");
+          }
+        };
+    p.process(item);
+
+    List<String> values =
+        content
+            .getAnnotations()
+            .getAll()
+            .map(a -> a.getBounds(SpanBounds.class).get().getData(content).get())
+            .sorted()
+            .collect(Collectors.toList());
+    Assertions.assertEquals(List.of("ann@b.co.uk", "joe@a.very.long.domain.example.com"), values);
+  }
+
+  @Test
+  public void testPrefilterLongStart() {
+    // Matches which start before the beginning of a window should be found in full, not cut short
+    Pattern pattern = Pattern.compile("([a-z0-9.]+)@([a-z0-9.-]+[.][a-z]{2,6})");
+    String longName = "a".repeat(300);
+    String text = "Email " + longName + "@b.co.uk or joe@c.com";
+
+    Item item = new TestItem();
+    Text content = item.createContent(TestStringContent.class).withData(text).save();
+
+    Processor p =
+        new RegexProcessor(pattern, 0, "email") {
+          @Override
+          protected RegexPrefilter prefilter() {
+            return new RegexPrefilter(false, 10, 20, "@");
+          }
+        };
+    p.process(item);
+
+    List<String> values =
+        content
+            .getAnnotations()
+            .getAll()
+            .map(a -> a.getBounds(SpanBounds.class).get().getData(content).get())
+            .sorted()
+            .collect(Collectors.toList());
+    Assertions.assertEquals(List.of(longName + "@b.co.uk", "joe@c.com"), values);
+  }
+
+  @Test
+  public void testMayMatch() {
+    RegexProcessor digits =
+        new RegexProcessor(Pattern.compile("[0-9]+"), 0, "number", "0123456789");
+    Assertions.assertFalse(digits.mayMatch("No numbers here"));
+    Assertions.assertTrue(digits.mayMatch("Only at the end 7"));
+    Assertions.assertFalse(digits.mayMatch(""));
+
+    RegexProcessor currency = new RegexProcessor(Pattern.compile("[$£€][0-9]+"), 0, "money", "$£€");
+    Assertions.assertFalse(currency.mayMatch("No currency here"));
+    Assertions.assertTrue(currency.mayMatch("It cost €5"));
+    Assertions.assertTrue(currency.mayMatch("It cost $5"));
+
+    RegexProcessor any = new RegexProcessor(Pattern.compile("[a-z]+"), 0, "word");
+    Assertions.assertTrue(any.mayMatch("No required characters"));
+  }
+
   private void assertProcessorCorrectness(Processor processor) throws Annot8Exception {
     Item item = new TestItem();
     Text content =
@@ -0,0 +1,76 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class CoveringSpansTest {
+  @Test
+  public void test() {
+    CoveringSpans spans = new CoveringSpans();
+    assertTrue(spans.isEmpty());
+    assertFalse(spans.covers(0, 1));
+
+    spans.add(10, 20);
+    assertFalse(spans.isEmpty());
+
+    assertTrue(spans.covers(10, 20));
+    assertTrue(spans.covers(12, 15));
+    assertFalse(spans.covers(5, 15));
+    assertFalse(spans.covers(15, 25));
+    assertFalse(spans.covers(0, 5));
+    assertFalse(spans.covers(25, 30));
+  }
+
+  @Test
+  public void testOverlapping() {
+    CoveringSpans spans = new CoveringSpans();
+    spans.add(0, 10);
+    spans.add(5, 15);
+
+    // Covered by the union, but not by either span
+    assertFalse(spans.covers(2, 12));
+    assertTrue(spans.covers(0, 8));
+    assertTrue(spans.covers(8, 15));
+  }
+
+  @Test
+  public void testContained() {
+    CoveringSpans spans = new CoveringSpans();
+    spans.add(12, 14);
+    spans.add(16, 18);
+    spans.add(10, 20);
+    spans.add(11, 13);
+
+    assertTrue(spans.covers(10, 20));
+    assertTrue(spans.covers(11, 19));
+    assertFalse(spans.covers(9, 18));
+  }
+
+  @Test
+  public void testSameAsLinearScan() {
+    Random random = new Random(0);
+
+    CoveringSpans spans = new CoveringSpans();
+    List<int[]> added = new ArrayList<>();
+
+    for (int i = 0; i < 2000; i++) {
+      int begin = random.nextInt(1000);
+      int end = begin + random.nextInt(50);
+
+      boolean expected = added.stream().anyMatch(s -> s[0] <= begin && s[1] >= end);
+      assertEquals(expected, spans.covers(begin, end));
+
+      if (random.nextBoolean()) {
+        spans.add(begin, end);
+        added.add(new int[] {begin, end});
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.annot8.api.annotations.Annotation;
+import io.annot8.common.data.bounds.SpanBounds;
+import io.annot8.conventions.AnnotationTypes;
+import io.annot8.testing.testimpl.TestItem;
+import io.annot8.testing.testimpl.content.TestStringContent;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class SpanIndexTest {
+  @Test
+  public void test() {
+    TestItem item = new TestItem();
+    TestStringContent content =
+        item.createContent(TestStringContent.class)
+            .withData("Tom ate an apple. Bananas are nice.")
+            .save();
+
+    create(content, AnnotationTypes.ANNOTATION_TYPE_SENTENCE, 0, 17);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_SENTENCE, 18, 35);
+
+    // Create tokens out of order
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 30, 34);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 4, 7);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 0, 3);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 11, 16);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 8, 10);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 18, 25);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 26, 29);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 16, 17);
+
+    SpanIndex index = SpanIndex.of(content);
+
+    List<Annotation> sentences = index.getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE);
+    assertEquals(2, sentences.size());
+
+    assertEquals(
+        List.of("Tom", "ate", "an", "apple", "."),
+        text(
+            content,
+            index.getCovered(
+                AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN,
+                sentences.get(0).getBounds(SpanBounds.class).get())));
+    assertEquals(
+        List.of("Bananas", "are", "nice"),
+        text(
+            content,
+            index.getCovered(
+                AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN,
+                sentences.get(1).getBounds(SpanBounds.class).get())));
+
+    // Partially covered tokens are excluded
+    assertEquals(
+        List.of("ate"),
+        text(content, index.getCovered(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 2, 9)));
+
+    assertTrue(index.getCovered("missing", 0, 35).isEmpty());
+  }
+
+  @Test
+  public void testTypes() {
+    TestItem item = new TestItem();
+    TestStringContent content =
+        item.createContent(TestStringContent.class).withData("Hello world").save();
+
+    create(content, AnnotationTypes.ANNOTATION_TYPE_SENTENCE, 0, 11);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 0, 5);
+    create(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, 6, 11);
+
+    SpanIndex index = SpanIndex.of(content, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN);
+
+    assertTrue(index.getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE).isEmpty());
+    assertEquals(2, index.getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN).size());
+  }
+
+  private static void create(TestStringContent content, String type, int begin, int end) {
+    content.getAnnotations().create().withBounds(new SpanBounds(begin, end)).withType(type).save();
+  }
+
+  private static List<String> text(TestStringContent content, List<Annotation> annotations) {
+    return annotations.stream()
+        .map(a -> content.getText(a).orElse(""))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,120 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link TokenAligner} with the previous approach of removing each token from the front of
+ * a list and scanning forward one character at a time, and with searching for every token without
+ * remembering which are missing.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=io.annot8.components.base.text.utils.TokenAlignerBenchmark
+ * -Dexec.classpathScope=test}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenAlignerBenchmark {
+  private static final String[] WORDS = {
+    "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", ",", "."
+  };
+
+  @Param({"1000", "10000", "100000"})
+  public int tokenCount;
+
+  /** Percentage of tokens that don't appear in the text */
+  @Param({"0", "10"})
+  public int missPercentage;
+
+  private String text;
+  private List<String> tokens;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+
+    tokens = new ArrayList<>(tokenCount);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < tokenCount; i++) {
+      String token = WORDS[random.nextInt(WORDS.length)];
+      sb.append(token).append(random.nextBoolean() ? " " : "  ");
+
+      tokens.add(random.nextInt(100) < missPercentage ? "missing" + random.nextInt(10) : token);
+    }
+
+    text = sb.toString();
+  }
+
+  @Benchmark
+  public int[] tokenAligner() {
+    return TokenAligner.align(text, tokens);
+  }
+
+  @Benchmark
+  public int[] indexOfEachToken() {
+    int[] begins = new int[tokens.size()];
+    int i = 0;
+    int pos = 0;
+
+    for (String tok : tokens) {
+      begins[i] = text.indexOf(tok, pos);
+      if (begins[i] != -1) pos = begins[i] + tok.length();
+
+      i++;
+    }
+
+    return begins;
+  }
+
+  @Benchmark
+  public int[] removeAndScan() {
+    int[] begins = new int[tokens.size()];
+    int i = 0;
+    int pos = 0;
+
+    List<String> tokLoop = new ArrayList<>(tokens);
+    while (!tokLoop.isEmpty()) {
+      String tok = tokLoop.remove(0);
+
+      while (pos < text.length()) {
+        if (text.startsWith(tok, pos)) {
+          begins[i] = pos;
+          pos += tok.length();
+          break;
+        } else {
+          pos++;
+        }
+      }
+
+      i++;
+    }
+
+    return begins;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TokenAlignerBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,104 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.text.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TokenAlignerTest {
+  @Test
+  public void test() {
+    String text = "Hello  world, it's\tme!";
+
+    int[] begins = TokenAligner.align(text, List.of("Hello", "world", ",", "it", "'s", "me", "!"));
+    assertArrayEquals(new int[] {0, 7, 12, 14, 16, 19, 21}, begins);
+  }
+
+  @Test
+  public void testRepeatedTokens() {
+    String text = "the cat and the hat";
+
+    int[] begins = TokenAligner.align(text, List.of("the", "cat", "and", "the", "hat"));
+    assertArrayEquals(new int[] {0, 4, 8, 12, 16}, begins);
+  }
+
+  @Test
+  public void testMissingToken() {
+    String text = "one two three";
+
+    int[] begins = TokenAligner.align(text, Arrays.asList("one", "four", "two", "", null, "three"));
+    assertArrayEquals(
+        new int[] {0, TokenAligner.NOT_FOUND, 4, TokenAligner.NOT_FOUND, TokenAligner.NOT_FOUND, 8},
+        begins);
+  }
+
+  @Test
+  public void testOutOfOrder() {
+    String text = "one two three";
+
+    // Tokens must be in order, so "one" can't be found after "two"
+    int[] begins = TokenAligner.align(text, List.of("two", "one", "three"));
+    assertArrayEquals(new int[] {4, TokenAligner.NOT_FOUND, 8}, begins);
+  }
+
+  @Test
+  public void testLongGap() {
+    String text = "one two" + " ".repeat(1500) + "three <br/>".repeat(200) + "four five";
+
+    int[] begins =
+        TokenAligner.align(text, List.of("one", "missing", "two", "three", "four", "five"));
+    assertArrayEquals(new int[] {0, TokenAligner.NOT_FOUND, 4, 1507, 3707, 3712}, begins);
+  }
+
+  @Test
+  public void testRepeatedMissingToken() {
+    String text = "one two three four";
+
+    int[] begins =
+        TokenAligner.align(
+            text, List.of("one", "``", "two", "``", "three", "``", "four", "``", "one"));
+    assertArrayEquals(
+        new int[] {
+          0,
+          TokenAligner.NOT_FOUND,
+          4,
+          TokenAligner.NOT_FOUND,
+          8,
+          TokenAligner.NOT_FOUND,
+          14,
+          TokenAligner.NOT_FOUND,
+          TokenAligner.NOT_FOUND
+        },
+        begins);
+  }
+
+  @Test
+  public void testEmpty() {
+    assertEquals(0, TokenAligner.align("", Collections.emptyList()).length);
+    assertArrayEquals(new int[] {TokenAligner.NOT_FOUND}, TokenAligner.align("", List.of("token")));
+  }
+
+  @Test
+  public void testLarge() {
+    List<String> tokens = new ArrayList<>();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      String token = "token" + (i % 100);
+      tokens.add(token);
+      sb.append(token).append(' ');
+    }
+
+    int[] begins = TokenAligner.align(sb.toString(), tokens);
+
+    int expected = 0;
+    for (int i = 0; i < tokens.size(); i++) {
+      assertEquals(expected, begins[i]);
+      expected += tokens.get(i).length() + 1;
+    }
+  }
+}
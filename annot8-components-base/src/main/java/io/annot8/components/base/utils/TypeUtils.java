@@ -1,42 +1,30 @@
 /* Annot8 (annot8.io) - Licensed under Apache-2.0. */
 package io.annot8.components.base.utils;
 
-import io.annot8.conventions.PathUtils;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TypeUtils {
-  public static boolean matchesWildcard(String type, String wildcard) {
-    String[] t = type.split(PathUtils.SEPARATOR);
-    String[] w = wildcard.split(PathUtils.SEPARATOR);
-
-    int i = 0;
-    for (int j = 0; j < w.length; j++) {
-      String wp = w[j];
-
-      if (i >= t.length) return false;
 
-      String tp = t[i];
+  private static final int MAX_COMPILED_WILDCARDS = 256;
+  private static final Map<String, WildcardMatcher> COMPILED_WILDCARDS = new ConcurrentHashMap<>();
 
-      if (wp.equals(tp) || wp.equals("*")) {
-        i++;
-      } else {
-        if (wp.equals("**")) {
-          if (j + 1 >= w.length) // This is the last part, so it must match the rest
-          return true;
-
-          String wpn = w[j + 1];
-          for (; i < t.length; i++) {
-            String tpn = t[i];
+  /**
+   * Returns true if the type matches the wildcard, where {@code *} matches a single part of the
+   * type and {@code **} matches multiple parts.
+   *
+   * <p>Where the same wildcard is tested against many types, it is more efficient to use a {@link
+   * WildcardMatcher} directly.
+   */
+  public static boolean matchesWildcard(String type, String wildcard) {
+    WildcardMatcher matcher = COMPILED_WILDCARDS.get(wildcard);
+    if (matcher == null) {
+      if (COMPILED_WILDCARDS.size() >= MAX_COMPILED_WILDCARDS) COMPILED_WILDCARDS.clear();
 
-            if (wpn.equals(tpn)) {
-              break;
-            }
-          }
-        } else {
-          return false;
-        }
-      }
+      matcher = WildcardMatcher.compile(wildcard);
+      COMPILED_WILDCARDS.put(wildcard, matcher);
     }
 
-    return true;
+    return matcher.matches(type);
   }
 }
@@ -0,0 +1,196 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.utils;
+
+import io.annot8.conventions.PathUtils;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A type wildcard (see {@link TypeUtils#matchesWildcard(String, String)}) which has been parsed
+ * once, so that it can be cheaply tested against many types.
+ *
+ * <p>The common forms of wildcard are matched directly against the type without splitting it:
+ *
+ * <ul>
+ *   <li>wildcards without a {@code *} part, such as {@code entity/person}
+ *   <li>wildcards which end in a single {@code *} or {@code **} part, such as {@code entity/*}
+ *   <li>{@code *} and {@code **} on their own
+ * </ul>
+ *
+ * Any other wildcard has to split the type into parts, so the result for each type is cached. As an
+ * Item will usually only contain a small number of distinct types, the cache rarely needs to hold
+ * many entries, but it is cleared if it grows beyond a maximum size.
+ *
+ * <p>Instances are thread safe.
+ */
+public class WildcardMatcher {
+
+  /** The default maximum number of types for which the result is cached */
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
+  private static final String ANY_PART = "*";
+  private static final String ANY_PARTS = "**";
+
+  private enum Kind {
+    EXACT,
+    PREFIX,
+    ANY,
+    GENERAL
+  }
+
+  private final String wildcard;
+  private final String[] parts;
+  private final Kind kind;
+  private final String prefix;
+
+  private final int cacheSize;
+  private final Map<String, Boolean> cache;
+
+  private WildcardMatcher(String wildcard, int cacheSize) {
+    this.wildcard = wildcard;
+    this.parts = wildcard.split(PathUtils.SEPARATOR);
+    this.cacheSize = cacheSize;
+
+    int last = parts.length - 1;
+    if (parts.length == 1 && isWildcard(parts[0])) {
+      kind = Kind.ANY;
+      prefix = null;
+    } else if (last > 0 && allLiteral(last) && isWildcard(parts[last])) {
+      kind = Kind.PREFIX;
+      prefix = join(last) + PathUtils.SEPARATOR;
+    } else if (last >= 0 && allLiteral(parts.length) && !parts[last].isEmpty()) {
+      kind = Kind.EXACT;
+      prefix = join(parts.length);
+    } else {
+      kind = Kind.GENERAL;
+      prefix = null;
+    }
+
+    cache = kind == Kind.GENERAL ? new ConcurrentHashMap<>() : null;
+  }
+
+  /** Parse a wildcard, using the default cache size */
+  public static WildcardMatcher compile(String wildcard) {
+    return compile(wildcard, DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+   * Parse a wildcard
+   *
+   * @param wildcard The wildcard, where {@code *} matches a single part and {@code **} matches
+   *     multiple parts
+   * @param cacheSize The maximum number of types for which the result is cached
+   */
+  public static WildcardMatcher compile(String wildcard, int cacheSize) {
+    if (cacheSize < 0) throw new IllegalArgumentException("Cache size must not be negative");
+
+    return new WildcardMatcher(wildcard, cacheSize);
+  }
+
+  /** Returns the wildcard this matcher was compiled from */
+  public String getWildcard() {
+    return wildcard;
+  }
+
+  /**
+   * Returns true if the type matches the wildcard, giving the same result as {@link
+   * TypeUtils#matchesWildcard(String, String)}
+   */
+  public boolean matches(String type) {
+    switch (kind) {
+      case EXACT:
+        return type.startsWith(prefix)
+            && (type.length() == prefix.length()
+                || type.startsWith(PathUtils.SEPARATOR, prefix.length()));
+      case PREFIX:
+        return type.startsWith(prefix) && hasPart(type, prefix.length());
+      case ANY:
+        return type.isEmpty() || hasPart(type, 0);
+      default:
+        return matchesCached(type);
+    }
+  }
+
+  private boolean matchesCached(String type) {
+    Boolean cached = cache.get(type);
+    if (cached != null) return cached;
+
+    boolean matches = matchesParts(type.split(PathUtils.SEPARATOR));
+
+    if (cacheSize > 0) {
+      if (cache.size() >= cacheSize) cache.clear();
+      cache.put(type, matches);
+    }
+
+    return matches;
+  }
+
+  private boolean matchesParts(String[] t) {
+    String[] w = parts;
+
+    int i = 0;
+    for (int j = 0; j < w.length; j++) {
+      String wp = w[j];
+
+      if (i >= t.length) return false;
+
+      String tp = t[i];
+
+      if (wp.equals(tp) || wp.equals(ANY_PART)) {
+        i++;
+      } else {
+        if (wp.equals(ANY_PARTS)) {
+          if (j + 1 >= w.length) // This is the last part, so it must match the rest
+          return true;
+
+          String wpn = w[j + 1];
+          for (; i < t.length; i++) {
+            String tpn = t[i];
+
+            if (wpn.equals(tpn)) {
+              break;
+            }
+          }
+        } else {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  // True if there is anything other than separators from the given index, in which case splitting
+  // the type would give at least one (possibly empty) part from that index
+  private static boolean hasPart(String type, int from) {
+    int i = from;
+    while (i < type.length()) {
+      if (!type.startsWith(PathUtils.SEPARATOR, i)) return true;
+      i += PathUtils.SEPARATOR.length();
+    }
+
+    return false;
+  }
+
+  private static boolean isWildcard(String part) {
+    return part.equals(ANY_PART) || part.equals(ANY_PARTS);
+  }
+
+  private boolean allLiteral(int count) {
+    for (int i = 0; i < count; i++) {
+      if (isWildcard(parts[i])) return false;
+    }
+
+    return true;
+  }
+
+  private String join(int count) {
+    return String.join(PathUtils.SEPARATOR, Arrays.asList(parts).subList(0, count));
+  }
+
+  @Override
+  public String toString() {
+    return wildcard;
+  }
+}
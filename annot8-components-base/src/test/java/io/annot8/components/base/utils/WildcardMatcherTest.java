@@ -0,0 +1,126 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.base.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class WildcardMatcherTest {
+  @Test
+  public void testExact() {
+    WildcardMatcher matcher = WildcardMatcher.compile("entity/foo");
+
+    assertTrue(matcher.matches("entity/foo"));
+    assertTrue(matcher.matches("entity/foo/bar"));
+    assertFalse(matcher.matches("entity/food"));
+    assertFalse(matcher.matches("entity"));
+    assertFalse(matcher.matches("entity/bar"));
+  }
+
+  @Test
+  public void testPrefix() {
+    WildcardMatcher single = WildcardMatcher.compile("entity/*");
+    WildcardMatcher multiple = WildcardMatcher.compile("entity/**");
+
+    for (WildcardMatcher matcher : new WildcardMatcher[] {single, multiple}) {
+      assertTrue(matcher.matches("entity/foo"));
+      assertTrue(matcher.matches("entity/foo/bar"));
+      assertFalse(matcher.matches("entity"));
+      assertFalse(matcher.matches("entity/"));
+      assertFalse(matcher.matches("entityfoo/bar"));
+      assertFalse(matcher.matches("temporal/foo"));
+    }
+  }
+
+  @Test
+  public void testAny() {
+    WildcardMatcher matcher = WildcardMatcher.compile("**");
+
+    assertTrue(matcher.matches("entity"));
+    assertTrue(matcher.matches("entity/foo/bar"));
+    assertTrue(matcher.matches(""));
+  }
+
+  @Test
+  public void testGeneral() {
+    WildcardMatcher matcher = WildcardMatcher.compile("entity/**/baz");
+
+    assertTrue(matcher.matches("entity/foo/bar/baz"));
+    assertFalse(matcher.matches("entity/foo/bar"));
+
+    // Cached results should be the same
+    assertTrue(matcher.matches("entity/foo/bar/baz"));
+    assertFalse(matcher.matches("entity/foo/bar"));
+  }
+
+  @Test
+  public void testCacheSize() {
+    WildcardMatcher uncached = WildcardMatcher.compile("*/foo/*", 0);
+    WildcardMatcher small = WildcardMatcher.compile("*/foo/*", 2);
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(uncached.matches("entity/foo/" + i));
+      assertTrue(small.matches("entity/foo/" + i));
+      assertFalse(small.matches("entity/bar/" + i));
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> WildcardMatcher.compile("*", -1));
+  }
+
+  @Test
+  public void testSameAsSplitting() {
+    String[] parts = {"entity", "foo", "bar", "*", "**", ""};
+    Random random = new Random(0);
+
+    for (int i = 0; i < 20000; i++) {
+      String wildcard = randomPath(random, parts);
+      String type = randomPath(random, parts);
+
+      assertEquals(
+          matchesBySplitting(type, wildcard),
+          WildcardMatcher.compile(wildcard).matches(type),
+          () -> type + " against " + wildcard);
+    }
+  }
+
+  private static String randomPath(Random random, String[] parts) {
+    StringBuilder sb = new StringBuilder();
+
+    int length = random.nextInt(5);
+    for (int i = 0; i < length; i++) {
+      if (i > 0) sb.append('/');
+      sb.append(parts[random.nextInt(parts.length)]);
+    }
+
+    return sb.toString();
+  }
+
+  // The original implementation of TypeUtils.matchesWildcard
+  private static boolean matchesBySplitting(String type, String wildcard) {
+    String[] t = type.split("/");
+    String[] w = wildcard.split("/");
+
+    int i = 0;
+    for (int j = 0; j < w.length; j++) {
+      if (i >= t.length) return false;
+
+      if (w[j].equals(t[i]) || w[j].equals("*")) {
+        i++;
+      } else if (w[j].equals("**")) {
+        if (j + 1 >= w.length) return true;
+
+        for (; i < t.length; i++) {
+          if (w[j + 1].equals(t[i])) break;
+        }
+      } else {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
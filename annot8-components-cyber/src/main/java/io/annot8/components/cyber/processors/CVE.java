@@ -13,6 +13,7 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractRegexProcessor;
+import io.annot8.components.base.text.processors.RegexPrefilter;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.util.regex.Matcher;
@@ -37,6 +38,7 @@ public class CVE extends AbstractProcessorDescriptor<CVE.Processor, NoSettings>
   }
 
   public static class Processor extends AbstractRegexProcessor {
+    private static final RegexPrefilter PREFILTER = new RegexPrefilter(true, 0, 64, "CVE-");
 
     public Processor() {
 
@@ -46,6 +48,11 @@ public class CVE extends AbstractProcessorDescriptor<CVE.Processor, NoSettings>
           AnnotationTypes.ANNOTATION_TYPE_VULNERABILITY);
     }
 
+    @Override
+    protected RegexPrefilter prefilter() {
+      return PREFILTER;
+    }
+
     @Override
     protected void addProperties(Builder builder, Matcher m) {
       builder.withProperty("year", Integer.parseInt(m.group(1)));
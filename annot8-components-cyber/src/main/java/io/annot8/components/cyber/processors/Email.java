@@ -13,6 +13,7 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractRegexProcessor;
+import io.annot8.components.base.text.processors.RegexPrefilter;
 import io.annot8.conventions.AnnotationTypes;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,6 +37,10 @@ public class Email extends AbstractProcessorDescriptor<Email.Processor, NoSettin
   }
 
   public static class Processor extends AbstractRegexProcessor {
+    // Local parts and domains are limited to 64 and 255 characters respectively, although longer
+    // local parts are still found in full
+    private static final RegexPrefilter PREFILTER = new RegexPrefilter(true, 64, 255, "@");
+
     public Processor() {
       super(
           Pattern.compile("([A-Z0-9._%+-]+)@([A-Z0-9.-]+[.][A-Z]{2,6})", Pattern.CASE_INSENSITIVE),
@@ -43,6 +48,11 @@ public class Email extends AbstractProcessorDescriptor<Email.Processor, NoSettin
           AnnotationTypes.ANNOTATION_TYPE_EMAIL);
     }
 
+    @Override
+    protected RegexPrefilter prefilter() {
+      return PREFILTER;
+    }
+
     @Override
     protected void addProperties(Annotation.Builder builder, Matcher m) {
       builder.withProperty("username", m.group(1)).withProperty("domain", m.group(2));
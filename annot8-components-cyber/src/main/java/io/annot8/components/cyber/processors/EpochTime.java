@@ -52,6 +52,11 @@ public class EpochTime
       this.settings = settings;
     }
 
+    @Override
+    protected String requiredCharacters() {
+      return "0123456789";
+    }
+
     @Override
     protected boolean acceptMatch(Matcher m) {
       long l;
@@ -46,6 +46,11 @@ public class IPv4 extends AbstractProcessorDescriptor<IPv4.Processor, NoSettings
           AnnotationTypes.ANNOTATION_TYPE_IPADDRESS);
     }
 
+    @Override
+    protected String requiredCharacters() {
+      return ".";
+    }
+
     @Override
     protected void addProperties(Builder builder, Matcher m) {
       builder.withProperty(PropertyKeys.PROPERTY_KEY_VERSION, 4);
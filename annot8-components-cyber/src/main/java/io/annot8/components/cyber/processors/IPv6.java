@@ -46,6 +46,11 @@ public class IPv6 extends AbstractProcessorDescriptor<IPv6.Processor, NoSettings
           AnnotationTypes.ANNOTATION_TYPE_IPADDRESS);
     }
 
+    @Override
+    protected String requiredCharacters() {
+      return ":";
+    }
+
     @Override
     protected boolean acceptMatch(Matcher m) {
       return InetAddresses.isInetAddress(m.group());
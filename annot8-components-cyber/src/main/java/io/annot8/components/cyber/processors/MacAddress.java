@@ -49,6 +49,11 @@ public class MacAddress extends AbstractProcessorDescriptor<MacAddress.Processor
           AnnotationTypes.ANNOTATION_TYPE_MACADDRESS);
     }
 
+    @Override
+    protected String requiredCharacters() {
+      return "-:.";
+    }
+
     @Override
     protected void addProperties(Builder builder, Matcher m) {
       String norm = m.group(0).toUpperCase().replaceAll("[^0-9A-F]", "");
@@ -12,6 +12,7 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractRegexProcessor;
+import io.annot8.components.base.text.processors.RegexPrefilter;
 import io.annot8.conventions.AnnotationTypes;
 import jakarta.json.bind.annotation.JsonbCreator;
 import jakarta.json.bind.annotation.JsonbProperty;
@@ -47,9 +48,26 @@ public class Url extends AbstractProcessorDescriptor<Url.Processor, Url.Settings
         Pattern.compile(
             "\\b(?<!@)(http://www\\.|https://www\\.|http://|https://)?[a-z0-9]+([\\-.][a-z0-9]+)*\\.[a-z]{2,5}(:[0-9]{1,5})?([?/]\\S*)?\\b",
             Pattern.CASE_INSENSITIVE);
+    private static final RegexPrefilter STRICT_PREFILTER =
+        new RegexPrefilter(true, "https".length(), 2048, "://", "www");
+
+    private final boolean lenient;
 
     public Processor(boolean lenient) {
       super(lenient ? LENIENT_URL_PATTERN : URL_PATTERN, 0, AnnotationTypes.ANNOTATION_TYPE_URL);
+      this.lenient = lenient;
+    }
+
+    @Override
+    protected RegexPrefilter prefilter() {
+      // Strict URLs start with a scheme (followed by ://) or www, so we can search for those. The
+      // only literal in lenient URLs is the dot in the domain, which is too common to be useful.
+      return lenient ? null : STRICT_PREFILTER;
+    }
+
+    @Override
+    protected String requiredCharacters() {
+      return lenient ? "." : super.requiredCharacters();
     }
   }
 
@@ -53,4 +53,31 @@ public class EmailTest {
       assertEquals("example.com", props.get("domain"));
     }
   }
+
+  @Test
+  public void testLongUsername() throws Annot8Exception {
+    Email e = new Email();
+    Context c = new SimpleContext();
+
+    // Longer than the 64 characters allowed, but should still be found in full
+    String username = "averylongusername.".repeat(5);
+
+    try (Processor p = e.createComponent(c, NoSettings.getInstance())) {
+      Item item = new TestItem();
+
+      Text content =
+          item.createContent(TestStringContent.class)
+              .withData("Her e-mail address was " + username + "@example.com")
+              .save();
+
+      p.process(item);
+
+      List<Annotation> annotations = content.getAnnotations().getAll().collect(Collectors.toList());
+      assertEquals(1, annotations.size());
+
+      Annotation a = annotations.get(0);
+      assertEquals(username + "@example.com", a.getBounds().getData(content).get());
+      assertEquals(username, a.getProperties().getAll().get("username"));
+    }
+  }
 }
@@ -18,8 +18,8 @@ import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import org.ahocorasick.trie.Emit;
+import org.ahocorasick.trie.Trie;
 
 @ComponentName("Nationality")
 @ComponentDescription("Extract nationality demonyms, e.g. French, from text")
@@ -39,8 +39,8 @@ public class Nationality extends AbstractProcessorDescriptor<Nationality.Process
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private Map<String, Pattern> countryPatterns = new HashMap<>();
-    private Map<String, String> countryCodes = new HashMap<>();
+    private final Map<String, String> countryCodes = new HashMap<>();
+    private final Trie trie;
 
     public Processor() {
       JsonReader reader =
@@ -66,30 +66,32 @@ public class Nationality extends AbstractProcessorDescriptor<Nationality.Process
                 String countryCode = jo.getString("cca3");
 
                 if (countryDemonym.length() > 1) {
-                  Pattern p =
-                      Pattern.compile("\\b" + countryDemonym + "\\b", Pattern.CASE_INSENSITIVE);
-                  countryPatterns.put(countryDemonym, p);
                   countryCodes.put(countryDemonym, countryCode);
                 }
               });
+
+      // Search for all demonyms in a single pass, rather than a separate regex for each one
+      Trie.TrieBuilder builder = Trie.builder().onlyWholeWords().ignoreCase();
+      for (String countryDemonym : countryCodes.keySet()) {
+        builder = builder.addKeyword(countryDemonym);
+      }
+
+      trie = builder.build();
     }
 
     @Override
     protected void process(Text content) {
-      for (Map.Entry<String, Pattern> e : countryPatterns.entrySet()) {
-        Matcher m = e.getValue().matcher(content.getData());
-        String countryCode = countryCodes.get(e.getKey());
+      for (Emit emit : trie.parseText(content.getData())) {
+        String countryDemonym = emit.getKeyword();
 
-        while (m.find()) {
-          content
-              .getAnnotations()
-              .create()
-              .withType(AnnotationTypes.ANNOTATION_TYPE_NATIONALITY)
-              .withBounds(new SpanBounds(m.start(), m.end()))
-              .withProperty(PropertyKeys.PROPERTY_KEY_NATIONALITY, e.getKey())
-              .withProperty("countryCode", countryCode)
-              .save();
-        }
+        content
+            .getAnnotations()
+            .create()
+            .withType(AnnotationTypes.ANNOTATION_TYPE_NATIONALITY)
+            .withBounds(new SpanBounds(emit.getStart(), emit.getEnd() + 1))
+            .withProperty(PropertyKeys.PROPERTY_KEY_NATIONALITY, countryDemonym)
+            .withProperty("countryCode", countryCodes.get(countryDemonym))
+            .save();
       }
     }
   }
@@ -48,6 +48,11 @@ public class PlusCode extends AbstractProcessorDescriptor<PlusCode.Processor, No
           AnnotationTypes.ANNOTATION_TYPE_COORDINATE);
     }
 
+    @Override
+    protected String requiredCharacters() {
+      return "+";
+    }
+
     @Override
     protected boolean acceptMatch(Matcher m) {
       return OpenLocationCode.isValidCode(m.group()) && OpenLocationCode.isFullCode(m.group());
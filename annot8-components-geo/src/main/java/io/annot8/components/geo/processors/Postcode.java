@@ -54,6 +54,11 @@ public class Postcode extends AbstractProcessorDescriptor<Postcode.Processor, No
       initialisePostcodes();
     }
 
+    @Override
+    protected String requiredCharacters() {
+      return "0123456789";
+    }
+
     @Override
     public void addProperties(Annotation.Builder builder, Matcher m) {
       String cleanPostcode = m.group().replaceAll("\\h+", "");
@@ -10,6 +10,7 @@ open module io.annot8.components.geo {
   requires io.annot8.components.base.text;
   requires jakarta.json;
   requires io.annot8.components.gazetteers;
+  requires ahocorasick;
   requires uk.gov.dstl.geo.osgb;
   requires opencsv;
 
@@ -67,4 +67,30 @@ public class NationalityTest {
           "spanish", a3.getProperties().get(PropertyKeys.PROPERTY_KEY_NATIONALITY).get());
     }
   }
+
+  @Test
+  public void testOverlappingAndWholeWords() {
+    try (Processor p = new Nationality.Processor()) {
+
+      Item item = new TestItem();
+
+      Text content =
+          item.createContent(TestStringContent.class)
+              .withData("An Equatorial Guinean met a papua new guinean and an Irishman.")
+              .save();
+
+      p.process(item);
+
+      // Each demonym is matched wherever it appears as a whole word, even within a longer one
+      List<String> codes =
+          content
+              .getAnnotations()
+              .getAll()
+              .map(a -> (String) a.getProperties().get("countryCode").get())
+              .sorted()
+              .collect(Collectors.toList());
+
+      Assertions.assertEquals(List.of("GIN", "GIN", "GNQ", "PNG"), codes);
+    }
+  }
 }
@@ -18,6 +18,9 @@ import io.annot8.common.components.AbstractProcessor;
 import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -51,6 +54,11 @@ public class GroupByTypeAndValue
     }
 
     protected <D> void process(Content<D> content) {
+      D data = content.getData();
+      if (data instanceof CharSequence) {
+        processText(content, (CharSequence) data);
+        return;
+      }
 
       SetMultimap<TypeObjectPair, Annotation> map = HashMultimap.create();
 
@@ -77,6 +85,116 @@ public class GroupByTypeAndValue
               });
     }
 
+    /**
+     * Group annotations on text without creating a substring for each annotation.
+     *
+     * <p>The type and covered text of each annotation are hashed in place, and the hashes sorted
+     * together with the index of the annotation. Annotations which could have the same type and
+     * value are then next to each other, and are only grouped once their type and covered text have
+     * been checked to be equal.
+     */
+    private void processText(Content<?> content, CharSequence text) {
+      List<Annotation> annotations = new ArrayList<>();
+      List<SpanBounds> bounds = new ArrayList<>();
+
+      content
+          .getAnnotations()
+          .getByBounds(SpanBounds.class)
+          .forEach(
+              a -> {
+                SpanBounds sb = a.getBounds(SpanBounds.class).get();
+
+                // Annotations which don't cover any text can't be grouped
+                if (sb.getBegin() < 0 || sb.getEnd() > text.length() || sb.getBegin() > sb.getEnd())
+                  return;
+
+                annotations.add(a);
+                bounds.add(sb);
+              });
+
+      int n = annotations.size();
+      if (n < 2) return;
+
+      // Hash in the upper bits and the index in the lower bits
+      long[] keys = new long[n];
+      for (int i = 0; i < n; i++) {
+        long hash = hash(annotations.get(i).getType(), text, bounds.get(i));
+        keys[i] = (hash << 32) | i;
+      }
+      Arrays.sort(keys);
+
+      GroupStore groupStore = content.getItem().getGroups();
+
+      int start = 0;
+      while (start < n) {
+        int end = start + 1;
+        while (end < n && (keys[end] >>> 32) == (keys[start] >>> 32)) end++;
+
+        if (end - start > 1) createGroups(groupStore, text, annotations, bounds, keys, start, end);
+
+        start = end;
+      }
+    }
+
+    // Create groups from annotations with the same hash, checking for collisions
+    private void createGroups(
+        GroupStore groupStore,
+        CharSequence text,
+        List<Annotation> annotations,
+        List<SpanBounds> bounds,
+        long[] keys,
+        int start,
+        int end) {
+      boolean[] grouped = new boolean[end - start];
+
+      for (int i = start; i < end; i++) {
+        if (grouped[i - start]) continue;
+
+        int first = (int) keys[i];
+        List<Annotation> group = new ArrayList<>();
+        group.add(annotations.get(first));
+
+        for (int j = i + 1; j < end; j++) {
+          int other = (int) keys[j];
+          if (!grouped[j - start] && sameTypeAndValue(text, annotations, bounds, first, other)) {
+            group.add(annotations.get(other));
+            grouped[j - start] = true;
+          }
+        }
+
+        if (group.size() > 1) {
+          Group.Builder builder = groupStore.create().withType(TYPE);
+          group.forEach(a -> builder.withAnnotation(ROLE, a));
+          builder.save();
+        }
+      }
+    }
+
+    private static boolean sameTypeAndValue(
+        CharSequence text, List<Annotation> annotations, List<SpanBounds> bounds, int i, int j) {
+      if (!Objects.equals(annotations.get(i).getType(), annotations.get(j).getType())) return false;
+
+      SpanBounds b1 = bounds.get(i);
+      SpanBounds b2 = bounds.get(j);
+      if (b1.getLength() != b2.getLength()) return false;
+
+      for (int k = 0; k < b1.getLength(); k++) {
+        if (text.charAt(b1.getBegin() + k) != text.charAt(b2.getBegin() + k)) return false;
+      }
+
+      return true;
+    }
+
+    private static long hash(String type, CharSequence text, SpanBounds bounds) {
+      int h = Objects.hashCode(type);
+      for (int i = bounds.getBegin(); i < bounds.getEnd(); i++) {
+        h = 31 * h + text.charAt(i);
+      }
+
+      // Only the lower 32 bits are used
+      return h & 0xFFFFFFFFL;
+    }
+
     private class TypeObjectPair {
       private final String type;
       private final Object object;
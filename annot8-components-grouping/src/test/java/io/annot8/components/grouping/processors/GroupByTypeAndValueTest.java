@@ -0,0 +1,64 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.grouping.processors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.annot8.api.annotations.Group;
+import io.annot8.api.components.Processor;
+import io.annot8.api.data.Item;
+import io.annot8.common.data.bounds.SpanBounds;
+import io.annot8.testing.testimpl.TestItem;
+import io.annot8.testing.testimpl.content.TestStringContent;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class GroupByTypeAndValueTest {
+  @Test
+  public void test() {
+    Item item = new TestItem();
+
+    TestStringContent c =
+        item.createContent(TestStringContent.class)
+            .withData("Alice met Bob. Alice and Bob met alice in Alice Springs.")
+            .save();
+
+    c.getAnnotations().create().withType("person").withBounds(new SpanBounds(0, 5)).save();
+    c.getAnnotations().create().withType("person").withBounds(new SpanBounds(10, 13)).save();
+    c.getAnnotations().create().withType("person").withBounds(new SpanBounds(15, 20)).save();
+    c.getAnnotations().create().withType("person").withBounds(new SpanBounds(25, 28)).save();
+    c.getAnnotations().create().withType("person").withBounds(new SpanBounds(33, 38)).save();
+    c.getAnnotations().create().withType("location").withBounds(new SpanBounds(42, 47)).save();
+
+    // Out of range, so doesn't cover any text
+    c.getAnnotations().create().withType("person").withBounds(new SpanBounds(50, 100)).save();
+
+    Processor p = new GroupByTypeAndValue.Processor();
+    p.process(item);
+
+    List<Group> groups = item.getGroups().getAll().collect(Collectors.toList());
+    assertEquals(2, groups.size());
+
+    Set<String> values =
+        groups.stream()
+            .map(
+                g -> {
+                  assertEquals(GroupByTypeAndValue.Processor.TYPE, g.getType());
+
+                  List<String> covered =
+                      g.getAnnotationsForContent(c)
+                          .map(a -> a.getBounds().getData(c).get())
+                          .collect(Collectors.toList());
+                  assertEquals(2, covered.size());
+                  assertEquals(covered.get(0), covered.get(1));
+
+                  return covered.get(0);
+                })
+            .collect(Collectors.toSet());
+
+    assertTrue(values.contains("Alice"));
+    assertTrue(values.contains("Bob"));
+  }
+}
@@ -16,9 +16,11 @@ import io.annot8.api.settings.Description;
 import io.annot8.common.components.AbstractProcessor;
 import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
-import io.annot8.components.base.utils.TypeUtils;
+import io.annot8.components.base.utils.WildcardMatcher;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @ComponentName("Filter Groups by Type")
@@ -47,9 +49,14 @@ public class FilterGroupsByType
 
   public static class Processor extends AbstractProcessor {
     private final List<String> types;
+    private final Map<String, WildcardMatcher> wildcards = new HashMap<>();
 
     public Processor(List<String> types) {
       this.types = types;
+
+      for (String type : types) {
+        if (type.contains("*")) wildcards.put(type, WildcardMatcher.compile(type));
+      }
     }
 
     @Override
@@ -73,12 +80,13 @@ public class FilterGroupsByType
       return ProcessorResponse.ok();
     }
 
-    private static List<Group> getGroups(Item item, String type) {
-      if (type.contains("*")) {
+    private List<Group> getGroups(Item item, String type) {
+      WildcardMatcher wildcard = wildcards.get(type);
+      if (wildcard != null) {
         // Wildcard, so we need to loop through everything
         return item.getGroups()
             .getAll()
-            .filter(g -> TypeUtils.matchesWildcard(g.getType(), type))
+            .filter(g -> wildcard.matches(g.getType()))
             .collect(Collectors.toList());
       } else {
         // No wildcard, so use the exact type to quickly get group
@@ -5,25 +5,30 @@ import io.annot8.api.capabilities.Capabilities;
 import io.annot8.api.components.annotations.ComponentDescription;
 import io.annot8.api.components.annotations.ComponentName;
 import io.annot8.api.components.annotations.ComponentTags;
+import io.annot8.api.components.annotations.SettingsClass;
 import io.annot8.api.components.responses.ProcessorResponse;
 import io.annot8.api.context.Context;
 import io.annot8.api.data.Item;
-import io.annot8.api.settings.NoSettings;
+import io.annot8.api.settings.Description;
 import io.annot8.common.components.AbstractProcessor;
 import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.content.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @ComponentName("Filter Blank Images")
 @ComponentDescription("Filter images where all pixels are the same colour")
 @ComponentTags({"image", "filter"})
+@SettingsClass(FilterBlankImages.Settings.class)
 public class FilterBlankImages
-    extends AbstractProcessorDescriptor<FilterBlankImages.Processor, NoSettings> {
+    extends AbstractProcessorDescriptor<FilterBlankImages.Processor, FilterBlankImages.Settings> {
   @Override
-  protected Processor createComponent(Context context, NoSettings settings) {
-    return new Processor();
+  protected Processor createComponent(Context context, Settings settings) {
+    return new Processor(settings);
   }
 
   @Override
@@ -33,27 +38,130 @@ public class FilterBlankImages
 
   public static class Processor extends AbstractProcessor {
 
+    private final Settings settings;
+
+    public Processor() {
+      this(new Settings());
+    }
+
+    public Processor(Settings settings) {
+      this.settings = settings;
+    }
+
     @Override
     public ProcessorResponse process(Item item) {
       List<Image> toRemove =
           item.getContents(Image.class)
-              .filter(
-                  i -> {
-                    int colour = i.getData().getRGB(0, 0);
-
-                    for (int x = 0; x < i.getWidth(); x++) {
-                      for (int y = 0; y < i.getHeight(); y++) {
-                        if (colour != i.getData().getRGB(x, y)) return false;
-                      }
-                    }
-
-                    return true;
-                  })
+              .filter(i -> isBlank(i.getData(), settings.getSampleStride()))
               .collect(Collectors.toList());
 
       for (Image i : toRemove) item.removeContent(i);
 
       return ProcessorResponse.ok();
     }
+
+    /**
+     * Returns true if every sampled pixel of the image is the same colour as the top left pixel.
+     *
+     * <p>The image is scanned a row at a time, stopping at the first pixel which is a different
+     * colour. For the common image types, the raw pixel data is compared directly, as two pixels
+     * have the same colour if and only if they have the same data. For other image types, the
+     * pixels are converted to RGB a row at a time.
+     *
+     * @param stride Only every nth pixel of every nth row is sampled
+     */
+    static boolean isBlank(BufferedImage image, int stride) {
+      switch (image.getType()) {
+        case BufferedImage.TYPE_INT_RGB:
+        case BufferedImage.TYPE_INT_BGR:
+          // The upper byte isn't used by these types
+          return isBlankInt(image.getRaster(), stride, 0x00FFFFFF);
+        case BufferedImage.TYPE_INT_ARGB:
+          return isBlankInt(image.getRaster(), stride, 0xFFFFFFFF);
+        case BufferedImage.TYPE_3BYTE_BGR:
+        case BufferedImage.TYPE_4BYTE_ABGR:
+          return isBlankByte(image.getRaster(), stride);
+        default:
+          return isBlankRgb(image, stride);
+      }
+    }
+
+    private static boolean isBlankInt(Raster raster, int stride, int mask) {
+      int width = raster.getWidth();
+      int[] row = new int[width];
+
+      raster.getDataElements(0, 0, 1, 1, row);
+      int first = row[0] & mask;
+
+      for (int y = 0; y < raster.getHeight(); y += stride) {
+        raster.getDataElements(0, y, width, 1, row);
+
+        for (int x = 0; x < width; x += stride) {
+          if ((row[x] & mask) != first) return false;
+        }
+      }
+
+      return true;
+    }
+
+    private static boolean isBlankByte(Raster raster, int stride) {
+      int width = raster.getWidth();
+      int elements = raster.getNumDataElements();
+      byte[] row = new byte[width * elements];
+
+      raster.getDataElements(0, 0, 1, 1, row);
+      byte[] first = Arrays.copyOf(row, elements);
+
+      for (int y = 0; y < raster.getHeight(); y += stride) {
+        raster.getDataElements(0, y, width, 1, row);
+
+        for (int x = 0; x < width; x += stride) {
+          int offset = x * elements;
+          for (int e = 0; e < elements; e++) {
+            if (row[offset + e] != first[e]) return false;
+          }
+        }
+      }
+
+      return true;
+    }
+
+    private static boolean isBlankRgb(BufferedImage image, int stride) {
+      int width = image.getWidth();
+      int[] row = new int[width];
+
+      int first = image.getRGB(0, 0);
+
+      for (int y = 0; y < image.getHeight(); y += stride) {
+        image.getRGB(0, y, width, 1, row, 0, width);
+
+        for (int x = 0; x < width; x += stride) {
+          if (row[x] != first) return false;
+        }
+      }
+
+      return true;
+    }
+  }
+
+  public static class Settings implements io.annot8.api.settings.Settings {
+    private int sampleStride = 1;
+
+    @Override
+    public boolean validate() {
+      return sampleStride >= 1;
+    }
+
+    @Description(
+        value =
+            "Only check every nth pixel of every nth row. Values greater than 1 are faster on large images, but images with small details may be treated as blank.",
+        defaultValue = "1")
+    public int getSampleStride() {
+      return sampleStride;
+    }
+
+    public void setSampleStride(int sampleStride) {
+      this.sampleStride = sampleStride;
+    }
   }
 }
@@ -16,9 +16,12 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.content.Image;
 import io.annot8.common.data.properties.EmptyImmutableProperties;
+import java.awt.Transparency;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.IndexColorModel;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -58,13 +61,8 @@ public class FlipRotateScaleImage
 
       originalImages.forEach(
           image -> {
-
-            // TODO: Probably faster to do as many as possible of these in a single transform
             BufferedImage img =
-                clipImage(
-                    rotateImage(scaleImage(flipImage(image.getData()))),
-                    image.getWidth(),
-                    image.getHeight());
+                clipImage(transformImage(image.getData()), image.getWidth(), image.getHeight());
 
             Properties props;
             if (settings.isCopyProperties()) {
@@ -96,63 +94,96 @@ public class FlipRotateScaleImage
       return ProcessorResponse.ok();
     }
 
-    private BufferedImage flipImage(BufferedImage input) {
-      if (!settings.isFlipHorizontal() && !settings.isFlipVertical()) return input;
+    /**
+     * Flip, scale and then rotate the image. The three steps are composed into a single transform,
+     * so that the image is only resampled once and no intermediate images are created.
+     */
+    private BufferedImage transformImage(BufferedImage input) {
+      boolean flip = settings.isFlipHorizontal() || settings.isFlipVertical();
+      boolean scale = settings.getScale() != 1.0 && settings.getScale() > 0.0;
+      boolean rotate = settings.getRotate() % 360 != 0;
 
-      AffineTransform flipTransform = new AffineTransform();
+      if (!flip && !scale && !rotate) return input;
 
-      if (settings.isFlipHorizontal()) {
-        flipTransform.scale(-1.0, 1.0);
-        flipTransform.translate(-input.getWidth(), 0.0);
-      }
+      // Transforms are concatenated, so are added in the reverse order to which they're applied
+      AffineTransform transform = new AffineTransform();
 
-      if (settings.isFlipVertical()) {
-        flipTransform.scale(1.0, -1.0);
-        flipTransform.translate(0.0, -input.getHeight());
+      int width = input.getWidth();
+      int height = input.getHeight();
+      if (scale) {
+        width = (int) Math.ceil(width * settings.getScale());
+        height = (int) Math.ceil(height * settings.getScale());
       }
 
-      AffineTransformOp ato = new AffineTransformOp(flipTransform, AffineTransformOp.TYPE_BILINEAR);
-      return ato.filter(input, null);
-    }
-
-    private BufferedImage scaleImage(BufferedImage input) {
-      if (settings.getScale() == 1.0 || settings.getScale() <= 0.0) return input;
+      if (rotate) {
+        double rad = Math.toRadians(settings.getRotate());
+        double rotatedHeight = Math.abs(width * Math.sin(rad)) + Math.abs(height * Math.cos(rad));
+        double rotatedWidth = Math.abs(width * Math.cos(rad)) + Math.abs(height * Math.sin(rad));
 
-      AffineTransform scaleTransform =
-          AffineTransform.getScaleInstance(settings.getScale(), settings.getScale());
-      AffineTransformOp ato =
-          new AffineTransformOp(scaleTransform, AffineTransformOp.TYPE_BILINEAR);
-      return ato.filter(input, null);
-    }
+        transform.translate((rotatedWidth - width) / 2.0, (rotatedHeight - height) / 2.0);
 
-    private BufferedImage rotateImage(BufferedImage input) {
-      if (settings.getRotate() % 360 == 0) return input;
+        if (settings.getRotate() % 90.0 == 0) {
+          transform.quadrantRotate((int) (settings.getRotate() / 90), width / 2.0, height / 2.0);
+        } else {
+          transform.rotate(rad, width / 2.0, height / 2.0);
+        }
 
-      AffineTransform transform = new AffineTransform();
+        width = (int) rotatedWidth;
+        height = (int) rotatedHeight;
+      }
 
-      double rad = Math.toRadians(settings.getRotate());
-      double height =
-          Math.abs(input.getWidth() * Math.sin(rad)) + Math.abs(input.getHeight() * Math.cos(rad));
-      double width =
-          Math.abs(input.getWidth() * Math.cos(rad)) + Math.abs(input.getHeight() * Math.sin(rad));
+      if (scale) {
+        transform.scale(settings.getScale(), settings.getScale());
+      }
 
-      transform.translate((width - input.getWidth()) / 2.0, (height - input.getHeight()) / 2.0);
+      if (settings.isFlipHorizontal()) {
+        transform.scale(-1.0, 1.0);
+        transform.translate(-input.getWidth(), 0.0);
+      }
 
-      if (settings.getRotate() % 90.0 == 0) {
-        transform.quadrantRotate(
-            (int) (settings.getRotate() / 90), input.getWidth() / 2.0, input.getHeight() / 2.0);
-      } else if (settings.getRotate() != 0.0) {
-        transform.rotate(rad, input.getWidth() / 2.0, input.getHeight() / 2.0);
+      if (settings.isFlipVertical()) {
+        transform.scale(1.0, -1.0);
+        transform.translate(0.0, -input.getHeight());
       }
 
-      BufferedImage dest = new BufferedImage((int) width, (int) height, input.getType());
+      // Flips and rotations by a multiple of 90 degrees map pixels exactly onto pixels, so there is
+      // no need to interpolate between them
+      int interpolation =
+          !scale && settings.getRotate() % 90.0 == 0
+              ? AffineTransformOp.TYPE_NEAREST_NEIGHBOR
+              : AffineTransformOp.TYPE_BILINEAR;
+
+      BufferedImage dest;
+      if (flip || scale) {
+        dest = createCompatibleImage(input, width, height);
+      } else {
+        dest = new BufferedImage(width, height, input.getType());
+      }
 
-      AffineTransformOp ato = new AffineTransformOp(transform, AffineTransformOp.TYPE_BILINEAR);
+      AffineTransformOp ato = new AffineTransformOp(transform, interpolation);
       ato.filter(input, dest);
 
       return dest;
     }
 
+    /**
+     * Create an image of the same type that {@link AffineTransformOp} creates when filtering with
+     * bilinear interpolation, so that the type of the output image doesn't depend on the
+     * interpolation used
+     */
+    private static BufferedImage createCompatibleImage(BufferedImage input, int width, int height) {
+      ColorModel cm = input.getColorModel();
+      if (cm instanceof IndexColorModel || cm.getTransparency() == Transparency.OPAQUE) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      }
+
+      return new BufferedImage(
+          cm,
+          input.getRaster().createCompatibleWritableRaster(width, height),
+          cm.isAlphaPremultiplied(),
+          null);
+    }
+
     private BufferedImage clipImage(BufferedImage input, int width, int height) {
       if (!settings.isClipImage()) return input;
 
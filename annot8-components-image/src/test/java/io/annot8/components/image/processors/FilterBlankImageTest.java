@@ -2,6 +2,8 @@
 package io.annot8.components.image.processors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.annot8.api.data.Item;
 import io.annot8.common.data.content.Image;
@@ -43,4 +45,41 @@ public class FilterBlankImageTest {
     Image image = images.get(0);
     assertEquals("Test Image", image.getDescription());
   }
+
+  @Test
+  public void testImageTypes() {
+    int[] types = {
+      BufferedImage.TYPE_INT_RGB,
+      BufferedImage.TYPE_INT_ARGB,
+      BufferedImage.TYPE_3BYTE_BGR,
+      BufferedImage.TYPE_4BYTE_ABGR,
+      BufferedImage.TYPE_BYTE_GRAY
+    };
+
+    for (int type : types) {
+      BufferedImage image = new BufferedImage(200, 100, type);
+      assertTrue(FilterBlankImages.Processor.isBlank(image, 1));
+
+      // Only the last pixel is different
+      image.setRGB(199, 99, 0xFFFFFFFF);
+      assertFalse(FilterBlankImages.Processor.isBlank(image, 1));
+    }
+  }
+
+  @Test
+  public void testSampleStride() {
+    BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+    image.setRGB(5, 5, 0xFFFFFFFF);
+
+    assertFalse(FilterBlankImages.Processor.isBlank(image, 1));
+    assertFalse(FilterBlankImages.Processor.isBlank(image, 5));
+
+    // The different pixel isn't sampled
+    assertTrue(FilterBlankImages.Processor.isBlank(image, 4));
+
+    FilterBlankImages.Settings settings = new FilterBlankImages.Settings();
+    assertTrue(settings.validate());
+    settings.setSampleStride(0);
+    assertFalse(settings.validate());
+  }
 }
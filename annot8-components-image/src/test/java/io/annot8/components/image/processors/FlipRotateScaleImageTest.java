@@ -395,4 +395,31 @@ public class FlipRotateScaleImageTest {
       }
     }
   }
+
+  @Test
+  public void testFlipRotate90Scale2() throws Exception {
+    FlipRotateScaleImage.Settings s = new FlipRotateScaleImage.Settings();
+    s.setScale(2.0);
+    s.setFlipHorizontal(true);
+    s.setRotate(90.0);
+    s.setDiscardOriginal(true);
+
+    Item item = new TestItem();
+    item.createContent(Image.class)
+        .withData(
+            ImageIO.read(
+                FlipRotateScaleImageTest.class.getClassLoader().getResourceAsStream("quads.png")))
+        .save();
+
+    FlipRotateScaleImage.Processor p = new FlipRotateScaleImage.Processor(s);
+
+    p.process(item);
+
+    assertEquals(1, item.getContents(Image.class).count());
+
+    BufferedImage img = item.getContents(Image.class).findFirst().orElseThrow().getData();
+    assertEquals(200, img.getWidth());
+    assertEquals(200, img.getHeight());
+    testQuads(img, Color.BLUE, Color.GREEN, Color.WHITE, Color.RED);
+  }
 }
@@ -21,9 +21,11 @@ import java.awt.image.BufferedImage;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import org.opencv.core.Core;
 import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfFloat;
@@ -79,50 +81,80 @@ public class TextDetection
       // Snapshot the Image content, so we don't recursively end up processing images
       List<Image> images = item.getContents(Image.class).collect(Collectors.toList());
 
-      images.forEach(
-          img -> {
-            try {
-              // Process image
-              log().debug("Processing image {}", img.getId());
-
-              long start = System.currentTimeMillis();
-              processImage(item, img);
-              metrics()
-                  .timer("processImage")
-                  .record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-              exceptions.add(e);
-              return;
-            }
+      int batchSize = Math.max(1, settings.getBatchSize());
+      for (int i = 0; i < images.size(); i += batchSize) {
+        List<Image> batch = images.subList(i, Math.min(i + batchSize, images.size()));
+
+        List<Image> processed;
+        try {
+          // Process batch of images
+          log().debug("Processing batch of {} images", batch.size());
+
+          long start = System.currentTimeMillis();
+          processed = processBatch(item, batch, exceptions);
+          metrics()
+              .timer("processBatch")
+              .record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+          exceptions.add(e);
+          continue;
+        }
 
-            // Discard original according to settings
-            if (settings.isDiscardOriginal()) {
-              log().debug("Discarding image {}", img.getId());
-              item.removeContent(img);
-            }
-          });
+        // Discard original according to settings
+        if (settings.isDiscardOriginal()) {
+          for (Image img : processed) {
+            log().debug("Discarding image {}", img.getId());
+            item.removeContent(img);
+          }
+        }
+      }
 
       if (exceptions.isEmpty()) return ProcessorResponse.ok();
 
       return ProcessorResponse.itemError(exceptions);
     }
 
-    private void processImage(Item item, Image img) throws Exception {
+    /**
+     * Pass a batch of images through EAST together, and then output the results for each image.
+     * Exceptions when converting or outputting an image are added to the list of exceptions, and
+     * the image isn't included in the returned list of successfully processed images.
+     */
+    private List<Image> processBatch(Item item, List<Image> batch, List<Exception> exceptions) {
       // Based on code from: https://gist.github.com/berak/788da80d1dd5bade3f878210f45d6742
       long start = System.currentTimeMillis();
 
-      Mat frame = OpenCVUtils.bufferedImageToMat(img.getData());
+      // Convert to 3-channel BGR, skipping any images that can't be converted so that they don't
+      // stop the rest of the batch from being processed
+      List<Image> converted = new ArrayList<>(batch.size());
+      List<Mat> frames = new ArrayList<>(batch.size());
+      List<Scalar> means = new ArrayList<>(batch.size());
+      for (Image img : batch) {
+        Mat frame;
+        Scalar mean;
+        try {
+          frame = OpenCVUtils.bufferedImageToMat(img.getData());
+
+          // Calculate mean RGB values
+          mean = OpenCVUtils.meanRGB(frame);
+        } catch (Exception e) {
+          exceptions.add(e);
+          continue;
+        }
 
-      // Convert to 3-channel RGB
-      Imgproc.cvtColor(frame, frame, Imgproc.COLOR_RGBA2RGB);
+        converted.add(img);
+        frames.add(frame);
+        means.add(mean);
+      }
 
-      // Calculate mean RGB values
-      Scalar meanRGB = OpenCVUtils.meanRGB(img.getData());
+      if (converted.isEmpty()) return Collections.emptyList();
 
-      // Convert to blob
+      // Convert to blob, subtracting the mean of each image separately as blobFromImages can only
+      // subtract a single mean from every image
       Size size = new Size(settings.getSize(), settings.getSize());
       int height = (int) (size.height / 4);
-      Mat blob = Dnn.blobFromImage(frame, 1.0, size, meanRGB, true, false);
+      int width = (int) (size.width / 4);
+      Mat blob = Dnn.blobFromImages(frames, 1.0, size, new Scalar(0, 0, 0), true, false);
+      subtractMeans(blob, means);
 
       long end = System.currentTimeMillis();
       metrics().timer("preprocessing").record(end - start, TimeUnit.MILLISECONDS);
@@ -136,16 +168,70 @@ public class TextDetection
       outNames.add("feature_fusion/concat_3");
       eastNet.forward(outs, outNames);
 
+      // Read the outputs for the whole batch into arrays, rather than element by element
+      float[] scores = readOutput(outs.get(0));
+      float[] geometry = readOutput(outs.get(1));
+
       end = System.currentTimeMillis();
       metrics().timer("east").record(end - start, TimeUnit.MILLISECONDS);
-      start = end;
+
+      List<Image> processed = new ArrayList<>(converted.size());
+      for (int i = 0; i < converted.size(); i++) {
+        Image img = converted.get(i);
+        try {
+          processImage(item, img, frames.get(i), size, scores, geometry, i, width, height);
+          processed.add(img);
+        } catch (Exception e) {
+          exceptions.add(e);
+        }
+      }
+
+      return processed;
+    }
+
+    // Read all of a (continuous) network output into an array, in the same order as its elements
+    static float[] readOutput(Mat output) {
+      float[] data = new float[(int) output.total()];
+      output.reshape(1, 1).get(0, 0, data);
+      return data;
+    }
+
+    // Subtract the mean of each image from each of its channels in the blob (N x 3 x H x W)
+    static void subtractMeans(Mat blob, List<Scalar> means) {
+      Mat planes = blob.reshape(1, means.size() * 3);
+
+      for (int i = 0; i < means.size(); i++) {
+        for (int c = 0; c < 3; c++) {
+          Mat plane = planes.row(i * 3 + c);
+          Core.subtract(plane, new Scalar(means.get(i).val[c]), plane);
+        }
+      }
+    }
+
+    private void processImage(
+        Item item,
+        Image img,
+        Mat frame,
+        Size size,
+        float[] scores,
+        float[] geometry,
+        int index,
+        int width,
+        int height)
+        throws Exception {
+      long start = System.currentTimeMillis();
 
       // Read results from EAST, and decode into RotatedRect
-      Mat scores = outs.get(0).reshape(1, height);
-      Mat geometry = outs.get(1).reshape(1, 5 * height);
       List<Float> confidencesList = new ArrayList<>();
       List<RotatedRect> boxesList =
-          decode(scores, geometry, confidencesList, settings.getScoreThreshold());
+          decode(
+              scores,
+              geometry,
+              index,
+              width,
+              height,
+              confidencesList,
+              settings.getScoreThreshold());
 
       if (boxesList.isEmpty()) {
         log().debug("No text found in image {}", img.getId());
@@ -169,7 +255,7 @@ public class TextDetection
 
       log().debug("{} text segments found in image {}", rotatedRects.size(), img.getId());
 
-      end = System.currentTimeMillis();
+      long end = System.currentTimeMillis();
       metrics().timer("decode").record(end - start, TimeUnit.MILLISECONDS);
       start = end;
 
@@ -326,32 +412,40 @@ public class TextDetection
       return rotated;
     }
 
-    private static List<RotatedRect> decode(
-        Mat scores, Mat geometry, List<Float> confidences, float scoreThreshold) {
-      int width = geometry.cols();
-      int height = geometry.rows() / 5;
+    /**
+     * Decode the EAST output for a single image in the batch. The scores are N x 1 x H x W and the
+     * geometry is N x 5 x H x W, where N is the batch size.
+     */
+    static List<RotatedRect> decode(
+        float[] scores,
+        float[] geometry,
+        int index,
+        int width,
+        int height,
+        List<Float> confidences,
+        float scoreThreshold) {
+      int plane = width * height;
+      int scoresOffset = index * plane;
+      int geometryOffset = index * 5 * plane;
 
       List<RotatedRect> detections = new ArrayList<>();
       for (int y = 0; y < height; ++y) {
-        Mat scoresData = scores.row(y);
-        Mat x0Data = geometry.submat(0, height, 0, width).row(y);
-        Mat x1Data = geometry.submat(height, 2 * height, 0, width).row(y);
-        Mat x2Data = geometry.submat(2 * height, 3 * height, 0, width).row(y);
-        Mat x3Data = geometry.submat(3 * height, 4 * height, 0, width).row(y);
-        Mat anglesData = geometry.submat(4 * height, 5 * height, 0, width).row(y);
-
         for (int x = 0; x < width; ++x) {
-          double score = scoresData.get(0, x)[0];
+          int i = y * width + x;
+
+          double score = scores[scoresOffset + i];
           if (score >= scoreThreshold) {
+            int g = geometryOffset + i;
+
             double offsetX = x * 4.0;
             double offsetY = y * 4.0;
-            double angle = anglesData.get(0, x)[0];
+            double angle = geometry[g + 4 * plane];
             double cosA = Math.cos(angle);
             double sinA = Math.sin(angle);
-            double x0 = x0Data.get(0, x)[0];
-            double x1 = x1Data.get(0, x)[0];
-            double x2 = x2Data.get(0, x)[0];
-            double x3 = x3Data.get(0, x)[0];
+            double x0 = geometry[g];
+            double x1 = geometry[g + plane];
+            double x2 = geometry[g + 2 * plane];
+            double x3 = geometry[g + 3 * plane];
             double h = x0 + x2;
             double w = x1 + x3;
             Point offset =
@@ -380,10 +474,11 @@ public class TextDetection
     private Path eastModel;
     private OutputMode outputMode = OutputMode.MASK;
     private int padding = 0;
+    private int batchSize = 1;
 
     @Override
     public boolean validate() {
-      return true;
+      return batchSize >= 1;
     }
 
     @Description("Should the original Content be discarded when an image is extracted?")
@@ -448,6 +543,18 @@ public class TextDetection
     public void setPadding(int padding) {
       this.padding = padding;
     }
+
+    @Description(
+        value =
+            "The number of images to pass through the EAST model at once. Larger batches are faster on multi-image items, but use more memory.",
+        defaultValue = "1")
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
   }
 
   public enum OutputMode {
@@ -1,12 +1,16 @@
 /* Annot8 (annot8.io) - Licensed under Apache-2.0. */
 package io.annot8.components.opencv.utils;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import javax.imageio.ImageIO;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfByte;
 import org.opencv.core.Point;
@@ -42,38 +46,116 @@ public class OpenCVUtils {
     return vertices;
   }
 
-  public static Mat bufferedImageToMat(BufferedImage image) throws IOException {
-    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-    ImageIO.write(image, "png", byteArrayOutputStream);
-    byteArrayOutputStream.flush();
-    return Imgcodecs.imdecode(
-        new MatOfByte(byteArrayOutputStream.toByteArray()), Imgcodecs.IMREAD_UNCHANGED);
+  /**
+   * Convert a BufferedImage into a 3 channel (BGR) Mat. Any alpha channel is discarded.
+   *
+   * <p>Images of type {@link BufferedImage#TYPE_3BYTE_BGR} already have the same layout as the Mat,
+   * so their data is copied directly. Other images are converted to BGR a row at a time.
+   */
+  public static Mat bufferedImageToMat(BufferedImage image) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+
+    Mat mat = new Mat(height, width, CvType.CV_8UC3);
+
+    byte[] data = bgrData(image);
+    if (data == null) {
+      data = new byte[width * height * 3];
+
+      int[] row = new int[width];
+      int i = 0;
+      for (int y = 0; y < height; y++) {
+        image.getRGB(0, y, width, 1, row, 0, width);
+
+        for (int x = 0; x < width; x++) {
+          int rgb = row[x];
+          data[i++] = (byte) rgb;
+          data[i++] = (byte) (rgb >> 8);
+          data[i++] = (byte) (rgb >> 16);
+        }
+      }
+    }
+
+    mat.put(0, 0, data);
+    return mat;
   }
 
+  // Returns the underlying data if the image is stored as tightly packed BGR bytes, or null
+  private static byte[] bgrData(BufferedImage image) {
+    if (image.getType() != BufferedImage.TYPE_3BYTE_BGR) return null;
+
+    WritableRaster raster = image.getRaster();
+    if (raster.getParent() != null
+        || raster.getSampleModelTranslateX() != 0
+        || raster.getSampleModelTranslateY() != 0
+        || !(raster.getSampleModel() instanceof PixelInterleavedSampleModel)
+        || !(raster.getDataBuffer() instanceof DataBufferByte)) return null;
+
+    PixelInterleavedSampleModel sm = (PixelInterleavedSampleModel) raster.getSampleModel();
+    if (sm.getPixelStride() != 3
+        || sm.getScanlineStride() != image.getWidth() * 3
+        || !Arrays.equals(sm.getBandOffsets(), new int[] {2, 1, 0})) return null;
+
+    byte[] data = ((DataBufferByte) raster.getDataBuffer()).getData();
+    if (data.length != image.getWidth() * image.getHeight() * 3) return null;
+
+    return data;
+  }
+
+  /**
+   * Convert a Mat into a BufferedImage. Single channel and BGR Mats of bytes are copied directly,
+   * other Mats are converted via PNG.
+   */
   public static BufferedImage matToBufferedImage(Mat matrix) throws IOException {
-    MatOfByte mob = new MatOfByte();
-    Imgcodecs.imencode(".png", matrix, mob);
-    return ImageIO.read(new ByteArrayInputStream(mob.toArray()));
+    int type;
+    if (matrix.type() == CvType.CV_8UC3) {
+      type = BufferedImage.TYPE_3BYTE_BGR;
+    } else if (matrix.type() == CvType.CV_8UC1) {
+      type = BufferedImage.TYPE_BYTE_GRAY;
+    } else {
+      MatOfByte mob = new MatOfByte();
+      Imgcodecs.imencode(".png", matrix, mob);
+      return ImageIO.read(new ByteArrayInputStream(mob.toArray()));
+    }
+
+    Mat continuous = matrix.isContinuous() ? matrix : matrix.clone();
+
+    BufferedImage image = new BufferedImage(continuous.cols(), continuous.rows(), type);
+    continuous.get(0, 0, ((DataBufferByte) image.getRaster().getDataBuffer()).getData());
+
+    return image;
   }
 
+  /** Calculate the mean red, green and blue values of an image */
   public static Scalar meanRGB(BufferedImage img) {
-    double meanRed = 0.0;
-    double meanGreen = 0.0;
-    double meanBlue = 0.0;
-
-    for (int y = 0; y < img.getHeight(); ++y) {
-      for (int x = 0; x < img.getWidth(); ++x) {
-        Color r = new Color(img.getRGB(x, y));
-        meanRed += r.getRed();
-        meanGreen += r.getGreen();
-        meanBlue += r.getBlue();
+    int width = img.getWidth();
+    int height = img.getHeight();
+
+    long red = 0;
+    long green = 0;
+    long blue = 0;
+
+    int[] row = new int[width];
+    for (int y = 0; y < height; y++) {
+      img.getRGB(0, y, width, 1, row, 0, width);
+
+      for (int rgb : row) {
+        red += (rgb >> 16) & 0xFF;
+        green += (rgb >> 8) & 0xFF;
+        blue += rgb & 0xFF;
       }
     }
 
-    meanRed = meanRed / (img.getWidth() * img.getHeight());
-    meanGreen = meanGreen / (img.getWidth() * img.getHeight());
-    meanBlue = meanBlue / (img.getWidth() * img.getHeight());
+    double pixels = (double) width * height;
+    return new Scalar(red / pixels, green / pixels, blue / pixels);
+  }
 
-    return new Scalar(meanRed, meanGreen, meanBlue);
+  /**
+   * Calculate the mean red, green and blue values of a BGR Mat, such as one returned by {@link
+   * #bufferedImageToMat(BufferedImage)}
+   */
+  public static Scalar meanRGB(Mat bgr) {
+    Scalar mean = Core.mean(bgr);
+    return new Scalar(mean.val[2], mean.val[1], mean.val[0]);
   }
 }
@@ -0,0 +1,204 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.opencv.processors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.annot8.api.components.responses.ProcessorResponse;
+import io.annot8.api.data.Item;
+import io.annot8.common.data.content.Image;
+import io.annot8.components.opencv.utils.OpenCVUtils;
+import io.annot8.conventions.PropertyKeys;
+import io.annot8.testing.testimpl.TestItem;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.RotatedRect;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.dnn.Dnn;
+
+public class TextDetectionTest {
+
+  @BeforeAll
+  public static void loadOpenCV() {
+    nu.pattern.OpenCV.loadLocally();
+  }
+
+  @Test
+  public void testSubtractMeans() {
+    Random random = new Random(0);
+    List<Mat> frames = List.of(frame(20, 30, random), frame(16, 16, random), frame(40, 10, random));
+    List<Scalar> means = frames.stream().map(OpenCVUtils::meanRGB).collect(Collectors.toList());
+
+    Size size = new Size(16, 16);
+    int imageSize = 3 * 16 * 16;
+
+    Mat blob = Dnn.blobFromImages(frames, 1.0, size, new Scalar(0, 0, 0), true, false);
+    TextDetection.Processor.subtractMeans(blob, means);
+    float[] batched = TextDetection.Processor.readOutput(blob);
+    assertEquals(frames.size() * imageSize, batched.length);
+
+    // Each image in the batch should be the same as if it had been converted on its own
+    for (int i = 0; i < frames.size(); i++) {
+      Mat single = Dnn.blobFromImage(frames.get(i), 1.0, size, means.get(i), true, false);
+
+      assertArrayEquals(
+          TextDetection.Processor.readOutput(single),
+          Arrays.copyOfRange(batched, i * imageSize, (i + 1) * imageSize),
+          1e-3f);
+    }
+  }
+
+  @Test
+  public void testReadOutput() {
+    int[] dims = {3, 5, 4, 6};
+    Mat output = new Mat(dims, CvType.CV_32F);
+
+    for (int n = 0; n < dims[0]; n++) {
+      for (int c = 0; c < dims[1]; c++) {
+        for (int y = 0; y < dims[2]; y++) {
+          for (int x = 0; x < dims[3]; x++) {
+            output.put(new int[] {n, c, y, x}, new float[] {n * 1000 + c * 100 + y * 10 + x});
+          }
+        }
+      }
+    }
+
+    float[] data = TextDetection.Processor.readOutput(output);
+
+    // Elements are in N x C x H x W order, as decode expects
+    int i = 0;
+    for (int n = 0; n < dims[0]; n++) {
+      for (int c = 0; c < dims[1]; c++) {
+        for (int y = 0; y < dims[2]; y++) {
+          for (int x = 0; x < dims[3]; x++) {
+            assertEquals(output.get(new int[] {n, c, y, x})[0], data[i++], 1e-6);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDecode() {
+    int batch = 3;
+    int width = 5;
+    int height = 4;
+    int plane = width * height;
+
+    float[] scores = new float[batch * plane];
+    float[] geometry = new float[batch * 5 * plane];
+
+    // A single detection in the second image, at x = 2 and y = 1, with no rotation
+    int pixel = 1 * width + 2;
+    scores[plane + pixel] = 0.9f;
+    for (int c = 0; c < 4; c++) {
+      geometry[5 * plane + c * plane + pixel] = c + 1.0f;
+    }
+
+    for (int i = 0; i < batch; i++) {
+      List<Float> confidences = new ArrayList<>();
+      List<RotatedRect> detections =
+          TextDetection.Processor.decode(scores, geometry, i, width, height, confidences, 0.5f);
+
+      if (i != 1) {
+        assertTrue(detections.isEmpty());
+        continue;
+      }
+
+      assertEquals(List.of(0.9f), confidences);
+      assertEquals(1, detections.size());
+
+      RotatedRect r = detections.get(0);
+      assertEquals(7.0, r.center.x, 1e-6);
+      assertEquals(5.0, r.center.y, 1e-6);
+      assertEquals(6.0, r.size.width, 1e-6);
+      assertEquals(4.0, r.size.height, 1e-6);
+      assertEquals(0.0, r.angle, 1e-6);
+    }
+  }
+
+  @Test
+  public void testBatchSameAsSingle() {
+    // Requires the EAST model, which isn't distributed with Annot8
+    String model = System.getProperty("annot8.east.model");
+    assumeTrue(model != null && Files.exists(Path.of(model)));
+
+    List<Integer> single = process(Path.of(model), 1);
+    List<Integer> batched = process(Path.of(model), 2);
+
+    assertEquals(single, batched);
+  }
+
+  // Returns the number of output images for each input image
+  private static List<Integer> process(Path model, int batchSize) {
+    TextDetection.Settings settings = new TextDetection.Settings();
+    settings.setEastModel(model);
+    settings.setBatchSize(batchSize);
+    settings.setOutputMode(TextDetection.OutputMode.BOX);
+    settings.setSize(320);
+
+    Item item = new TestItem();
+    List<Image> images = new ArrayList<>();
+    for (String text : List.of("Hello world", "Annot8", "OpenCV EAST")) {
+      images.add(item.createContent(Image.class).withData(textImage(text)).save());
+    }
+
+    try (TextDetection.Processor processor = new TextDetection.Processor(settings)) {
+      assertEquals(ProcessorResponse.ok(), processor.process(item));
+    }
+
+    return images.stream()
+        .map(
+            img ->
+                (int)
+                    item.getContents(Image.class)
+                        .filter(
+                            c ->
+                                c.getProperties()
+                                    .get(PropertyKeys.PROPERTY_KEY_PARENT)
+                                    .map(img.getId()::equals)
+                                    .orElse(false))
+                        .count())
+        .collect(Collectors.toList());
+  }
+
+  private static BufferedImage textImage(String text) {
+    BufferedImage image = new BufferedImage(640, 240, BufferedImage.TYPE_3BYTE_BGR);
+    Graphics2D g = image.createGraphics();
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, image.getWidth(), image.getHeight());
+    g.setColor(Color.BLACK);
+    g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 64));
+    g.drawString(text, 40, 140);
+    g.dispose();
+
+    return image;
+  }
+
+  private static Mat frame(int width, int height, Random random) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        image.setRGB(x, y, random.nextInt(0x1000000));
+      }
+    }
+
+    return OpenCVUtils.bufferedImageToMat(image);
+  }
+}
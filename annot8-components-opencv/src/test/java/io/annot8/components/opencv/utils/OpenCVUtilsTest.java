@@ -0,0 +1,130 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.opencv.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+
+public class OpenCVUtilsTest {
+  private static final int WIDTH = 13;
+  private static final int HEIGHT = 7;
+
+  @BeforeAll
+  public static void loadOpenCV() {
+    nu.pattern.OpenCV.loadLocally();
+  }
+
+  @Test
+  public void test3ByteBgr() throws Exception {
+    assertRoundTrip(createImage(BufferedImage.TYPE_3BYTE_BGR));
+  }
+
+  @Test
+  public void testIntRgb() throws Exception {
+    assertRoundTrip(createImage(BufferedImage.TYPE_INT_RGB));
+  }
+
+  @Test
+  public void testIntArgb() throws Exception {
+    assertRoundTrip(createImage(BufferedImage.TYPE_INT_ARGB));
+  }
+
+  @Test
+  public void testByteGray() throws Exception {
+    assertRoundTrip(createImage(BufferedImage.TYPE_BYTE_GRAY));
+  }
+
+  @Test
+  public void testSubimage() throws Exception {
+    // A sub-image shares its parent's data, so can't be copied directly
+    BufferedImage image = createImage(BufferedImage.TYPE_3BYTE_BGR).getSubimage(3, 2, 8, 4);
+    assertRoundTrip(image);
+  }
+
+  @Test
+  public void testGrayMat() throws Exception {
+    Mat mat = new Mat(HEIGHT, WIDTH, CvType.CV_8UC1);
+    byte[] data = new byte[WIDTH * HEIGHT];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i * 7);
+    }
+    mat.put(0, 0, data);
+
+    BufferedImage image = OpenCVUtils.matToBufferedImage(mat);
+    assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+    assertArrayEquals(data, ((DataBufferByte) image.getRaster().getDataBuffer()).getData());
+  }
+
+  @Test
+  public void testNonContinuousMat() throws Exception {
+    Mat mat = OpenCVUtils.bufferedImageToMat(createImage(BufferedImage.TYPE_3BYTE_BGR));
+    Mat submat = mat.submat(1, 5, 2, 10);
+    assertFalse(submat.isContinuous());
+
+    BufferedImage image = OpenCVUtils.matToBufferedImage(submat);
+    assertEquals(8, image.getWidth());
+    assertEquals(4, image.getHeight());
+    assertSamePixels(image, submat);
+  }
+
+  private static void assertRoundTrip(BufferedImage image) throws Exception {
+    Mat mat = OpenCVUtils.bufferedImageToMat(image);
+    assertEquals(CvType.CV_8UC3, mat.type());
+    assertEquals(image.getWidth(), mat.cols());
+    assertEquals(image.getHeight(), mat.rows());
+    assertSamePixels(image, mat);
+
+    BufferedImage converted = OpenCVUtils.matToBufferedImage(mat);
+    assertEquals(BufferedImage.TYPE_3BYTE_BGR, converted.getType());
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        // Any alpha channel is discarded
+        assertEquals(image.getRGB(x, y) & 0xFFFFFF, converted.getRGB(x, y) & 0xFFFFFF);
+      }
+    }
+
+    Scalar expected = OpenCVUtils.meanRGB(image);
+    Scalar actual = OpenCVUtils.meanRGB(mat);
+    assertArrayEquals(
+        new double[] {expected.val[0], expected.val[1], expected.val[2]},
+        new double[] {actual.val[0], actual.val[1], actual.val[2]},
+        1e-9);
+  }
+
+  private static void assertSamePixels(BufferedImage image, Mat mat) {
+    for (int y = 0; y < image.getHeight(); y++) {
+      for (int x = 0; x < image.getWidth(); x++) {
+        int rgb = image.getRGB(x, y);
+        double[] bgr = mat.get(y, x);
+
+        assertEquals(rgb & 0xFF, (int) bgr[0]);
+        assertEquals((rgb >> 8) & 0xFF, (int) bgr[1]);
+        assertEquals((rgb >> 16) & 0xFF, (int) bgr[2]);
+      }
+    }
+  }
+
+  private static BufferedImage createImage(int type) {
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT, type);
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        int alpha = 55 + x * 15;
+        int red = x * 19;
+        int green = y * 37;
+        int blue = (x + y) * 11;
+
+        image.setRGB(x, y, (alpha << 24) | (red << 16) | (green << 8) | blue);
+      }
+    }
+
+    return image;
+  }
+}
@@ -14,10 +14,10 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.ContentBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.opennlp.utils.ModelCache;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import opennlp.tools.langdetect.Language;
@@ -33,15 +33,22 @@ public class LanguageDetection
     extends AbstractProcessorDescriptor<LanguageDetection.Processor, LanguageDetection.Settings> {
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    InputStream model;
-    if (settings.getModel() == null) {
-      model = Tokens.class.getResourceAsStream("langdetect-183.bin");
-    } else {
-      try {
-        model = new FileInputStream(settings.getModel());
-      } catch (IOException e) {
-        throw new BadConfigurationException("Could not read Language Detection model");
+    LanguageDetectorModel model;
+    try {
+      if (settings.getModel() == null) {
+        model =
+            ModelCache.getResource(
+                LanguageDetectorModel.class,
+                Tokens.class,
+                "langdetect-183.bin",
+                LanguageDetectorModel::new);
+      } else {
+        model =
+            ModelCache.get(
+                LanguageDetectorModel.class, settings.getModel(), LanguageDetectorModel::new);
       }
+    } catch (IOException e) {
+      throw new BadConfigurationException("Could not read Language Detection model", e);
     }
 
     return new Processor(model);
@@ -56,19 +63,27 @@ public class LanguageDetection
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private LanguageDetector detector;
+    private ThreadLocal<LanguageDetector> detector;
 
     public Processor(InputStream model) {
       try {
-        detector = new LanguageDetectorME(new LanguageDetectorModel(model));
+        setModel(new LanguageDetectorModel(model));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read Language Detection model", ioe);
       }
     }
 
+    public Processor(LanguageDetectorModel model) {
+      setModel(model);
+    }
+
+    private void setModel(LanguageDetectorModel model) {
+      detector = ModelCache.perThread(() -> new LanguageDetectorME(model));
+    }
+
     @Override
     protected void process(Text content) {
-      Language l = detector.predictLanguage(content.getData());
+      Language l = detector.get().predictLanguage(content.getData());
 
       content
           .getAnnotations()
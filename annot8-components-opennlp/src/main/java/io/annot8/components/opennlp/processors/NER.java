@@ -15,15 +15,15 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.base.text.utils.SpanIndex;
+import io.annot8.components.opennlp.utils.ModelCache;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.stream.Collectors;
 import opennlp.tools.namefind.NameFinderME;
 import opennlp.tools.namefind.TokenNameFinderModel;
 import opennlp.tools.util.Span;
@@ -51,13 +51,13 @@ public class NER extends AbstractProcessorDescriptor<NER.Processor, NER.Settings
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private NameFinderME nameFinder;
+    private ThreadLocal<NameFinderME> nameFinder;
     private String type;
 
     public Processor(File model, String type) {
       this.type = type;
       try {
-        nameFinder = new NameFinderME(new TokenNameFinderModel(model));
+        setModel(ModelCache.get(TokenNameFinderModel.class, model, TokenNameFinderModel::new));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read NER model", ioe);
       }
@@ -66,48 +66,56 @@ public class NER extends AbstractProcessorDescriptor<NER.Processor, NER.Settings
     public Processor(InputStream model, String type) {
       this.type = type;
       try {
-        nameFinder = new NameFinderME(new TokenNameFinderModel(model));
+        setModel(new TokenNameFinderModel(model));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read NER model", ioe);
       }
     }
 
+    public Processor(TokenNameFinderModel model, String type) {
+      this.type = type;
+      setModel(model);
+    }
+
+    private void setModel(TokenNameFinderModel model) {
+      nameFinder = ModelCache.perThread(() -> new NameFinderME(model));
+    }
+
     @Override
     protected void process(Text content) {
-      Stream<Annotation> sentences =
+      NameFinderME nameFinder = this.nameFinder.get();
+
+      SpanIndex index =
+          SpanIndex.of(
+              content,
+              AnnotationTypes.ANNOTATION_TYPE_SENTENCE,
+              AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN);
+
+      for (Annotation s : index.getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)) {
+        SpanBounds bounds = s.getBounds(SpanBounds.class).get();
+
+        List<SpanBounds> tokens =
+            index.getCovered(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, bounds).stream()
+                .map(a -> a.getBounds(SpanBounds.class).get())
+                .collect(Collectors.toList());
+
+        Span[] spans =
+            nameFinder.find(
+                tokens.stream().map(b -> b.getData(content).get()).toArray(String[]::new));
+
+        for (Span span : spans) {
+          int begin = tokens.get(span.getStart()).getBegin();
+          int end = tokens.get(span.getEnd() - 1).getEnd();
+
           content
               .getAnnotations()
-              .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_SENTENCE);
-
-      sentences.forEach(
-          s -> {
-            SpanBounds bounds = (SpanBounds) s.getBounds();
-
-            List<SpanBounds> tokens = new ArrayList<>();
-            content
-                .getBetween(bounds.getBegin(), bounds.getEnd())
-                .filter(a -> AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN.equals(a.getType()))
-                .filter(a -> a.getBounds() instanceof SpanBounds)
-                .sorted(Comparator.comparingInt(a -> ((SpanBounds) a.getBounds()).getBegin()))
-                .forEach(a -> tokens.add((SpanBounds) a.getBounds()));
-
-            Span[] spans =
-                nameFinder.find(
-                    tokens.stream().map(b -> b.getData(content).get()).toArray(String[]::new));
-
-            for (Span span : spans) {
-              int begin = tokens.get(span.getStart()).getBegin();
-              int end = tokens.get(span.getEnd() - 1).getEnd();
-
-              content
-                  .getAnnotations()
-                  .create()
-                  .withBounds(new SpanBounds(begin, end))
-                  .withType(type)
-                  .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, span.getProb())
-                  .save();
-            }
-          });
+              .create()
+              .withBounds(new SpanBounds(begin, end))
+              .withType(type)
+              .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, span.getProb())
+              .save();
+        }
+      }
 
       nameFinder.clearAdaptiveData();
     }
@@ -14,16 +14,18 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
-import io.annot8.common.data.utils.SortUtils;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.base.text.utils.SpanIndex;
+import io.annot8.components.opennlp.utils.ModelCache;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import opennlp.tools.postag.POSModel;
 import opennlp.tools.postag.POSTaggerME;
 
@@ -34,15 +36,16 @@ import opennlp.tools.postag.POSTaggerME;
 public class POS extends AbstractProcessorDescriptor<POS.Processor, POS.Settings> {
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    InputStream model;
-    if (settings.getModel() == null) {
-      model = POS.class.getResourceAsStream("en-pos-maxent.bin");
-    } else {
-      try {
-        model = new FileInputStream(settings.getModel());
-      } catch (IOException e) {
-        throw new BadConfigurationException("Could not read POS model");
+    POSModel model;
+    try {
+      if (settings.getModel() == null) {
+        model =
+            ModelCache.getResource(POSModel.class, POS.class, "en-pos-maxent.bin", POSModel::new);
+      } else {
+        model = ModelCache.get(POSModel.class, settings.getModel(), POSModel::new);
       }
+    } catch (IOException e) {
+      throw new BadConfigurationException("Could not read POS model", e);
     }
 
     return new Processor(model);
@@ -61,54 +64,71 @@ public class POS extends AbstractProcessorDescriptor<POS.Processor, POS.Settings
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private POSTaggerME detector;
+    private ThreadLocal<POSTaggerME> detector;
 
     public Processor(InputStream model) {
       try {
-        detector = new POSTaggerME(new POSModel(model));
+        setModel(new POSModel(model));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read POS model", ioe);
       }
     }
 
+    public Processor(POSModel model) {
+      setModel(model);
+    }
+
+    private void setModel(POSModel model) {
+      detector = ModelCache.perThread(() -> new POSTaggerME(model));
+    }
+
     @Override
     protected void process(Text content) {
-      content
-          .getAnnotations()
-          .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
-          .forEach(
-              s -> {
-                SpanBounds sentenceBounds = (SpanBounds) s.getBounds();
-                // Get tokens for sentence
-                List<Annotation> tokens = new ArrayList<>();
-                content
-                    .getBetween(sentenceBounds.getBegin(), sentenceBounds.getEnd())
-                    .filter(a -> AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN.equals(a.getType()))
-                    .filter(a -> a.getBounds() instanceof SpanBounds)
-                    .sorted(SortUtils.SORT_BY_SPANBOUNDS)
-                    .forEach(tokens::add);
-
-                // Get POS for tokens
-                String[] pos =
-                    detector.tag(
-                        tokens.stream()
-                            .map(b -> b.getBounds(SpanBounds.class).get().getData(content).get())
-                            .toArray(String[]::new));
-
-                // Update each token
-                for (int i = 0; i < pos.length; i++) {
-                  Annotation original = tokens.get(i);
-
-                  content
-                      .getAnnotations()
-                      .copy(original)
-                      .withProperty(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, pos[i])
-                      .save();
-                }
-
-                // Remove original annotation
-                content.getAnnotations().delete(tokens);
-              });
+      SpanIndex index =
+          SpanIndex.of(
+              content,
+              AnnotationTypes.ANNOTATION_TYPE_SENTENCE,
+              AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN);
+
+      // The index isn't updated as tokens are replaced, so keep track of the replacements in case
+      // sentences overlap and a token is found again
+      Map<String, Annotation> replacements = new HashMap<>();
+
+      for (Annotation s : index.getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)) {
+        // Get tokens for sentence
+        List<Annotation> indexed =
+            index.getCovered(
+                AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, s.getBounds(SpanBounds.class).get());
+        List<Annotation> tokens =
+            indexed.stream()
+                .map(t -> replacements.getOrDefault(t.getId(), t))
+                .collect(Collectors.toList());
+
+        // Get POS for tokens
+        String[] pos =
+            detector
+                .get()
+                .tag(
+                    tokens.stream()
+                        .map(b -> b.getBounds(SpanBounds.class).get().getData(content).get())
+                        .toArray(String[]::new));
+
+        // Update each token
+        for (int i = 0; i < pos.length; i++) {
+          Annotation original = tokens.get(i);
+
+          Annotation replacement =
+              content
+                  .getAnnotations()
+                  .copy(original)
+                  .withProperty(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, pos[i])
+                  .save();
+          replacements.put(indexed.get(i).getId(), replacement);
+        }
+
+        // Remove original annotation
+        content.getAnnotations().delete(tokens);
+      }
     }
 
     @Override
@@ -15,20 +15,18 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
-import io.annot8.common.data.utils.SortUtils;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.base.text.utils.SpanIndex;
+import io.annot8.components.opennlp.utils.ModelCache;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.GroupRoles;
 import io.annot8.conventions.GroupTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 import opennlp.tools.chunker.ChunkerME;
 import opennlp.tools.chunker.ChunkerModel;
 import opennlp.tools.util.Span;
@@ -41,15 +39,17 @@ public class PhraseChunks
     extends AbstractProcessorDescriptor<PhraseChunks.Processor, PhraseChunks.Settings> {
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    InputStream model;
-    if (settings.getModel() == null) {
-      model = POS.class.getResourceAsStream("en-chunker.bin");
-    } else {
-      try {
-        model = new FileInputStream(settings.getModel());
-      } catch (IOException e) {
-        throw new BadConfigurationException("Could not read Chunker model");
+    ChunkerModel model;
+    try {
+      if (settings.getModel() == null) {
+        model =
+            ModelCache.getResource(
+                ChunkerModel.class, POS.class, "en-chunker.bin", ChunkerModel::new);
+      } else {
+        model = ModelCache.get(ChunkerModel.class, settings.getModel(), ChunkerModel::new);
       }
+    } catch (IOException e) {
+      throw new BadConfigurationException("Could not read Chunker model", e);
     }
 
     return new Processor(model);
@@ -66,7 +66,7 @@ public class PhraseChunks
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private ChunkerME phraseChunker;
+    private ThreadLocal<ChunkerME> phraseChunker;
     private final Set<String> prepositions =
         Set.of(
             "about",
@@ -113,110 +113,96 @@ public class PhraseChunks
 
     public Processor(InputStream model) {
       try {
-        phraseChunker = new ChunkerME(new ChunkerModel(model));
+        setModel(new ChunkerModel(model));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read Chunker model", ioe);
       }
     }
 
+    public Processor(ChunkerModel model) {
+      setModel(model);
+    }
+
+    private void setModel(ChunkerModel model) {
+      phraseChunker = ModelCache.perThread(() -> new ChunkerME(model));
+    }
+
     @Override
     protected void process(Text content) {
-      content
-          .getAnnotations()
-          .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
-          .forEach(
-              s -> {
-                SpanBounds sentenceBounds = (SpanBounds) s.getBounds();
-                // Get tokens for sentence
-                List<Annotation> tokens = new ArrayList<>();
-                content
-                    .getBetween(sentenceBounds.getBegin(), sentenceBounds.getEnd())
-                    .filter(a -> AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN.equals(a.getType()))
-                    .filter(a -> a.getBounds() instanceof SpanBounds)
-                    .sorted(SortUtils.SORT_BY_SPANBOUNDS)
-                    .forEach(tokens::add);
-
-                String[] words = new String[tokens.size()];
-                String[] pos = new String[tokens.size()];
-
-                int i = 0;
-                for (Annotation a : tokens) {
-                  String word = content.getText(a).orElse("");
-                  String tag =
-                      a.getProperties()
-                          .get(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class)
-                          .orElse("UNK");
-
-                  words[i] = word;
-                  pos[i] = tag;
-                  i++;
-                }
-
-                Span[] spans = phraseChunker.chunkAsSpans(words, pos);
-
-                for (Span span : spans) {
-                  List<Annotation> constituentWords =
-                      content
-                          .getBetween(
-                              tokens
-                                  .get(span.getStart())
-                                  .getBounds(SpanBounds.class)
-                                  .get()
-                                  .getBegin(),
-                              tokens
-                                  .get(span.getEnd() - 1)
-                                  .getBounds(SpanBounds.class)
-                                  .get()
-                                  .getEnd())
-                          .filter(
-                              a -> AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN.equals(a.getType()))
-                          .collect(Collectors.toList());
-
-                  int headWordId = constituentWords.size() - 1;
-
-                  // Run through prior words, check for propositional - if so skip, if not break
-                  for (int a = constituentWords.size() - 2; a > 1; a--) {
-                    String cwPos =
-                        constituentWords
-                            .get(a)
-                            .getProperties()
-                            .get(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class)
-                            .orElse("UNK");
-                    String cwText = content.getText(constituentWords.get(a)).orElse("");
-
-                    // If a POS tag or word value is prepositional, end increment head word index
-                    if ("IN".equals(cwPos) || ",".equals(cwPos) || prepositions.contains(cwText)) {
-                      headWordId = a - 1;
-                    } else {
-                      headWordId = a;
-                      break;
-                    }
-                  }
-
-                  Group.Builder builder =
-                      content
-                          .getItem()
-                          .getGroups()
-                          .create()
-                          .withType(GroupTypes.GROUP_TYPE_GRAMMAR_PHRASE)
-                          .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, span.getProb())
-                          .withProperty(PropertyKeys.PROPERTY_KEY_SUBTYPE, span.getType());
-
-                  for (int a = 0; a < constituentWords.size(); a++) {
-                    if (a == headWordId) {
-                      builder =
-                          builder.withAnnotation(
-                              GroupRoles.GROUP_ROLE_GRAMMAR_HEAD, constituentWords.get(a));
-                    } else {
-                      builder =
-                          builder.withAnnotation(
-                              GroupRoles.GROUP_ROLE_GRAMMAR_CONSTITUENT, constituentWords.get(a));
-                    }
-                  }
-
-                  builder.save();
-                }
-              });
+      SpanIndex index =
+          SpanIndex.of(
+              content,
+              AnnotationTypes.ANNOTATION_TYPE_SENTENCE,
+              AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN);
+
+      for (Annotation s : index.getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)) {
+        // Get tokens for sentence
+        List<Annotation> tokens =
+            index.getCovered(
+                AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, s.getBounds(SpanBounds.class).get());
+
+        String[] words = new String[tokens.size()];
+        String[] pos = new String[tokens.size()];
+
+        int i = 0;
+        for (Annotation a : tokens) {
+          String word = content.getText(a).orElse("");
+          String tag =
+              a.getProperties()
+                  .get(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class)
+                  .orElse("UNK");
+
+          words[i] = word;
+          pos[i] = tag;
+          i++;
+        }
+
+        Span[] spans = phraseChunker.get().chunkAsSpans(words, pos);
+
+        for (Span span : spans) {
+          // Tokens are sorted, so the constituent words are those covered by the span
+          List<Annotation> constituentWords = tokens.subList(span.getStart(), span.getEnd());
+
+          int headWordId = constituentWords.size() - 1;
+
+          // Run through prior words, check for propositional - if so skip, if not break
+          for (int a = constituentWords.size() - 2; a > 1; a--) {
+            String cwPos = pos[span.getStart() + a];
+            String cwText = words[span.getStart() + a];
+
+            // If a POS tag or word value is prepositional, end increment head word index
+            if ("IN".equals(cwPos) || ",".equals(cwPos) || prepositions.contains(cwText)) {
+              headWordId = a - 1;
+            } else {
+              headWordId = a;
+              break;
+            }
+          }
+
+          Group.Builder builder =
+              content
+                  .getItem()
+                  .getGroups()
+                  .create()
+                  .withType(GroupTypes.GROUP_TYPE_GRAMMAR_PHRASE)
+                  .withProperty(PropertyKeys.PROPERTY_KEY_PROBABILITY, span.getProb())
+                  .withProperty(PropertyKeys.PROPERTY_KEY_SUBTYPE, span.getType());
+
+          for (int a = 0; a < constituentWords.size(); a++) {
+            if (a == headWordId) {
+              builder =
+                  builder.withAnnotation(
+                      GroupRoles.GROUP_ROLE_GRAMMAR_HEAD, constituentWords.get(a));
+            } else {
+              builder =
+                  builder.withAnnotation(
+                      GroupRoles.GROUP_ROLE_GRAMMAR_CONSTITUENT, constituentWords.get(a));
+            }
+          }
+
+          builder.save();
+        }
+      }
     }
   }
 
@@ -14,10 +14,10 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.opennlp.utils.ModelCache;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import opennlp.tools.sentdetect.SentenceDetectorME;
@@ -32,15 +32,17 @@ public class Sentences
     extends AbstractProcessorDescriptor<Sentences.Processor, Sentences.Settings> {
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    InputStream model;
-    if (settings.getModel() == null) {
-      model = POS.class.getResourceAsStream("en-sent.bin");
-    } else {
-      try {
-        model = new FileInputStream(settings.getModel());
-      } catch (IOException e) {
-        throw new BadConfigurationException("Could not read Sentence model");
+    SentenceModel model;
+    try {
+      if (settings.getModel() == null) {
+        model =
+            ModelCache.getResource(
+                SentenceModel.class, POS.class, "en-sent.bin", SentenceModel::new);
+      } else {
+        model = ModelCache.get(SentenceModel.class, settings.getModel(), SentenceModel::new);
       }
+    } catch (IOException e) {
+      throw new BadConfigurationException("Could not read Sentence model", e);
     }
 
     return new Processor(model);
@@ -55,19 +57,27 @@ public class Sentences
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private SentenceDetectorME detector;
+    private ThreadLocal<SentenceDetectorME> detector;
 
     public Processor(InputStream model) {
       try {
-        detector = new SentenceDetectorME(new SentenceModel(model));
+        setModel(new SentenceModel(model));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read Sentence model", ioe);
       }
     }
 
+    public Processor(SentenceModel model) {
+      setModel(model);
+    }
+
+    private void setModel(SentenceModel model) {
+      detector = ModelCache.perThread(() -> new SentenceDetectorME(model));
+    }
+
     @Override
     protected void process(Text content) {
-      Span[] sentences = detector.sentPosDetect(lowerIfUpperCase(content.getData()));
+      Span[] sentences = detector.get().sentPosDetect(lowerIfUpperCase(content.getData()));
 
       for (Span s : sentences) {
         content
@@ -15,10 +15,10 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.opennlp.utils.ModelCache;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -35,15 +35,17 @@ import opennlp.tools.util.Span;
 public class Tokens extends AbstractProcessorDescriptor<Tokens.Processor, Tokens.Settings> {
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    InputStream model;
-    if (settings.getModel() == null) {
-      model = Tokens.class.getResourceAsStream("en-token.bin");
-    } else {
-      try {
-        model = new FileInputStream(settings.getModel());
-      } catch (IOException e) {
-        throw new BadConfigurationException("Could not read Token model");
+    TokenizerModel model;
+    try {
+      if (settings.getModel() == null) {
+        model =
+            ModelCache.getResource(
+                TokenizerModel.class, Tokens.class, "en-token.bin", TokenizerModel::new);
+      } else {
+        model = ModelCache.get(TokenizerModel.class, settings.getModel(), TokenizerModel::new);
       }
+    } catch (IOException e) {
+      throw new BadConfigurationException("Could not read Token model", e);
     }
 
     return new Processor(model);
@@ -58,16 +60,24 @@ public class Tokens extends AbstractProcessorDescriptor<Tokens.Processor, Tokens
   }
 
   public static class Processor extends AbstractTextProcessor {
-    private TokenizerME detector;
+    private ThreadLocal<TokenizerME> detector;
 
     public Processor(InputStream model) {
       try {
-        detector = new TokenizerME(new TokenizerModel(model));
+        setModel(new TokenizerModel(model));
       } catch (IOException ioe) {
         throw new BadConfigurationException("Cannot read Token model", ioe);
       }
     }
 
+    public Processor(TokenizerModel model) {
+      setModel(model);
+    }
+
+    private void setModel(TokenizerModel model) {
+      detector = ModelCache.perThread(() -> new TokenizerME(model));
+    }
+
     @Override
     protected void process(Text content) {
       List<Annotation> sentences =
@@ -77,7 +87,7 @@ public class Tokens extends AbstractProcessorDescriptor<Tokens.Processor, Tokens
               .collect(Collectors.toList());
       if (sentences.isEmpty()) {
         // Run over whole text
-        createTokens(content, detector.tokenizePos(content.getData()), 0);
+        createTokens(content, detector.get().tokenizePos(content.getData()), 0);
       } else {
         // Run over each sentence in turn
         for (Annotation sentence : sentences) {
@@ -86,7 +96,8 @@ public class Tokens extends AbstractProcessorDescriptor<Tokens.Processor, Tokens
 
           content
               .getText(sentence)
-              .ifPresent(s -> createTokens(content, detector.tokenizePos(s), sb.get().getBegin()));
+              .ifPresent(
+                  s -> createTokens(content, detector.get().tokenizePos(s), sb.get().getBegin()));
         }
       }
     }
@@ -0,0 +1,183 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.opennlp.utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache of OpenNLP models, keyed by the model type and the file or resource it was loaded from, so
+ * that each model is only deserialised once regardless of how many processors use it.
+ *
+ * <p>OpenNLP models are immutable once loaded, and so can safely be shared between threads. The
+ * {@code *ME} classes which use them are not thread-safe, and should not be shared - use {@link
+ * #perThread(Supplier)} to create one per thread instead.
+ *
+ * <p>Models are loaded by the first caller asking for them, outside of any lock on the cache, and
+ * other callers asking for the same model wait for that load to finish rather than loading it
+ * again. If the load fails, nothing is cached and the next caller will try again.
+ *
+ * <p>The cache only holds weak references to the models, so a model is kept for as long as
+ * something else (typically a processor) is using it, and is reloaded if it is asked for again
+ * after it has been garbage collected.
+ */
+public final class ModelCache {
+  private static final ConcurrentMap<Key, CompletableFuture<WeakReference<Object>>> CACHE =
+      new ConcurrentHashMap<>();
+
+  private ModelCache() {
+    // Static utility class
+  }
+
+  /** Returns the model of the given type from the file, loading it if it isn't already cached */
+  public static <M> M get(Class<M> modelClass, File file, ModelLoader<M> loader)
+      throws IOException {
+    String location = "file:" + file.getCanonicalPath();
+
+    return get(
+        modelClass,
+        location,
+        () -> {
+          try (InputStream is = new FileInputStream(file)) {
+            return loader.load(is);
+          }
+        });
+  }
+
+  /**
+   * Returns the model of the given type from a resource (resolved relative to the class), loading
+   * it if it isn't already cached
+   */
+  public static <M> M getResource(
+      Class<M> modelClass, Class<?> resourceClass, String resource, ModelLoader<M> loader)
+      throws IOException {
+    URL url = resourceClass.getResource(resource);
+    if (url == null) throw new IOException("Could not find resource " + resource);
+
+    return get(
+        modelClass,
+        url.toExternalForm(),
+        () -> {
+          try (InputStream is = url.openStream()) {
+            return loader.load(is);
+          }
+        });
+  }
+
+  /**
+   * Returns a {@link ThreadLocal} which creates an instance (e.g. a {@code *ME} class wrapping a
+   * shared model) for each thread that uses it, for classes that aren't thread-safe
+   */
+  public static <T> ThreadLocal<T> perThread(Supplier<T> supplier) {
+    return ThreadLocal.withInitial(supplier);
+  }
+
+  private static <M> M get(Class<M> modelClass, String location, ModelSupplier<M> supplier)
+      throws IOException {
+    Key key = new Key(modelClass, location);
+
+    while (true) {
+      CompletableFuture<WeakReference<Object>> future = new CompletableFuture<>();
+      CompletableFuture<WeakReference<Object>> existing = CACHE.putIfAbsent(key, future);
+
+      if (existing == null) {
+        return load(key, future, supplier);
+      }
+
+      Object model;
+      try {
+        model = existing.join().get();
+      } catch (CompletionException e) {
+        // The load failed, and has already been removed from the cache
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) throw new IOException(cause.getMessage(), cause);
+        if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+
+        throw e;
+      }
+
+      if (model != null) return modelClass.cast(model);
+
+      // The model has been garbage collected, so remove it and try again
+      CACHE.remove(key, existing);
+    }
+  }
+
+  private static <M> M load(
+      Key key, CompletableFuture<WeakReference<Object>> future, ModelSupplier<M> supplier)
+      throws IOException {
+    M model;
+    try {
+      model = supplier.get();
+    } catch (IOException | RuntimeException | Error e) {
+      CACHE.remove(key, future);
+      future.completeExceptionally(e);
+      throw e;
+    }
+
+    // Tidy up any entries whose models have been garbage collected
+    CACHE
+        .values()
+        .removeIf(f -> f.isDone() && !f.isCompletedExceptionally() && f.join().get() == null);
+
+    future.complete(new WeakReference<>(model));
+    return model;
+  }
+
+  /** Remove all models from the cache */
+  public static void clear() {
+    CACHE.clear();
+  }
+
+  /** Returns the number of models in the cache, including any which are still being loaded */
+  public static int size() {
+    return (int)
+        CACHE.values().stream()
+            .filter(f -> !f.isDone() || (!f.isCompletedExceptionally() && f.join().get() != null))
+            .count();
+  }
+
+  /** Loads a model from an input stream, typically the constructor of the model class */
+  @FunctionalInterface
+  public interface ModelLoader<M> {
+    M load(InputStream inputStream) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ModelSupplier<M> {
+    M get() throws IOException;
+  }
+
+  private static class Key {
+    private final Class<?> modelClass;
+    private final String location;
+
+    private Key(Class<?> modelClass, String location) {
+      this.modelClass = modelClass;
+      this.location = location;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+      Key key = (Key) o;
+      return modelClass.equals(key.modelClass) && location.equals(key.location);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(modelClass, location);
+    }
+  }
+}
@@ -9,4 +9,5 @@ module io.annot8.components.opennlp {
   requires io.annot8.components.base;
 
   exports io.annot8.components.opennlp.processors;
+  exports io.annot8.components.opennlp.utils;
 }
@@ -153,4 +153,51 @@ public class POSTest {
 
     p.close();
   }
+
+  @Test
+  public void testOverlappingSentences() {
+    Item item = new TestItem();
+    TestStringContent content =
+        item.createContent(TestStringContent.class).withData("Joe Bloggs was in London.").save();
+
+    content
+        .getAnnotations()
+        .create()
+        .withType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
+        .withBounds(new SpanBounds(0, 25))
+        .save();
+    content
+        .getAnnotations()
+        .create()
+        .withType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
+        .withBounds(new SpanBounds(11, 25))
+        .save();
+
+    int[][] tokens = {{0, 3}, {4, 10}, {11, 14}, {15, 17}, {18, 24}, {24, 25}};
+    for (int[] t : tokens) {
+      content
+          .getAnnotations()
+          .create()
+          .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+          .withBounds(new SpanBounds(t[0], t[1]))
+          .save();
+    }
+
+    POS desc = new POS();
+    Processor p = desc.createComponent(null, new POS.Settings());
+    p.process(item);
+
+    // Tokens in both sentences should be replaced once, not copied again after being deleted
+    assertEquals(
+        6, content.getAnnotations().getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN).count());
+    assertEquals(
+        6,
+        content
+            .getAnnotations()
+            .getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+            .filter(a -> a.getProperties().has(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH))
+            .count());
+
+    p.close();
+  }
 }
@@ -0,0 +1,139 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.opennlp.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.annot8.components.opennlp.processors.Tokens;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import opennlp.tools.tokenize.TokenizerModel;
+import org.junit.jupiter.api.Test;
+
+public class ModelCacheTest {
+  @Test
+  public void testResourceIsCached() throws IOException {
+    TokenizerModel m1 =
+        ModelCache.getResource(
+            TokenizerModel.class, Tokens.class, "en-token.bin", TokenizerModel::new);
+    TokenizerModel m2 =
+        ModelCache.getResource(
+            TokenizerModel.class, Tokens.class, "en-token.bin", TokenizerModel::new);
+
+    assertSame(m1, m2);
+  }
+
+  @Test
+  public void testMissingResource() {
+    assertThrows(
+        IOException.class,
+        () ->
+            ModelCache.getResource(
+                TokenizerModel.class, Tokens.class, "missing.bin", TokenizerModel::new));
+  }
+
+  @Test
+  public void testConcurrentLoadsOnce() throws Exception {
+    File file = tempModel();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<StringBuilder>> futures = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        futures.add(
+            executor.submit(
+                () ->
+                    ModelCache.get(
+                        StringBuilder.class,
+                        file,
+                        is -> {
+                          loads.incrementAndGet();
+                          loading.countDown();
+                          try {
+                            release.await();
+                          } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                          }
+                          return new StringBuilder(new String(is.readAllBytes()));
+                        })));
+      }
+
+      // The other callers wait for the first load rather than loading the model again
+      assertTrue(loading.await(10, TimeUnit.SECONDS));
+      Thread.sleep(200);
+      release.countDown();
+
+      StringBuilder first = futures.get(0).get(10, TimeUnit.SECONDS);
+      for (Future<StringBuilder> f : futures) {
+        assertSame(first, f.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFailedLoadNotCached() throws IOException {
+    File file = tempModel();
+
+    assertThrows(
+        IOException.class,
+        () ->
+            ModelCache.get(
+                StringBuilder.class,
+                file,
+                is -> {
+                  throw new IOException("Bad model");
+                }));
+
+    StringBuilder model =
+        ModelCache.get(StringBuilder.class, file, is -> new StringBuilder("Good model"));
+    assertEquals("Good model", model.toString());
+  }
+
+  @Test
+  public void testUnusedModelReleased() throws Exception {
+    File file = tempModel();
+
+    StringBuilder model = ModelCache.get(StringBuilder.class, file, is -> new StringBuilder());
+    WeakReference<StringBuilder> ref = new WeakReference<>(model);
+
+    // Once nothing else references the model, the cache doesn't keep it
+    model = null;
+    for (int i = 0; i < 100 && ref.get() != null; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    assertNull(ref.get());
+
+    StringBuilder reloaded = ModelCache.get(StringBuilder.class, file, is -> new StringBuilder());
+    assertNotSame(ref.get(), reloaded);
+    assertSame(reloaded, ModelCache.get(StringBuilder.class, file, is -> new StringBuilder()));
+  }
+
+  private static File tempModel() throws IOException {
+    File file = Files.createTempFile("annot8-model", ".bin").toFile();
+    file.deleteOnExit();
+    Files.writeString(file.toPath(), "model");
+
+    return file;
+  }
+}
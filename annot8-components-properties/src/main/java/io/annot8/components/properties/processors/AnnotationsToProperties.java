@@ -14,7 +14,7 @@ import io.annot8.api.settings.Description;
 import io.annot8.common.components.AbstractProcessor;
 import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
-import io.annot8.components.base.utils.TypeUtils;
+import io.annot8.components.base.utils.WildcardMatcher;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,9 +42,14 @@ public class AnnotationsToProperties
 
   public static class Processor extends AbstractProcessor {
     private final Settings settings;
+    private final List<WildcardMatcher> annotationTypes;
 
     public Processor(Settings settings) {
       this.settings = settings;
+      this.annotationTypes =
+          settings.getAnnotationTypes().stream()
+              .map(WildcardMatcher::compile)
+              .collect(Collectors.toList());
     }
 
     @Override
@@ -52,10 +57,7 @@ public class AnnotationsToProperties
       Map<String, List<Annotation>> annotations =
           item.getContents()
               .flatMap(c -> c.getAnnotations().getAll())
-              .filter(
-                  a ->
-                      settings.annotationTypes.stream()
-                          .anyMatch(type -> TypeUtils.matchesWildcard(a.getType(), type)))
+              .filter(a -> annotationTypes.stream().anyMatch(type -> type.matches(a.getType())))
               .filter(a -> a.getProperties().has(settings.getPropertyNameKey()))
               .filter(a -> a.getProperties().has(settings.getPropertyValueKey()))
               .collect(
@@ -8,45 +8,125 @@ import io.annot8.components.base.text.processors.AbstractTextProcessor;
 import io.annot8.conventions.PropertyKeys;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Base class for quantity processors, which find numbers followed by a unit and normalise them to a
+ * single unit.
+ *
+ * <p>All of the units added by a processor are compiled into a single pattern, with a named group
+ * per unit, so that the text is only searched once however many units there are. The unit group
+ * which matched is then used to look up the normalization constant.
+ */
 public abstract class AbstractQuantityProcessor extends AbstractTextProcessor {
 
+  /** Numbers, which may contain thousand separators and a decimal point (e.g. 1,234.5) */
+  protected static final String NUMBER = "[0-9]+(?:[0-9\\.,]+[0-9])?";
+
+  /** Whole numbers, which may contain thousand separators (e.g. 1,234) */
+  protected static final String WHOLE_NUMBER = "[0-9]+(?:[0-9,]+[0-9])?";
+
+  /** Multipliers which can be used between the number and the unit (e.g. 5 million tonnes) */
+  protected static final String MULTIPLIERS = "thousand|million|billion|trillion";
+
+  // Powers of ten which are exactly representable as a double
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  // Longest run of digits which is guaranteed to fit in the 53 bit mantissa of a double
+  private static final int MAX_EXACT_DIGITS = 15;
+
   private final String annotationType;
   private final String normalizedUnit;
+  private final String numberPattern;
+  private final String multiplierPattern;
 
-  private final List<Pattern> patterns = new ArrayList<>();
-  private final List<Double> normalizationConstants = new ArrayList<>();
+  private final List<Unit> units = new ArrayList<>();
+  private Pattern pattern = null;
 
   public AbstractQuantityProcessor(String annotationType, String normalizedUnit) {
-    this.annotationType = annotationType;
-    this.normalizedUnit = normalizedUnit;
+    this(annotationType, normalizedUnit, NUMBER, MULTIPLIERS);
   }
 
-  protected void add(Pattern pattern, double normalizationConstant) {
-    patterns.add(pattern);
-    normalizationConstants.add(normalizationConstant);
+  /**
+   * @param annotationType The type of annotation to create
+   * @param normalizedUnit The unit that values are normalized to
+   * @param numberPattern Regular expression for the number, which must not contain any capturing
+   *     groups
+   * @param multiplierPattern Alternation of the multipliers which may follow the number, or null if
+   *     multipliers aren't allowed
+   */
+  public AbstractQuantityProcessor(
+      String annotationType,
+      String normalizedUnit,
+      String numberPattern,
+      String multiplierPattern) {
+    this.annotationType = annotationType;
+    this.normalizedUnit = normalizedUnit;
+    this.numberPattern = numberPattern;
+    this.multiplierPattern = multiplierPattern;
   }
 
-  @Override
-  protected void process(Text content) {
-    for (int i = 0; i < patterns.size(); i++) {
-      process(content, patterns.get(i), normalizationConstants.get(i));
-    }
+  /**
+   * Add a unit to this processor
+   *
+   * @param unitPattern Regular expression for the unit, including any optional plural (e.g. {@code
+   *     (km|kilometre)(s)?}). It will be matched case insensitively, and must be followed by a word
+   *     boundary.
+   * @param normalizationConstant The normalization factor to multiply the extracted value by
+   */
+  protected void add(String unitPattern, double normalizationConstant) {
+    add(unitPattern, normalizationConstant, number -> true);
   }
 
   /**
-   * Process a Content object for a pattern
+   * Add a unit to this processor, which is only annotated if the number is accepted by the filter
    *
-   * @param content The Content object containing the text to process
-   * @param pattern The first group must be the number and the second group must be the multiplier
-   *     (e.g. million)
-   * @param normalization The normalization factor to multiply the extracted value by
+   * @see #add(String, double)
    */
-  protected void process(Text content, Pattern pattern, double normalization) {
-    Matcher m = pattern.matcher(content.getData());
+  protected void add(String unitPattern, double normalizationConstant, Predicate<String> filter) {
+    units.add(new Unit("unit" + units.size(), unitPattern, normalizationConstant, filter));
+    pattern = null;
+  }
+
+  private Pattern getPattern() {
+    if (pattern == null) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("\\b(?<number>").append(numberPattern).append(")[ ]?");
+      if (multiplierPattern != null) {
+        sb.append("(?<multiplier>").append(multiplierPattern).append(")?[ ]?");
+      }
+
+      sb.append("(?:");
+      for (int i = 0; i < units.size(); i++) {
+        if (i > 0) sb.append('|');
+
+        Unit unit = units.get(i);
+        sb.append("(?<").append(unit.group).append('>').append(unit.pattern).append(')');
+      }
+      sb.append(")\\b");
+
+      pattern = Pattern.compile(sb.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    return pattern;
+  }
+
+  @Override
+  protected void process(Text content) {
+    if (units.isEmpty()) return;
+
+    Matcher m = getPattern().matcher(content.getData());
     while (m.find()) {
+      Unit unit = matchedUnit(m);
+
+      String number = m.group("number");
+      if (!unit.filter.test(number)) continue;
+
       Builder builder =
           content
               .getAnnotations()
@@ -55,11 +135,12 @@ public abstract class AbstractQuantityProcessor extends AbstractTextProcessor {
               .withBounds(new SpanBounds(m.start(), m.end()));
 
       try {
+        String multiplier = multiplierPattern == null ? null : m.group("multiplier");
         builder =
             builder
                 .withProperty(
                     PropertyKeys.PROPERTY_KEY_VALUE,
-                    normalise(m.group(1), m.group(2), normalization))
+                    normalise(number, multiplier, unit.normalizationConstant))
                 .withProperty(PropertyKeys.PROPERTY_KEY_UNIT, normalizedUnit);
       } catch (Exception e) {
         log().warn("Unable to parse and normalise value", e);
@@ -69,12 +150,24 @@ public abstract class AbstractQuantityProcessor extends AbstractTextProcessor {
     }
   }
 
+  private Unit matchedUnit(Matcher m) {
+    for (Unit unit : units) {
+      if (m.start(unit.group) != -1) return unit;
+    }
+
+    // Unreachable, as the pattern can't match without one of the units
+    throw new IllegalStateException("No unit matched");
+  }
+
   private static double normalise(String number, String multiplier, double normalization) {
-    double n = Double.parseDouble(number.replaceAll("[^0-9\\.]", ""));
+    double n = parseNumber(number);
 
     long m = 1L;
     if (multiplier != null) {
       switch (multiplier.toLowerCase()) {
+        case "hundred":
+          m = 100L;
+          break;
         case "thousand":
           m = 1000L;
           break;
@@ -92,4 +185,62 @@ public abstract class AbstractQuantityProcessor extends AbstractTextProcessor {
 
     return n * m * normalization;
   }
+
+  /**
+   * Parse a number, ignoring any characters other than digits and the decimal point (e.g. thousand
+   * separators). This gives the same result as {@link Double#parseDouble(String)} on the digits and
+   * decimal point, without creating any intermediate strings.
+   *
+   * @throws NumberFormatException if there are no digits or more than one decimal point
+   */
+  static double parseNumber(String number) {
+    long mantissa = 0L;
+    int digits = 0;
+    int scale = -1;
+    boolean seenDigit = false;
+
+    for (int i = 0; i < number.length(); i++) {
+      char c = number.charAt(i);
+      if (c >= '0' && c <= '9') {
+        if (digits == MAX_EXACT_DIGITS) return parseNumberSlowly(number);
+
+        // Leading zeros don't count towards the precision
+        if (mantissa != 0 || c != '0') digits++;
+        mantissa = mantissa * 10 + (c - '0');
+        seenDigit = true;
+
+        if (scale >= 0) scale++;
+      } else if (c == '.') {
+        if (scale >= 0) throw new NumberFormatException("Multiple decimal points in " + number);
+        scale = 0;
+      }
+    }
+
+    if (!seenDigit) throw new NumberFormatException("No digits in " + number);
+
+    if (scale <= 0) return mantissa;
+    if (scale >= POWERS_OF_TEN.length) return parseNumberSlowly(number);
+
+    // Both operands are exact, so the division is correctly rounded
+    return mantissa / POWERS_OF_TEN[scale];
+  }
+
+  private static double parseNumberSlowly(String number) {
+    return Double.parseDouble(number.replaceAll("[^0-9\\.]", ""));
+  }
+
+  private static class Unit {
+    private final String group;
+    private final String pattern;
+    private final double normalizationConstant;
+    private final Predicate<String> filter;
+
+    private Unit(
+        String group, String pattern, double normalizationConstant, Predicate<String> filter) {
+      this.group = group;
+      this.pattern = pattern;
+      this.normalizationConstant = normalizationConstant;
+      this.filter = filter;
+    }
+  }
 }
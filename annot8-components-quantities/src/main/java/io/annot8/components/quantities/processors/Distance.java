@@ -12,7 +12,6 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.conventions.AnnotationTypes;
-import java.util.regex.Pattern;
 
 @ComponentName("Distance")
 @ComponentDescription("Extract distances from text")
@@ -40,56 +39,19 @@ public class Distance extends AbstractProcessorDescriptor<Distance.Processor, No
     private static final double IN_TO_M = 0.0254;
     private static final double NM_TO_M = 1852.0; // Nautical miles
 
-    private final Pattern kmPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(km|kilometre|kilometer|click)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern mPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(m|metre|meter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern cmPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(cm|centimetre|centimeter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern mmPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(mm|millimetre|millimeter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern miPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(mile)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern ydPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(yard|yd)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern ftPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(foot|feet|ft)\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern inPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(inch|inches)\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern nmPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(hundred|thousand|million|billion|trillion)?[ ]?(nm|nmi|nautical mile(s)?)\\b",
-            Pattern.CASE_INSENSITIVE);
-
     public Processor() {
-      super(AnnotationTypes.ANNOTATION_TYPE_DISTANCE, "m");
-
-      add(mmPattern, 0.001);
-      add(cmPattern, 0.01);
-      add(mPattern, 1.0);
-      add(kmPattern, 1000.0);
-
-      add(inPattern, IN_TO_M);
-      add(ftPattern, FT_TO_M);
-      add(ydPattern, YD_TO_M);
-      add(miPattern, MI_TO_M);
-      add(nmPattern, NM_TO_M);
+      super(AnnotationTypes.ANNOTATION_TYPE_DISTANCE, "m", NUMBER, "hundred|" + MULTIPLIERS);
+
+      add("(mm|millimetre|millimeter)(s)?", 0.001);
+      add("(cm|centimetre|centimeter)(s)?", 0.01);
+      add("(m|metre|meter)(s)?", 1.0);
+      add("(km|kilometre|kilometer|click)(s)?", 1000.0);
+
+      add("(inch|inches)", IN_TO_M);
+      add("(foot|feet|ft)", FT_TO_M);
+      add("(yard|yd)(s)?", YD_TO_M);
+      add("(mile)(s)?", MI_TO_M);
+      add("(nm|nmi|nautical mile(s)?)", NM_TO_M);
     }
   }
 }
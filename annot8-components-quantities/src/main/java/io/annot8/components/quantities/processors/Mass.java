@@ -12,7 +12,6 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.conventions.AnnotationTypes;
-import java.util.regex.Pattern;
 
 @ComponentName("Mass")
 @ComponentDescription("Extract mass from text")
@@ -39,50 +38,17 @@ public class Mass extends AbstractProcessorDescriptor<Mass.Processor, NoSettings
     private static final double POUNDS_TO_KG = 0.45359237;
     private static final double OUNCES_TO_KG = 0.028349523125;
 
-    private final Pattern tonnePattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(tonne)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern kgPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(kg|kilogram|kilo)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern gPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(g|gram)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern mgPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(mg|milligram)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern tonPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(ton)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern lbPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(pound|lb)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern stonePattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(st|stone)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern ozPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(oz|ounce)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-
     public Processor() {
       super(AnnotationTypes.ANNOTATION_TYPE_MASS, "kg");
 
-      add(tonnePattern, 1000.0);
-      add(kgPattern, 1.0);
-      add(gPattern, 0.001);
-      add(mgPattern, 0.000001);
-      add(tonPattern, LONG_TON_TO_KG);
-      add(lbPattern, POUNDS_TO_KG);
-      add(stonePattern, STONE_TO_KG);
-      add(ozPattern, OUNCES_TO_KG);
+      add("(tonne)(s)?", 1000.0);
+      add("(kg|kilogram|kilo)(s)?", 1.0);
+      add("(g|gram)(s)?", 0.001);
+      add("(mg|milligram)(s)?", 0.000001);
+      add("(ton)(s)?", LONG_TON_TO_KG);
+      add("(pound|lb)(s)?", POUNDS_TO_KG);
+      add("(st|stone)(s)?", STONE_TO_KG);
+      add("(oz|ounce)(s)?", OUNCES_TO_KG);
     }
   }
 }
@@ -12,9 +12,6 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.conventions.AnnotationTypes;
-import io.annot8.conventions.PropertyKeys;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Annotate times within a document using regular expressions
@@ -57,62 +54,23 @@ public class Time extends AbstractProcessorDescriptor<Time.Processor, NoSettings
 
     public static final String UNIT = "s";
 
-    private final Pattern yearPattern =
-        Pattern.compile("\\b([0-9]+([0-9,]+[0-9])?)[ ]?(year|yr)(s)?\\b", Pattern.CASE_INSENSITIVE);
-    private final Pattern monthPattern =
-        Pattern.compile("\\b([0-9]+([0-9,]+[0-9])?)[ ]?(month)(s)?\\b", Pattern.CASE_INSENSITIVE);
-    private final Pattern weekPattern =
-        Pattern.compile("\\b([0-9]+([0-9,]+[0-9])?)[ ]?(week|wk)(s)?\\b", Pattern.CASE_INSENSITIVE);
-    private final Pattern dayPattern =
-        Pattern.compile("\\b([0-9]+([0-9,]+[0-9])?)[ ]?(day)(s)?\\b", Pattern.CASE_INSENSITIVE);
-    private final Pattern hourPattern =
-        Pattern.compile("\\b([0-9]+([0-9,]+[0-9])?)[ ]?(hour|hr)(s)?\\b", Pattern.CASE_INSENSITIVE);
-    private final Pattern minutePattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9,]+[0-9])?)[ ]?(minute|min)(s)?\\b", Pattern.CASE_INSENSITIVE);
-    private final Pattern secondPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9,]+[0-9])?)[ ]?(second|sec)(s)?\\b", Pattern.CASE_INSENSITIVE);
-
     public Processor() {
-      super(AnnotationTypes.ANNOTATION_TYPE_QUANTITY, UNIT);
-
-      add(yearPattern, YEAR_TO_SECOND);
-      add(monthPattern, MONTH_TO_SECOND);
-      add(weekPattern, WEEK_TO_SECOND);
-      add(dayPattern, DAY_TO_SECOND);
-      add(minutePattern, MINUTE_TO_SECOND);
-      add(secondPattern, 1);
+      super(AnnotationTypes.ANNOTATION_TYPE_QUANTITY, UNIT, WHOLE_NUMBER, null);
+
+      add("(year|yr)(s)?", YEAR_TO_SECOND);
+      add("(month)(s)?", MONTH_TO_SECOND);
+      add("(week|wk)(s)?", WEEK_TO_SECOND);
+      add("(day)(s)?", DAY_TO_SECOND);
+      add("(hour|hr)(s)?", HOUR_TO_SECOND, q -> !isTimeOfDay(q));
+      add("(minute|min)(s)?", MINUTE_TO_SECOND);
+      add("(second|sec)(s)?", 1);
     }
 
-    @Override
-    protected void process(Text content) {
-      // Handle hours ourselves separately...
-
-      Matcher matcher = hourPattern.matcher(content.getData());
-      while (matcher.find()) {
-
-        String q = matcher.group(1);
-        if (q.length() == 4
-            && Integer.parseInt(q.substring(0, 2)) <= 23
-            && Integer.parseInt(q.substring(2)) <= 59) {
-          continue;
-        }
-
-        content
-            .getAnnotations()
-            .create()
-            .withType(AnnotationTypes.ANNOTATION_TYPE_QUANTITY)
-            .withBounds(new SpanBounds(matcher.start(), matcher.end()))
-            .withProperty(
-                PropertyKeys.PROPERTY_KEY_VALUE,
-                Double.parseDouble(matcher.group(1).replaceAll("[^0-9\\.]", "")) * HOUR_TO_SECOND)
-            .withProperty(PropertyKeys.PROPERTY_KEY_UNIT, UNIT)
-            .save();
-      }
-
-      // ...and then hand off to the AbstractQuantityProcessor for everything else
-      super.process(content);
+    private static boolean isTimeOfDay(String q) {
+      return q.length() == 4
+          && q.chars().allMatch(Character::isDigit)
+          && Integer.parseInt(q.substring(0, 2)) <= 23
+          && Integer.parseInt(q.substring(2)) <= 59;
     }
   }
 }
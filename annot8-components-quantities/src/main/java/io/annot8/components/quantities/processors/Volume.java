@@ -12,7 +12,6 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.conventions.AnnotationTypes;
-import java.util.regex.Pattern;
 
 @ComponentName("Volume")
 @ComponentDescription("Extract volumes from text")
@@ -37,42 +36,17 @@ public class Volume extends AbstractProcessorDescriptor<Volume.Processor, NoSett
     private static final double PINT_TO_M3 = 0.000568;
     private static final double GALLON_TO_M3 = 0.00454609;
 
-    private final Pattern m3Pattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(m\\^3|cubic metre|cubic meter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern cm3Pattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(cm\\^3|cubic centimetre|cubic centimeter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern lPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(l|litre|liter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern mlPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(ml|millilitre|milliliter)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern pintPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(pt|pint)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-    private final Pattern gallonPattern =
-        Pattern.compile(
-            "\\b([0-9]+([0-9\\.,]+[0-9])?)[ ]?(thousand|million|billion|trillion)?[ ]?(gal|gallon)(s)?\\b",
-            Pattern.CASE_INSENSITIVE);
-
     public Processor() {
       super(AnnotationTypes.ANNOTATION_TYPE_VOLUME, "m^3");
 
-      add(cm3Pattern, 0.000001);
-      add(m3Pattern, 1.0);
+      add("(cm\\^3|cubic centimetre|cubic centimeter)(s)?", 0.000001);
+      add("(m\\^3|cubic metre|cubic meter)(s)?", 1.0);
 
-      add(mlPattern, 0.000001);
-      add(lPattern, 0.001);
+      add("(ml|millilitre|milliliter)(s)?", 0.000001);
+      add("(l|litre|liter)(s)?", 0.001);
 
-      add(pintPattern, PINT_TO_M3);
-      add(gallonPattern, GALLON_TO_M3);
+      add("(pt|pint)(s)?", PINT_TO_M3);
+      add("(gal|gallon)(s)?", GALLON_TO_M3);
     }
   }
 }
@@ -0,0 +1,36 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.quantities.processors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class AbstractQuantityProcessorTest {
+
+  @Test
+  public void testParseNumber() {
+    assertEquals(0.0, AbstractQuantityProcessor.parseNumber("0"));
+    assertEquals(42.0, AbstractQuantityProcessor.parseNumber("42"));
+    assertEquals(86400.0, AbstractQuantityProcessor.parseNumber("86,400"));
+    assertEquals(1234.5, AbstractQuantityProcessor.parseNumber("1,234.5"));
+    assertEquals(0.1, AbstractQuantityProcessor.parseNumber("0.1"));
+    assertEquals(0.007, AbstractQuantityProcessor.parseNumber("0.007"));
+  }
+
+  @Test
+  public void testParseNumberSameAsDouble() {
+    for (String s :
+        new String[] {
+          "3.14159265358979323846", "123456789012345678", "0.000000000000000000000001", "9.99"
+        }) {
+      assertEquals(Double.parseDouble(s), AbstractQuantityProcessor.parseNumber(s));
+    }
+  }
+
+  @Test
+  public void testParseNumberInvalid() {
+    assertThrows(NumberFormatException.class, () -> AbstractQuantityProcessor.parseNumber("1.2.3"));
+    assertThrows(NumberFormatException.class, () -> AbstractQuantityProcessor.parseNumber(","));
+  }
+}
@@ -57,4 +57,15 @@ public class DistanceTest extends AbstractQuantityTest {
   public void testNauticalMiles() throws Exception {
     test("It was 4 nautical miles wide.", "4 nautical miles", 7408.0);
   }
+
+  @Test
+  public void testMultiplier() throws Exception {
+    test("It was 2 thousand km away.", "2 thousand km", 2000000.0);
+    test("It was 1.5 hundred yards away.", "1.5 hundred yards", 137.16);
+  }
+
+  @Test
+  public void testMultipleUnits() throws Exception {
+    testCount("It was 5 miles, or 8 km, or 26,400 ft, away.", 3);
+  }
 }
@@ -40,5 +40,10 @@ public class HashTag extends AbstractProcessorDescriptor<HashTag.Processor, NoSe
           0,
           AnnotationTypes.ANNOTATION_TYPE_HASHTAG);
     }
+
+    @Override
+    protected String requiredCharacters() {
+      return "#";
+    }
   }
 }
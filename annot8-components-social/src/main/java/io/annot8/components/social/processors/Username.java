@@ -40,5 +40,10 @@ public class Username extends AbstractProcessorDescriptor<Username.Processor, No
           0,
           AnnotationTypes.ANNOTATION_TYPE_USERNAME);
     }
+
+    @Override
+    protected String requiredCharacters() {
+      return "@";
+    }
   }
 }
@@ -0,0 +1,370 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.spacy.processors;
+
+import io.annot8.api.capabilities.Capabilities;
+import io.annot8.api.components.annotations.ComponentDescription;
+import io.annot8.api.components.annotations.ComponentName;
+import io.annot8.api.components.annotations.ComponentTags;
+import io.annot8.api.components.annotations.SettingsClass;
+import io.annot8.api.components.responses.ProcessorResponse;
+import io.annot8.api.context.Context;
+import io.annot8.api.data.Item;
+import io.annot8.api.exceptions.ProcessingException;
+import io.annot8.api.settings.Description;
+import io.annot8.common.components.AbstractProcessorDescriptor;
+import io.annot8.common.components.capabilities.SimpleCapabilities;
+import io.annot8.common.data.bounds.SpanBounds;
+import io.annot8.common.data.content.Text;
+import io.annot8.conventions.AnnotationTypes;
+import io.annot8.conventions.PropertyKeys;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.openapi.spacy.ApiException;
+import org.openapi.spacy.model.NERRequest;
+import org.openapi.spacy.model.NERResponse;
+import org.openapi.spacy.model.NERResponseData;
+import org.openapi.spacy.model.PartsOfSpeech;
+import org.openapi.spacy.model.PartsOfSpeechData;
+import org.openapi.spacy.model.PartsOfSpeechTags;
+
+@ComponentName("SpaCy Batch")
+@ComponentDescription(
+    "Use SpaCy (via SpaCy Server) to annotate Sentences, Tokens, Part of Speech tags and Entities in text, sending batches of Text content to the server in a single request")
+@SettingsClass(SpacyBatch.Settings.class)
+@ComponentTags({"spacy", "sentences", "tokens", "pos", "ner"})
+public class SpacyBatch
+    extends AbstractProcessorDescriptor<SpacyBatch.Processor, SpacyBatch.Settings> {
+
+  @Override
+  protected Processor createComponent(Context context, SpacyBatch.Settings settings) {
+    return new Processor(settings);
+  }
+
+  @Override
+  public Capabilities capabilities() {
+    SimpleCapabilities.Builder builder =
+        new SimpleCapabilities.Builder().withProcessesContent(Text.class);
+
+    if (getSettings().isAddSentences())
+      builder.withCreatesAnnotations(AnnotationTypes.ANNOTATION_TYPE_SENTENCE, SpanBounds.class);
+
+    if (getSettings().isAddTokens())
+      builder.withCreatesAnnotations(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN, SpanBounds.class);
+
+    if (getSettings().isAddEntities())
+      SpacyNER.Processor.nerLabelMapping
+          .values()
+          .forEach(v -> builder.withCreatesAnnotations(v, SpanBounds.class));
+
+    return builder.build();
+  }
+
+  /**
+   * Processor that sends the Text content of an item to SpaCy Server in batches, rather than making
+   * a separate request (or several) for each content.
+   *
+   * <p>If only entities are required, then each batch is sent to the NER API as a list of sections.
+   * Otherwise, the contents of the batch are joined (separated by a blank line) and sent to the POS
+   * API, which returns sentences, tokens and entities in a single response. The results are then
+   * mapped back onto the original contents, and nothing that crosses a content boundary is
+   * annotated.
+   *
+   * <p>Requests are made concurrently, up to the configured concurrency, but annotations are always
+   * created on the calling thread.
+   */
+  public static class Processor extends SpacyServerProcessor {
+    protected static final String SEPARATOR = "\n\n";
+
+    private final SpacyBatch.Settings settings;
+    private final ExecutorService executor;
+
+    public Processor(SpacyBatch.Settings settings) {
+      super(settings);
+
+      this.settings = settings;
+
+      if (settings.getConcurrency() > 1) {
+        executor =
+            Executors.newFixedThreadPool(
+                settings.getConcurrency(),
+                r -> {
+                  Thread t = new Thread(r, "annot8-spacy-batch");
+                  t.setDaemon(true);
+                  return t;
+                });
+      } else {
+        executor = null;
+      }
+    }
+
+    @Override
+    public ProcessorResponse process(Item item) {
+      List<Text> contents =
+          item.getContents(Text.class).filter(this::accept).collect(Collectors.toList());
+
+      List<Callable<Runnable>> requests = new ArrayList<>();
+      for (int i = 0; i < contents.size(); i += settings.getBatchSize()) {
+        List<Text> batch =
+            contents.subList(i, Math.min(i + settings.getBatchSize(), contents.size()));
+        requests.add(() -> request(batch));
+      }
+
+      List<Exception> exceptions = new LinkedList<>();
+
+      if (executor == null) {
+        for (Callable<Runnable> request : requests) {
+          try {
+            request.call().run();
+          } catch (Exception e) {
+            exceptions.add(e);
+          }
+        }
+      } else {
+        List<Future<Runnable>> futures =
+            requests.stream().map(executor::submit).collect(Collectors.toList());
+
+        for (Future<Runnable> future : futures) {
+          try {
+            future.get().run();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            exceptions.add(e);
+            break;
+          } catch (ExecutionException e) {
+            exceptions.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+          } catch (Exception e) {
+            exceptions.add(e);
+          }
+        }
+      }
+
+      return exceptions.isEmpty()
+          ? ProcessorResponse.ok()
+          : ProcessorResponse.itemError(exceptions);
+    }
+
+    @Override
+    protected void process(Text content) {
+      request(List.of(content)).run();
+    }
+
+    /**
+     * Send a batch of content to the server, and return a Runnable that will annotate the content
+     * with the response
+     */
+    private Runnable request(List<Text> batch) {
+      if (settings.isAddSentences() || settings.isAddTokens()) {
+        int[] offsets = new int[batch.size()];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+          if (i > 0) sb.append(SEPARATOR);
+
+          offsets[i] = sb.length();
+          sb.append(batch.get(i).getData());
+        }
+
+        org.openapi.spacy.model.Text t = new org.openapi.spacy.model.Text();
+        t.setText(sb.toString());
+
+        PartsOfSpeech pos;
+        try {
+          pos = client.pos(t);
+        } catch (ApiException e) {
+          throw new ProcessingException("An error occurred whilst using the SpaCy POS API", e);
+        }
+
+        return () -> annotate(batch, offsets, pos);
+      } else {
+        NERRequest request = new NERRequest();
+        request.setSections(batch.stream().map(Text::getData).collect(Collectors.toList()));
+        request.setSense2vec(false);
+
+        NERResponse response;
+        try {
+          response = client.ner(request);
+        } catch (ApiException e) {
+          throw new ProcessingException("An error occurred whilst using the SpaCy NER API", e);
+        }
+
+        if (response.getData().size() != batch.size())
+          throw new ProcessingException(
+              "SpaCy NER API returned "
+                  + response.getData().size()
+                  + " sections, but "
+                  + batch.size()
+                  + " were expected");
+
+        return () -> annotate(batch, response);
+      }
+    }
+
+    private void annotate(List<Text> batch, NERResponse response) {
+      for (int i = 0; i < batch.size(); i++) {
+        Text content = batch.get(i);
+        NERResponseData data = response.getData().get(i);
+
+        data.getEntities()
+            .forEach(
+                e ->
+                    content
+                        .getAnnotations()
+                        .create()
+                        .withBounds(new SpanBounds(e.getStartChar(), e.getEndChar()))
+                        .withType(toNerLabel(e.getLabel()))
+                        .withProperty(PropertyKeys.PROPERTY_KEY_LEMMA, e.getLemma())
+                        .save());
+      }
+    }
+
+    private void annotate(List<Text> batch, int[] offsets, PartsOfSpeech pos) {
+      // Tags are returned in order, so we can track the current content with a single cursor
+      int current = 0;
+
+      for (PartsOfSpeechData sentence : pos.getData()) {
+        Span sentenceSpan = null;
+        Span entitySpan = null;
+
+        for (PartsOfSpeechTags tag : sentence.getTags()) {
+          int begin = tag.getCharOffset();
+          int end = begin + tag.getText().length();
+
+          while (current < batch.size() - 1 && begin >= offsets[current + 1]) current++;
+
+          int contentBegin = offsets[current];
+          int contentEnd = contentBegin + batch.get(current).getData().length();
+
+          if (begin < contentBegin || end > contentEnd) {
+            // Tag lies (at least partially) within the separator, so end any open spans here
+            sentenceSpan = saveSentence(batch, sentenceSpan);
+            entitySpan = saveEntity(batch, entitySpan);
+            continue;
+          }
+
+          if (sentenceSpan == null || sentenceSpan.content != current) {
+            saveSentence(batch, sentenceSpan);
+            sentenceSpan = new Span(current, begin - contentBegin, null);
+          }
+          sentenceSpan.end = end - contentBegin;
+
+          if (settings.isAddTokens()) {
+            batch
+                .get(current)
+                .getAnnotations()
+                .create()
+                .withBounds(new SpanBounds(begin - contentBegin, end - contentBegin))
+                .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+                .withProperty(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, tag.getTag())
+                .withProperty(PropertyKeys.PROPERTY_KEY_LEMMA, tag.getLemma())
+                .withProperty(PropertyKeys.PROPERTY_KEY_LANGUAGE, tag.getLang())
+                .save();
+          }
+
+          if (tag.getEntIob().equals(PartsOfSpeechTags.EntIobEnum.I)
+              && entitySpan != null
+              && entitySpan.content == current) {
+            entitySpan.end = end - contentBegin;
+          } else {
+            entitySpan = saveEntity(batch, entitySpan);
+
+            if (!tag.getEntIob().equals(PartsOfSpeechTags.EntIobEnum.O)
+                && tag.getEntType() != null
+                && !tag.getEntType().isEmpty()) {
+              entitySpan = new Span(current, begin - contentBegin, tag.getEntType());
+              entitySpan.end = end - contentBegin;
+            }
+          }
+        }
+
+        saveSentence(batch, sentenceSpan);
+        saveEntity(batch, entitySpan);
+      }
+    }
+
+    private Span saveSentence(List<Text> batch, Span span) {
+      if (span != null && settings.isAddSentences()) {
+        batch
+            .get(span.content)
+            .getAnnotations()
+            .create()
+            .withBounds(new SpanBounds(span.begin, span.end))
+            .withType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
+            .save();
+      }
+
+      return null;
+    }
+
+    private Span saveEntity(List<Text> batch, Span span) {
+      if (span != null && settings.isAddEntities()) {
+        batch
+            .get(span.content)
+            .getAnnotations()
+            .create()
+            .withBounds(new SpanBounds(span.begin, span.end))
+            .withType(toNerLabel(span.type))
+            .save();
+      }
+
+      return null;
+    }
+
+    @Override
+    public void close() {
+      if (executor != null) executor.shutdownNow();
+    }
+
+    private static class Span {
+      private final int content;
+      private final int begin;
+      private final String type;
+      private int end;
+
+      private Span(int content, int begin, String type) {
+        this.content = content;
+        this.begin = begin;
+        this.type = type;
+        this.end = begin;
+      }
+    }
+  }
+
+  public static class Settings extends Spacy.Settings {
+    private int batchSize = 20;
+    private int concurrency = 1;
+
+    @Override
+    public boolean validate() {
+      return super.validate() && batchSize > 0 && concurrency > 0;
+    }
+
+    @Description(
+        value = "Maximum number of Text content to send to the server in a single request",
+        defaultValue = "20")
+    public int getBatchSize() {
+      return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+      this.batchSize = batchSize;
+    }
+
+    @Description(
+        value = "Maximum number of requests to make to the server concurrently",
+        defaultValue = "1")
+    public int getConcurrency() {
+      return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+      this.concurrency = concurrency;
+    }
+  }
+}
@@ -12,8 +12,8 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
+import io.annot8.components.base.text.utils.TokenAligner;
 import io.annot8.conventions.AnnotationTypes;
-import java.util.ArrayList;
 import java.util.List;
 import org.openapi.spacy.ApiException;
 import org.openapi.spacy.model.Sentences;
@@ -53,28 +53,19 @@ public class SpacySentences
         throw new ProcessingException("An error occurred whilst using the SpaCy Sentences API", e);
       }
 
-      int pos = 0;
+      String text = content.getData();
+      List<String> sents = sentences.getSentences();
+      int[] begins = TokenAligner.align(text, sents);
 
-      List<String> sentLoop = new ArrayList<>(sentences.getSentences());
-      while (!sentLoop.isEmpty()) {
-        String sent = sentLoop.remove(0);
+      for (int i = 0; i < begins.length; i++) {
+        if (begins[i] == TokenAligner.NOT_FOUND) continue;
 
-        while (pos < content.getData().length()) {
-          if (content.getData().startsWith(sent, pos)) {
-            // Create sentence
-            content
-                .getAnnotations()
-                .create()
-                .withType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
-                .withBounds(new SpanBounds(pos, pos + sent.length()))
-                .save();
-
-            pos += sent.length();
-            break;
-          } else {
-            pos++;
-          }
-        }
+        content
+            .getAnnotations()
+            .create()
+            .withType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE)
+            .withBounds(new SpanBounds(begins[i], begins[i] + sents.get(i).length()))
+            .save();
       }
     }
   }
@@ -12,8 +12,8 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
+import io.annot8.components.base.text.utils.TokenAligner;
 import io.annot8.conventions.AnnotationTypes;
-import java.util.ArrayList;
 import java.util.List;
 import org.openapi.spacy.ApiException;
 import org.openapi.spacy.model.Tokens;
@@ -53,28 +53,19 @@ public class SpacyTokens
         throw new ProcessingException("An error occurred whilst using the SpaCy Tokens API", e);
       }
 
-      int pos = 0;
+      String text = content.getData();
+      List<String> toks = tokens.getTokens();
+      int[] begins = TokenAligner.align(text, toks);
 
-      List<String> tokLoop = new ArrayList<>(tokens.getTokens());
-      while (!tokLoop.isEmpty()) {
-        String tok = tokLoop.remove(0);
+      for (int i = 0; i < begins.length; i++) {
+        if (begins[i] == TokenAligner.NOT_FOUND) continue;
 
-        while (pos < content.getData().length()) {
-          if (content.getData().startsWith(tok, pos)) {
-            // Create sentence
-            content
-                .getAnnotations()
-                .create()
-                .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
-                .withBounds(new SpanBounds(pos, pos + tok.length()))
-                .save();
-
-            pos += tok.length();
-            break;
-          } else {
-            pos++;
-          }
-        }
+        content
+            .getAnnotations()
+            .create()
+            .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+            .withBounds(new SpanBounds(begins[i], begins[i] + toks.get(i).length()))
+            .save();
       }
     }
   }
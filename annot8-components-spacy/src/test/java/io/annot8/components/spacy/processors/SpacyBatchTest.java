@@ -0,0 +1,180 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.spacy.processors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.annot8.api.annotations.Annotation;
+import io.annot8.api.components.responses.ProcessorResponse;
+import io.annot8.api.data.Item;
+import io.annot8.common.data.content.Text;
+import io.annot8.common.data.utils.SortUtils;
+import io.annot8.conventions.AnnotationTypes;
+import io.annot8.conventions.PropertyKeys;
+import io.annot8.testing.testimpl.TestItem;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SpacyBatchTest {
+  private StubSpacyServer server;
+  private Item item;
+  private Text t1;
+  private Text t2;
+  private Text t3;
+
+  @BeforeEach
+  public void beforeEach() throws Exception {
+    server = new StubSpacyServer();
+
+    item = new TestItem();
+    t1 = item.createContent(Text.class).withData("Alice Smith met Bob.").save();
+    t2 = item.createContent(Text.class).withData("Carol went to see Dave").save();
+    t3 = item.createContent(Text.class).withData("Eve left.").save();
+  }
+
+  @AfterEach
+  public void afterEach() throws Exception {
+    server.close();
+  }
+
+  @Test
+  public void testSingleRequest() {
+    SpacyBatch.Settings s = new SpacyBatch.Settings();
+    s.setBaseUri(server.getBaseUri());
+
+    try (SpacyBatch.Processor p = new SpacyBatch.Processor(s)) {
+      assertEquals(ProcessorResponse.ok(), p.process(item));
+    }
+
+    assertEquals(List.of("/pos"), server.getRequests());
+
+    assertEquals(
+        List.of("Alice Smith met Bob."), covered(t1, AnnotationTypes.ANNOTATION_TYPE_SENTENCE));
+    assertEquals(
+        List.of("Carol went to see Dave"), covered(t2, AnnotationTypes.ANNOTATION_TYPE_SENTENCE));
+    assertEquals(List.of("Eve left."), covered(t3, AnnotationTypes.ANNOTATION_TYPE_SENTENCE));
+
+    assertEquals(
+        List.of("Alice", "Smith", "met", "Bob", "."),
+        covered(t1, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN));
+    assertEquals(
+        List.of("Carol", "went", "to", "see", "Dave"),
+        covered(t2, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN));
+    assertEquals(
+        List.of("Eve", "left", "."), covered(t3, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN));
+
+    Annotation token =
+        t1.getAnnotations()
+            .getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+            .sorted(SortUtils.SORT_BY_SPANBOUNDS)
+            .findFirst()
+            .orElseThrow();
+    assertEquals(
+        "NNP", token.getProperties().get(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH).orElseThrow());
+    assertEquals("alice", token.getProperties().get(PropertyKeys.PROPERTY_KEY_LEMMA).orElseThrow());
+
+    assertEquals(
+        List.of("Alice Smith", "Bob"), covered(t1, AnnotationTypes.ANNOTATION_TYPE_PERSON));
+    assertEquals(List.of("Carol", "Dave"), covered(t2, AnnotationTypes.ANNOTATION_TYPE_PERSON));
+    // Entity must not continue across the content boundary
+    assertEquals(List.of("Eve"), covered(t3, AnnotationTypes.ANNOTATION_TYPE_PERSON));
+  }
+
+  @Test
+  public void testEntitiesOnly() {
+    SpacyBatch.Settings s = new SpacyBatch.Settings();
+    s.setBaseUri(server.getBaseUri());
+    s.setAddSentences(false);
+    s.setAddTokens(false);
+    s.setBatchSize(2);
+
+    try (SpacyBatch.Processor p = new SpacyBatch.Processor(s)) {
+      assertEquals(ProcessorResponse.ok(), p.process(item));
+    }
+
+    assertEquals(List.of("/ner", "/ner"), server.getRequests());
+
+    assertEquals(
+        0L,
+        item.getContents(Text.class)
+            .mapToLong(
+                t -> t.getAnnotations().getByType(AnnotationTypes.ANNOTATION_TYPE_SENTENCE).count())
+            .sum());
+    assertEquals(
+        0L,
+        item.getContents(Text.class)
+            .mapToLong(
+                t ->
+                    t.getAnnotations().getByType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN).count())
+            .sum());
+
+    assertEquals(
+        List.of("Alice Smith", "Bob"), covered(t1, AnnotationTypes.ANNOTATION_TYPE_PERSON));
+    assertEquals(List.of("Carol", "Dave"), covered(t2, AnnotationTypes.ANNOTATION_TYPE_PERSON));
+    assertEquals(List.of("Eve"), covered(t3, AnnotationTypes.ANNOTATION_TYPE_PERSON));
+  }
+
+  @Test
+  public void testConcurrency() {
+    SpacyBatch.Settings s = new SpacyBatch.Settings();
+    s.setBaseUri(server.getBaseUri());
+    s.setBatchSize(1);
+    s.setConcurrency(3);
+
+    try (SpacyBatch.Processor p = new SpacyBatch.Processor(s)) {
+      assertEquals(ProcessorResponse.ok(), p.process(item));
+    }
+
+    assertEquals(List.of("/pos", "/pos", "/pos"), server.getRequests());
+
+    assertEquals(
+        List.of("Alice", "Smith", "met", "Bob", "."),
+        covered(t1, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN));
+    assertEquals(
+        List.of("Carol", "went", "to", "see", "Dave"),
+        covered(t2, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN));
+    assertEquals(
+        List.of("Eve", "left", "."), covered(t3, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN));
+  }
+
+  @Test
+  public void testServerError() throws Exception {
+    SpacyBatch.Settings s = new SpacyBatch.Settings();
+    s.setBaseUri(server.getBaseUri());
+    server.close();
+
+    try (SpacyBatch.Processor p = new SpacyBatch.Processor(s)) {
+      assertEquals(ProcessorResponse.Status.ITEM_ERROR, p.process(item).getStatus());
+    }
+  }
+
+  @Test
+  public void testSettings() {
+    SpacyBatch.Settings s = new SpacyBatch.Settings();
+    assertTrue(s.validate());
+
+    s.setBatchSize(0);
+    assertFalse(s.validate());
+    s.setBatchSize(5);
+    assertEquals(5, s.getBatchSize());
+
+    s.setConcurrency(0);
+    assertFalse(s.validate());
+    s.setConcurrency(4);
+    assertEquals(4, s.getConcurrency());
+    assertTrue(s.validate());
+  }
+
+  private static List<String> covered(Text content, String type) {
+    return content
+        .getAnnotations()
+        .getByType(type)
+        .sorted(SortUtils.SORT_BY_SPANBOUNDS)
+        .map(a -> a.getBounds().getData(content).get())
+        .collect(Collectors.toList());
+  }
+}
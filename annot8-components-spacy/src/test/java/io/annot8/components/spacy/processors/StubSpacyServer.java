@@ -0,0 +1,211 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.spacy.processors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openapi.spacy.ApiClient;
+import org.openapi.spacy.model.NERRequest;
+import org.openapi.spacy.model.NERResponse;
+import org.openapi.spacy.model.NERResponseData;
+import org.openapi.spacy.model.NERResponseEntities;
+import org.openapi.spacy.model.PartsOfSpeech;
+import org.openapi.spacy.model.PartsOfSpeechData;
+import org.openapi.spacy.model.PartsOfSpeechTags;
+import org.openapi.spacy.model.Text;
+
+/**
+ * Minimal HTTP server implementing the POS and NER endpoints of SpaCy Server, for testing without a
+ * real server.
+ *
+ * <p>Tokens are words or single punctuation characters, sentences end with a full stop, and
+ * capitalised words are tagged as PERSON entities (consecutive capitalised words forming a single
+ * entity).
+ */
+public class StubSpacyServer implements AutoCloseable {
+  private static final Pattern TOKEN = Pattern.compile("\\w+|[^\\w\\s]");
+
+  private final ObjectMapper mapper = new ApiClient().getObjectMapper();
+  private final ServerSocket serverSocket;
+  private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+  public StubSpacyServer() throws IOException {
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+    Thread t = new Thread(this::run, "stub-spacy-server");
+    t.setDaemon(true);
+    t.start();
+  }
+
+  public String getBaseUri() {
+    return "http://localhost:" + serverSocket.getLocalPort();
+  }
+
+  /** Returns the paths of the requests received so far */
+  public List<String> getRequests() {
+    synchronized (requests) {
+      return new ArrayList<>(requests);
+    }
+  }
+
+  private void run() {
+    while (!serverSocket.isClosed()) {
+      try (Socket socket = serverSocket.accept()) {
+        handle(socket);
+      } catch (IOException e) {
+        // Server closed, or client went away
+      }
+    }
+  }
+
+  private void handle(Socket socket) throws IOException {
+    InputStream in = socket.getInputStream();
+
+    String requestLine = readLine(in);
+    if (requestLine == null) return;
+
+    int contentLength = 0;
+    String header;
+    while ((header = readLine(in)) != null && !header.isEmpty()) {
+      if (header.toLowerCase(Locale.ROOT).startsWith("content-length:"))
+        contentLength = Integer.parseInt(header.substring(15).trim());
+    }
+
+    byte[] body = in.readNBytes(contentLength);
+    String path = requestLine.split(" ")[1];
+    requests.add(path);
+
+    Object response;
+    if ("/pos".equals(path)) {
+      response = pos(mapper.readValue(body, Text.class).getText());
+    } else if ("/ner".equals(path)) {
+      response = ner(mapper.readValue(body, NERRequest.class).getSections());
+    } else {
+      response = null;
+    }
+
+    byte[] responseBody = response == null ? new byte[0] : mapper.writeValueAsBytes(response);
+
+    OutputStream out = socket.getOutputStream();
+    out.write(
+        ((response == null ? "HTTP/1.1 404 Not Found" : "HTTP/1.1 200 OK")
+                + "\r\nContent-Type: application/json\r\nContent-Length: "
+                + responseBody.length
+                + "\r\nConnection: close\r\n\r\n")
+            .getBytes(StandardCharsets.US_ASCII));
+    out.write(responseBody);
+    out.flush();
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+    int b;
+    while ((b = in.read()) != -1) {
+      if (b == '\n') return baos.toString(StandardCharsets.US_ASCII).stripTrailing();
+      baos.write(b);
+    }
+
+    return baos.size() == 0 ? null : baos.toString(StandardCharsets.US_ASCII);
+  }
+
+  private static PartsOfSpeech pos(String text) {
+    List<PartsOfSpeechData> sentences = new ArrayList<>();
+    List<PartsOfSpeechTags> tags = new ArrayList<>();
+    boolean previousCapitalised = false;
+
+    Matcher m = TOKEN.matcher(text);
+    while (m.find()) {
+      boolean capitalised = Character.isUpperCase(m.group().charAt(0));
+
+      PartsOfSpeechTags tag = new PartsOfSpeechTags();
+      tag.setCharOffset(m.start());
+      tag.setText(m.group());
+      tag.setTag(capitalised ? "NNP" : "NN");
+      tag.setLemma(m.group().toLowerCase(Locale.ROOT));
+      tag.setLang(PartsOfSpeechTags.LangEnum.EN);
+      if (capitalised) {
+        tag.setEntIob(
+            previousCapitalised ? PartsOfSpeechTags.EntIobEnum.I : PartsOfSpeechTags.EntIobEnum.B);
+        tag.setEntType("PERSON");
+      } else {
+        tag.setEntIob(PartsOfSpeechTags.EntIobEnum.O);
+        tag.setEntType("");
+      }
+      tags.add(tag);
+
+      previousCapitalised = capitalised;
+
+      if (".".equals(m.group())) {
+        sentences.add(sentence(text, tags));
+        tags = new ArrayList<>();
+        previousCapitalised = false;
+      }
+    }
+
+    if (!tags.isEmpty()) sentences.add(sentence(text, tags));
+
+    PartsOfSpeech pos = new PartsOfSpeech();
+    pos.setData(sentences);
+
+    return pos;
+  }
+
+  private static PartsOfSpeechData sentence(String text, List<PartsOfSpeechTags> tags) {
+    PartsOfSpeechTags last = tags.get(tags.size() - 1);
+
+    PartsOfSpeechData data = new PartsOfSpeechData();
+    data.setText(
+        text.substring(
+            tags.get(0).getCharOffset(), last.getCharOffset() + last.getText().length()));
+    data.setTags(tags);
+
+    return data;
+  }
+
+  private static NERResponse ner(List<String> sections) {
+    List<NERResponseData> data = new ArrayList<>();
+
+    for (String section : sections) {
+      List<NERResponseEntities> entities = new ArrayList<>();
+
+      Matcher m = Pattern.compile("\\p{Lu}\\w*(\\s+\\p{Lu}\\w*)*").matcher(section);
+      while (m.find()) {
+        NERResponseEntities entity = new NERResponseEntities();
+        entity.setText(m.group());
+        entity.setLabel("PERSON");
+        entity.setStartChar(m.start());
+        entity.setEndChar(m.end());
+        entity.setLemma(m.group().toLowerCase(Locale.ROOT));
+        entities.add(entity);
+      }
+
+      NERResponseData d = new NERResponseData();
+      d.setText(section);
+      d.setEntities(entities);
+      data.add(d);
+    }
+
+    NERResponse response = new NERResponse();
+    response.setData(data);
+
+    return response;
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+}
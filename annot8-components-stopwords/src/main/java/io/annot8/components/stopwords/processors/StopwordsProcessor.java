@@ -40,12 +40,10 @@ public class StopwordsProcessor extends AbstractProcessor {
                         .flatMap(t -> c.getAnnotations().getByBoundsAndType(SpanBounds.class, t));
               }
 
+              String data = c.getData();
               List<Annotation> toRemove =
                   annotations
-                      .filter(
-                          a ->
-                              stopwords.isStopword(
-                                  a.getBounds(SpanBounds.class).get().getData(c).orElse("")))
+                      .filter(a -> isStopword(data, a.getBounds(SpanBounds.class).get()))
                       .collect(Collectors.toList());
 
               if (!toRemove.isEmpty()) {
@@ -54,4 +52,16 @@ public class StopwordsProcessor extends AbstractProcessor {
             });
     return ProcessorResponse.ok();
   }
+
+  private boolean isStopword(String data, SpanBounds bounds) {
+    if (bounds.getBegin() < 0
+        || bounds.getEnd() > data.length()
+        || bounds.getBegin() > bounds.getEnd()) {
+      // Bounds aren't valid for this content, so there is no covered text
+      return stopwords.isStopword("");
+    }
+
+    // Look up the covered text directly, rather than creating a substring for every annotation
+    return stopwords.isStopword(data, bounds.getBegin(), bounds.getEnd());
+  }
 }
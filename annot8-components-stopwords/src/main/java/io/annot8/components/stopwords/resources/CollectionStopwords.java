@@ -6,11 +6,11 @@ import java.util.Collection;
 public class CollectionStopwords implements Stopwords {
 
   private final String language;
-  private final Collection<String> stopwords;
+  private final StopwordSet stopwords;
 
   public CollectionStopwords(String language, Collection<String> stopwords) {
     this.language = language;
-    this.stopwords = stopwords;
+    this.stopwords = new StopwordSet(stopwords);
   }
 
   @Override
@@ -20,9 +20,11 @@ public class CollectionStopwords implements Stopwords {
 
   @Override
   public boolean isStopword(String word) {
-    return stopwords.stream()
-        .map(String::trim)
-        .map(String::toLowerCase)
-        .anyMatch(s -> s.equalsIgnoreCase(word.trim()));
+    return stopwords.contains(word);
+  }
+
+  @Override
+  public boolean isStopword(CharSequence text, int begin, int end) {
+    return stopwords.contains(text, begin, end);
   }
 }
@@ -12,4 +12,9 @@ public final class NoOpStopwords implements Stopwords {
   public boolean isStopword(String word) {
     return false;
   }
+
+  @Override
+  public boolean isStopword(CharSequence text, int begin, int end) {
+    return false;
+  }
 }
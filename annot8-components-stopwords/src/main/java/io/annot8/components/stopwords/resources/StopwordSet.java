@@ -0,0 +1,121 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.stopwords.resources;
+
+import java.util.Collection;
+
+/**
+ * An immutable set of stopwords, which can be queried directly on a region of a {@link
+ * CharSequence} without creating a substring.
+ *
+ * <p>Words are trimmed and compared case insensitively, by folding each character to the lower case
+ * of its upper case. This is locale independent, and compares characters in the same way as {@link
+ * String#equalsIgnoreCase(String)} (e.g. Greek final and non-final sigma are equal).
+ *
+ * <p>The words are held in an open addressing hash table, so that a lookup only needs to hash and
+ * compare the characters of the region.
+ */
+final class StopwordSet {
+
+  private final String[] table;
+  private final int mask;
+  private final int size;
+
+  StopwordSet(Collection<String> words) {
+    int capacity = Integer.highestOneBit(Math.max(words.size(), 1) * 2 - 1) << 1;
+
+    table = new String[capacity];
+    mask = capacity - 1;
+
+    int count = 0;
+    for (String word : words) {
+      int begin = trimBegin(word, 0, word.length());
+      int end = trimEnd(word, begin, word.length());
+
+      String folded = fold(word, begin, end);
+
+      int slot = hash(folded, 0, folded.length()) & mask;
+      while (table[slot] != null && !table[slot].equals(folded)) {
+        slot = (slot + 1) & mask;
+      }
+
+      if (table[slot] == null) {
+        table[slot] = folded;
+        count++;
+      }
+    }
+
+    size = count;
+  }
+
+  /** Returns the number of distinct stopwords in the set */
+  int size() {
+    return size;
+  }
+
+  /** Returns true if the trimmed word is a stopword */
+  boolean contains(CharSequence word) {
+    return contains(word, 0, word.length());
+  }
+
+  /** Returns true if the trimmed region [begin, end) of the text is a stopword */
+  boolean contains(CharSequence text, int begin, int end) {
+    int b = trimBegin(text, begin, end);
+    int e = trimEnd(text, b, end);
+
+    int slot = hash(text, b, e) & mask;
+    String candidate;
+    while ((candidate = table[slot]) != null) {
+      if (equalsFolded(candidate, text, b, e)) return true;
+
+      slot = (slot + 1) & mask;
+    }
+
+    return false;
+  }
+
+  private static boolean equalsFolded(String folded, CharSequence text, int begin, int end) {
+    if (folded.length() != end - begin) return false;
+
+    for (int i = 0; i < folded.length(); i++) {
+      if (folded.charAt(i) != fold(text.charAt(begin + i))) return false;
+    }
+
+    return true;
+  }
+
+  private static int hash(CharSequence text, int begin, int end) {
+    int h = 0;
+    for (int i = begin; i < end; i++) {
+      h = 31 * h + fold(text.charAt(i));
+    }
+
+    // Spread the higher bits, as the table is indexed by the lower bits
+    return h ^ (h >>> 16);
+  }
+
+  private static String fold(CharSequence text, int begin, int end) {
+    StringBuilder sb = new StringBuilder(end - begin);
+    for (int i = begin; i < end; i++) {
+      sb.append(fold(text.charAt(i)));
+    }
+
+    return sb.toString();
+  }
+
+  private static char fold(char c) {
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  // Trim in the same way as String.trim()
+  private static int trimBegin(CharSequence text, int begin, int end) {
+    while (begin < end && text.charAt(begin) <= ' ') begin++;
+
+    return begin;
+  }
+
+  private static int trimEnd(CharSequence text, int begin, int end) {
+    while (end > begin && text.charAt(end - 1) <= ' ') end--;
+
+    return end;
+  }
+}
@@ -9,4 +9,13 @@ public interface Stopwords extends Resource {
 
   /** Returns true if a word is a stopword, or false otherwise */
   boolean isStopword(String word);
+
+  /**
+   * Returns true if the region [begin, end) of the text is a stopword, or false otherwise.
+   *
+   * <p>Implementations should override this to avoid creating a substring where possible.
+   */
+  default boolean isStopword(CharSequence text, int begin, int end) {
+    return isStopword(text.subSequence(begin, end).toString());
+  }
 }
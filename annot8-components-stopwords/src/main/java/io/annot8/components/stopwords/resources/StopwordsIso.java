@@ -6,8 +6,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 public class StopwordsIso implements Stopwords {
@@ -16,7 +16,7 @@ public class StopwordsIso implements Stopwords {
       List.of("ar", "bn", "en", "es", "fr", "hi", "ms", "pt", "ru", "zh");
 
   private final String language;
-  private final Set<String> stopwords;
+  private final StopwordSet stopwords;
 
   public StopwordsIso() {
     this("en");
@@ -30,9 +30,9 @@ public class StopwordsIso implements Stopwords {
       if (stream == null)
         throw new BadConfigurationException("Language " + language + " not supported");
 
-      try (BufferedReader br = new BufferedReader(new InputStreamReader(stream))) {
-        stopwords =
-            br.lines().map(String::trim).map(String::toLowerCase).collect(Collectors.toSet());
+      try (BufferedReader br =
+          new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+        stopwords = new StopwordSet(br.lines().collect(Collectors.toList()));
       }
     } catch (IOException ioe) {
       throw new BadConfigurationException("Unable to read data file for language " + language, ioe);
@@ -46,6 +46,11 @@ public class StopwordsIso implements Stopwords {
 
   @Override
   public boolean isStopword(String word) {
-    return stopwords.contains(word.trim().toLowerCase());
+    return stopwords.contains(word);
+  }
+
+  @Override
+  public boolean isStopword(CharSequence text, int begin, int end) {
+    return stopwords.contains(text, begin, end);
   }
 }
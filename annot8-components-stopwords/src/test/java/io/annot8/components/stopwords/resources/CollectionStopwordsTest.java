@@ -16,4 +16,14 @@ public class CollectionStopwordsTest {
     assertTrue(sw.isStopword(" THE "));
     assertFalse(sw.isStopword("foo"));
   }
+
+  @Test
+  public void testRegion() {
+    Stopwords sw = new CollectionStopwords("en", Arrays.asList("and", "the"));
+
+    String text = "Bread and THE butter";
+    assertTrue(sw.isStopword(text, 6, 9));
+    assertTrue(sw.isStopword(text, 9, 14));
+    assertFalse(sw.isStopword(text, 0, 5));
+  }
 }
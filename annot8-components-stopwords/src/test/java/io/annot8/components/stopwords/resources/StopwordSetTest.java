@@ -0,0 +1,99 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.stopwords.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class StopwordSetTest {
+  @Test
+  public void testContains() {
+    StopwordSet set = new StopwordSet(List.of("and", " The ", "of"));
+
+    assertEquals(3, set.size());
+    assertTrue(set.contains("and"));
+    assertTrue(set.contains("AND"));
+    assertTrue(set.contains("the"));
+    assertTrue(set.contains("\tthe\n"));
+    assertFalse(set.contains("then"));
+    assertFalse(set.contains(""));
+  }
+
+  @Test
+  public void testRegion() {
+    StopwordSet set = new StopwordSet(List.of("and", "the"));
+    String text = "Bread and the butter";
+
+    assertTrue(set.contains(text, 6, 9));
+    assertTrue(set.contains(text, 5, 10));
+    assertTrue(set.contains(text, 10, 13));
+    assertFalse(set.contains(text, 0, 5));
+    assertFalse(set.contains(text, 6, 8));
+  }
+
+  @Test
+  public void testCaseFolding() {
+    StopwordSet set = new StopwordSet(List.of("και", "είσαι", "ПРИ"));
+
+    assertTrue(set.contains("ΚΑΙ"));
+    assertTrue(set.contains("ΕΊΣΑΙ"));
+    assertTrue(set.contains("при"));
+
+    // Final sigma folds to the same character as sigma
+    assertTrue(new StopwordSet(List.of("ως")).contains("ΩΣ"));
+    assertTrue(new StopwordSet(List.of("ΩΣ")).contains("ως"));
+  }
+
+  @Test
+  public void testDuplicates() {
+    StopwordSet set = new StopwordSet(List.of("and", "AND", " and"));
+
+    assertEquals(1, set.size());
+    assertTrue(set.contains("And"));
+  }
+
+  @Test
+  public void testEmpty() {
+    StopwordSet set = new StopwordSet(List.of());
+
+    assertEquals(0, set.size());
+    assertFalse(set.contains("and"));
+    assertFalse(set.contains(""));
+  }
+
+  @Test
+  public void testSameAsEqualsIgnoreCase() {
+    Random random = new Random(0);
+    String alphabet = "abcAB éÉσςΣ";
+
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      words.add(randomWord(random, alphabet));
+    }
+
+    StopwordSet set = new StopwordSet(words);
+
+    for (int i = 0; i < 5000; i++) {
+      String word = randomWord(random, alphabet);
+
+      boolean expected = words.stream().anyMatch(w -> w.trim().equalsIgnoreCase(word.trim()));
+      assertEquals(expected, set.contains(word), word);
+    }
+  }
+
+  private static String randomWord(Random random, String alphabet) {
+    StringBuilder sb = new StringBuilder();
+
+    int length = random.nextInt(4);
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+
+    return sb.toString();
+  }
+}
@@ -12,6 +12,7 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractRegexProcessor;
+import io.annot8.components.base.text.processors.RegexPrefilter;
 import io.annot8.components.temporal.processors.utils.DateTimeUtils;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
@@ -54,6 +55,10 @@ public class DTG extends AbstractProcessorDescriptor<DTG.Processor, NoSettings>
 
   public static class Processor extends AbstractRegexProcessor {
     private static final Map<String, ZoneOffset> zoneMap = createTimeCodeMap();
+    private static final RegexPrefilter PREFILTER =
+        new RegexPrefilter(
+            true, 64, 64, "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT",
+            "NOV", "DEC");
 
     public Processor() {
       super(
@@ -64,6 +69,17 @@ public class DTG extends AbstractProcessorDescriptor<DTG.Processor, NoSettings>
           AnnotationTypes.ANNOTATION_TYPE_TEMPORAL_INSTANT);
     }
 
+    @Override
+    protected String requiredCharacters() {
+      // Digits are a quicker first check than the first letters of the months, which are common
+      return "0123456789";
+    }
+
+    @Override
+    protected RegexPrefilter prefilter() {
+      return PREFILTER;
+    }
+
     @Override
     protected void addProperties(Builder builder, Matcher matcher) {
       ZonedDateTime zdt = parseMatch(matcher);
@@ -12,6 +12,7 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
+import io.annot8.components.base.text.utils.CoveringSpans;
 import io.annot8.components.temporal.processors.utils.DateTimeUtils;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
@@ -19,9 +20,6 @@ import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.YearMonth;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -84,6 +82,98 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
     private static final String DATE_SUFFIXES = "(st|nd|rd|th)";
 
     private static final String INVALID_DATE_FOUND = "Invalid date found";
+    private static final String BETWEEN = "between";
+
+    private static final Pattern LONG_YEAR_SHORT_YEAR =
+        Pattern.compile("\\b(\\d{2})(\\d{2})-(\\d{2})\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LONG_YEAR_LONG_YEAR =
+        Pattern.compile("\\b(\\d{4})\\s*(-|to|and)\\s*(\\d{4})\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SAME_YEAR_MONTHS =
+        Pattern.compile(
+            "\\b" + MONTHS + "\\s*(-|to|and)\\s*" + MONTHS + "\\s+(\\d{4}|'?\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern DIFF_YEAR_MONTHS =
+        Pattern.compile(
+            "\\b"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2})\\s*(-|to|and)\\s*"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SAME_MONTH_DAYS =
+        Pattern.compile(
+            "\\b"
+                + DAYS
+                + "([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?\\s*(-|to|and|\\\\|/)\\s*"
+                + DAYS
+                + "([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?\\s+"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SAME_YEAR_DAYS =
+        Pattern.compile(
+            "\\b"
+                + DAYS
+                + DATES
+                + DATE_SUFFIXES
+                + "?\\s+"
+                + MONTHS
+                + "\\s*(-|to|and)\\s*"
+                + DAYS
+                + DATES
+                + DATE_SUFFIXES
+                + "?\\s+"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern FULL_DATES =
+        Pattern.compile(
+            "\\b"
+                + DAYS
+                + "([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?\\s+"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2})\\s*(-|to|and)\\s*"
+                + DAYS
+                + "([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?\\s+"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern FULL_DATE_DAY_MONTH =
+        Pattern.compile(
+            "\\b" + DAYS + DATES + DATE_SUFFIXES + "?\\s+" + MONTHS + ",?\\s+(\\d{4}|'?\\d{2}\\b)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern FULL_DATE_MONTH_DAY =
+        Pattern.compile(
+            "\\b"
+                + MONTHS
+                + "\\s+([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?,?\\s+(\\d{4}|'?\\d{2}\\b)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SHORT_DATE_YEAR_FIRST =
+        Pattern.compile(
+            "\\b(\\d{4})[-\\\\/.](0?[1-9]|1[0-2])[-\\\\/.]([0-2]?[0-9]|3[01])\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SHORT_DATE =
+        Pattern.compile(
+            "\\b([0-2]?[0-9]|3[01])[-\\\\/.]([0-2]?[0-9]|3[01])[-\\\\/.](\\d{4}|\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern MONTH_YEAR =
+        Pattern.compile(
+            "\\b((beginning of|start of|early|mid|late|end of)[- ])?"
+                + MONTHS
+                + "\\s+(\\d{4}|'?\\d{2}\\b)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern YEAR =
+        Pattern.compile("\\b(19[789][0-9]|20[0-9][0-9])\\b", Pattern.CASE_INSENSITIVE);
 
     public Processor(boolean americanDates) {
       this.americanDates = americanDates;
@@ -91,7 +181,7 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
 
     @Override
     protected void process(Text content) {
-      List<SpanBounds> extracted = new ArrayList<>();
+      CoveringSpans extracted = new CoveringSpans();
 
       // Order here is important, as we want to identify the ranges first
       // so that we can ignore things that have already been extracted
@@ -103,13 +193,11 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       identifyYears(content, extracted);
     }
 
-    private void identifyYearRanges(Text content, List<SpanBounds> extracted) {
+    private void identifyYearRanges(Text content, CoveringSpans extracted) {
       String text = content.getData();
 
       // e.g. 2017-19
-      Pattern longYearShortYear =
-          Pattern.compile("\\b(\\d{2})(\\d{2})-(\\d{2})\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = longYearShortYear.matcher(text);
+      Matcher m = LONG_YEAR_SHORT_YEAR.matcher(text);
 
       while (m.find()) {
         if (dateSeparatorSuffix(text, m.end())) {
@@ -123,9 +211,7 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       }
 
       // e.g. 2017-2019, 2017 to 2019, between 2017 and 2019
-      Pattern longYearLongYear =
-          Pattern.compile("\\b(\\d{4})\\s*(-|to|and)\\s*(\\d{4})\\b", Pattern.CASE_INSENSITIVE);
-      m = longYearLongYear.matcher(text);
+      m = LONG_YEAR_LONG_YEAR.matcher(text);
 
       while (m.find()) {
         if ("and".equalsIgnoreCase(m.group(2)) && !betweenPrefix(text, m.start())) {
@@ -140,13 +226,8 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
     }
 
     private void createYearTimeRange(
-        Text content,
-        int charBegin,
-        int charEnd,
-        Year y1,
-        Year y2,
-        Collection<SpanBounds> extracted) {
-      if (alreadyExtracted(extracted, charBegin, charEnd)) return;
+        Text content, int charBegin, int charEnd, Year y1, Year y2, CoveringSpans extracted) {
+      if (extracted.covers(charBegin, charEnd)) return;
       if (y1.isAfter(y2)) return;
 
       SpanBounds sb = new SpanBounds(charBegin, charEnd);
@@ -162,15 +243,11 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       extracted.add(sb);
     }
 
-    private void identifyMonthYearRanges(Text content, List<SpanBounds> extracted) {
+    private void identifyMonthYearRanges(Text content, CoveringSpans extracted) {
       String text = content.getData();
 
       // e.g. Mar-Apr 1997, between March and April 97, March to Apr '97
-      Pattern sameYear =
-          Pattern.compile(
-              "\\b" + MONTHS + "\\s*(-|to|and)\\s*" + MONTHS + "\\s+(\\d{4}|'?\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = sameYear.matcher(text);
+      Matcher m = SAME_YEAR_MONTHS.matcher(text);
 
       while (m.find()) {
         if ("and".equalsIgnoreCase(m.group(14)) && !betweenPrefix(text, m.start())) {
@@ -196,15 +273,7 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       }
 
       // e.g. March 97 to June 98, between Mar '97 and Jun 1998
-      Pattern diffYear =
-          Pattern.compile(
-              "\\b"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2})\\s*(-|to|and)\\s*"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
-      m = diffYear.matcher(text);
+      m = DIFF_YEAR_MONTHS.matcher(text);
 
       while (m.find()) {
         if ("and".equalsIgnoreCase(m.group(15)) && !betweenPrefix(text, m.start())) {
@@ -237,8 +306,8 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
         int charEnd,
         YearMonth ym1,
         YearMonth ym2,
-        Collection<SpanBounds> extracted) {
-      if (alreadyExtracted(extracted, charBegin, charEnd)) return;
+        CoveringSpans extracted) {
+      if (extracted.covers(charBegin, charEnd)) return;
       if (ym1.isAfter(ym2)) return;
 
       SpanBounds sb = new SpanBounds(charBegin, charEnd);
@@ -255,24 +324,10 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       extracted.add(sb);
     }
 
-    private void identifyDayMonthYearRanges(Text content, List<SpanBounds> extracted) {
+    private void identifyDayMonthYearRanges(Text content, CoveringSpans extracted) {
       // e.g. Monday 23rd to Thursday 26 Sept '19, 4-12 June 2020
-      Pattern sameMonth =
-          Pattern.compile(
-              "\\b"
-                  + DAYS
-                  + "([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?\\s*(-|to|and|\\\\|/)\\s*"
-                  + DAYS
-                  + "([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
       String text = content.getData();
-      Matcher m = sameMonth.matcher(text);
+      Matcher m = SAME_MONTH_DAYS.matcher(text);
 
       while (m.find()) {
         if (!DateTimeUtils.suffixCorrect(Integer.parseInt(m.group(1)), m.group(2))
@@ -317,23 +372,7 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       }
 
       // e.g. Monday 26th Aug to Friday 27th September 2019
-      Pattern sameYear =
-          Pattern.compile(
-              "\\b"
-                  + DAYS
-                  + DATES
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + "\\s*(-|to|and)\\s*"
-                  + DAYS
-                  + DATES
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
-      m = sameYear.matcher(text);
+      m = SAME_YEAR_DAYS.matcher(text);
 
       while (m.find()) {
         boolean suffixesCorrect =
@@ -374,23 +413,7 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       }
 
       // Between 2 January 2018 and 1 January 2019
-      Pattern fullDates =
-          Pattern.compile(
-              "\\b"
-                  + DAYS
-                  + "([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2})\\s*(-|to|and)\\s*"
-                  + DAYS
-                  + "([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
-      m = fullDates.matcher(text);
+      m = FULL_DATES.matcher(text);
 
       while (m.find()) {
         boolean suffixesCorrect =
@@ -439,8 +462,8 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
         int charEnd,
         LocalDate ld1,
         LocalDate ld2,
-        Collection<SpanBounds> extracted) {
-      if (alreadyExtracted(extracted, charBegin, charEnd)) return;
+        CoveringSpans extracted) {
+      if (extracted.covers(charBegin, charEnd)) return;
       if (ld1.isAfter(ld2)) return;
 
       SpanBounds sb = new SpanBounds(charBegin, charEnd);
@@ -457,56 +480,30 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       extracted.add(sb);
     }
 
-    private void identifyDates(Text content, List<SpanBounds> extracted) {
+    private void identifyDates(Text content, CoveringSpans extracted) {
       // e.g. 4 November 1998, 8th May '01
-      Pattern fullDateDayMonth =
-          Pattern.compile(
-              "\\b"
-                  + DAYS
-                  + DATES
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + ",?\\s+(\\d{4}|'?\\d{2}\\b)",
-              Pattern.CASE_INSENSITIVE);
       String text = content.getData();
-      Matcher m = fullDateDayMonth.matcher(text);
+      Matcher m = FULL_DATE_DAY_MONTH.matcher(text);
 
       while (m.find()) {
         createDateFromMatcher(content, m, 16, 3, 1, extracted);
       }
 
       // e.g. November 4 1998, May 8th '01
-      Pattern fullDateMonthDay =
-          Pattern.compile(
-              "\\b"
-                  + MONTHS
-                  + "\\s+([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?,?\\s+(\\d{4}|'?\\d{2}\\b)",
-              Pattern.CASE_INSENSITIVE);
-      m = fullDateMonthDay.matcher(text);
+      m = FULL_DATE_MONTH_DAY.matcher(text);
 
       while (m.find()) {
         createDateFromMatcher(content, m, 16, 1, 14, extracted);
       }
 
-      Pattern shortDateYearFirst =
-          Pattern.compile(
-              "\\b(\\d{4})[-\\\\/.](0?[1-9]|1[0-2])[-\\\\/.]([0-2]?[0-9]|3[01])\\b",
-              Pattern.CASE_INSENSITIVE);
-      m = shortDateYearFirst.matcher(text);
+      m = SHORT_DATE_YEAR_FIRST.matcher(text);
 
       while (m.find()) {
         createDateFromMatcher(content, m, 1, 2, 3, extracted);
       }
 
       // e.g. 4/11/98, 08-05-01
-      Pattern shortDate =
-          Pattern.compile(
-              "\\b([0-2]?[0-9]|3[01])[-\\\\/.]([0-2]?[0-9]|3[01])[-\\\\/.](\\d{4}|\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
-      m = shortDate.matcher(text);
+      m = SHORT_DATE.matcher(text);
 
       while (m.find()) {
         Year y = DateTimeUtils.asYear(m.group(3));
@@ -564,8 +561,8 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
     }
 
     private void createDate(
-        Text content, int charBegin, int charEnd, LocalDate ld, Collection<SpanBounds> extracted) {
-      if (alreadyExtracted(extracted, charBegin, charEnd)) return;
+        Text content, int charBegin, int charEnd, LocalDate ld, CoveringSpans extracted) {
+      if (extracted.covers(charBegin, charEnd)) return;
 
       SpanBounds sb = new SpanBounds(charBegin, charEnd);
 
@@ -580,21 +577,10 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       extracted.add(sb);
     }
 
-    private static boolean alreadyExtracted(
-        Collection<SpanBounds> extracted, Integer begin, Integer end) {
-      return extracted.stream().anyMatch(sb -> sb.getBegin() <= begin && sb.getEnd() >= end);
-    }
-
-    private void identifyMonths(Text content, List<SpanBounds> extracted) {
+    private void identifyMonths(Text content, CoveringSpans extracted) {
       // e.g. Beginning of May 2012, Mid-April 1997, Late Jun '12
-      Pattern monthYear =
-          Pattern.compile(
-              "\\b((beginning of|start of|early|mid|late|end of)[- ])?"
-                  + MONTHS
-                  + "\\s+(\\d{4}|'?\\d{2}\\b)",
-              Pattern.CASE_INSENSITIVE);
       String text = content.getData();
-      Matcher m = monthYear.matcher(text);
+      Matcher m = MONTH_YEAR.matcher(text);
 
       while (m.find()) {
         Year y = DateTimeUtils.asYear(m.group(16));
@@ -643,8 +629,8 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
     }
 
     private void createMonth(
-        Text content, int charBegin, int charEnd, YearMonth ym, Collection<SpanBounds> extracted) {
-      if (alreadyExtracted(extracted, charBegin, charEnd)) return;
+        Text content, int charBegin, int charEnd, YearMonth ym, CoveringSpans extracted) {
+      if (extracted.covers(charBegin, charEnd)) return;
 
       SpanBounds sb = new SpanBounds(charBegin, charEnd);
 
@@ -659,12 +645,10 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       extracted.add(sb);
     }
 
-    private void identifyYears(Text content, List<SpanBounds> extracted) {
+    private void identifyYears(Text content, CoveringSpans extracted) {
       // e.g. 1997, 2012
-      Pattern monthYear =
-          Pattern.compile("\\b(19[789][0-9]|20[0-9][0-9])\\b", Pattern.CASE_INSENSITIVE);
       String text = content.getData();
-      Matcher m = monthYear.matcher(text);
+      Matcher m = YEAR.matcher(text);
 
       while (m.find()) {
         Year y = DateTimeUtils.asYear(m.group(1));
@@ -674,8 +658,8 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
     }
 
     private void createYear(
-        Text content, int charBegin, int charEnd, Year y, Collection<SpanBounds> extracted) {
-      if (alreadyExtracted(extracted, charBegin, charEnd)) return;
+        Text content, int charBegin, int charEnd, Year y, CoveringSpans extracted) {
+      if (extracted.covers(charBegin, charEnd)) return;
 
       SpanBounds sb = new SpanBounds(charBegin, charEnd);
 
@@ -690,17 +674,28 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
       extracted.add(sb);
     }
 
-    private static boolean betweenPrefix(String text, Integer matchStart) {
-      return text.substring(0, matchStart).trim().toLowerCase().endsWith("between");
+    /**
+     * Returns true if the last word before the match is 'between', looking back only as far as is
+     * needed rather than copying the whole of the preceding text
+     */
+    private static boolean betweenPrefix(String text, int matchStart) {
+      // Skip any whitespace (as defined by String.trim) between the word and the match
+      int end = matchStart;
+      while (end > 0 && text.charAt(end - 1) <= ' ') {
+        end--;
+      }
+
+      int begin = end - BETWEEN.length();
+      return begin >= 0 && text.regionMatches(true, begin, BETWEEN, 0, BETWEEN.length());
     }
 
-    private static boolean dateSeparatorSuffix(String text, Integer matchEnd) {
+    private static boolean dateSeparatorSuffix(String text, int matchEnd) {
       if (matchEnd >= text.length()) {
         return false;
       }
 
-      String nextChar = text.substring(matchEnd, matchEnd + 1);
-      return "-".equals(nextChar) || "/".equals(nextChar) || "\\".equals(nextChar);
+      char nextChar = text.charAt(matchEnd);
+      return nextChar == '-' || nextChar == '/' || nextChar == '\\';
     }
 
     private void createDateFromMatcher(
@@ -709,7 +704,7 @@ public class Date extends AbstractProcessorDescriptor<Date.Processor, Date.Setti
         int yearGroup,
         int monthGroup,
         int dayGroup,
-        Collection<SpanBounds> extracted) {
+        CoveringSpans extracted) {
       Year y = DateTimeUtils.asYear(m.group(yearGroup));
 
       String month = m.group(monthGroup);
@@ -66,6 +66,38 @@ public class DateTime extends AbstractProcessorDescriptor<DateTime.Processor, No
             .filter(s -> s.equals(s.toUpperCase()))
             .collect(Collectors.joining("|"));
 
+    private static final Pattern ISO_8601 =
+        Pattern.compile(
+            "\\b(\\d{4})-?(\\d{2})-?(\\d{2})[T ](\\d{2}):?(\\d{2}):?(\\d{2})(\\.\\d{3})?\\s?(Z|[-+]\\d{2}:\\d{2})?\\b");
+    private static final Pattern TIME_ON_DATE =
+        Pattern.compile(
+            "\\b([01][0-9]|2[0-3]):?([0-5][0-9]):?([0-5][0-9])?(hrs)? on ([0-2]?[0-9]|3[01]) "
+                + MONTHS
+                + " (\\d{4}|'?\\d{2})\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern DAY_MONTH_TIME =
+        Pattern.compile(
+            "\\b"
+                + DAYS
+                + "([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?\\s+"
+                + MONTHS
+                + ",?\\s+(\\d{4}|'?\\d{2})\\s+([01][0-9]|2[0-3]):?([0-5][0-9]):?([0-5][0-9])?\\s*(Z|"
+                + TIME_ZONES
+                + ")?\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern MONTH_DAY_TIME =
+        Pattern.compile(
+            "\\b"
+                + MONTHS
+                + "\\s+([0-2]?[0-9]|3[01])\\s*"
+                + DATE_SUFFIXES
+                + "?,?\\s+(\\d{4}|'?\\d{2})\\s+([01][0-9]|2[0-3]):?([0-5][0-9]):?([0-5][0-9])?\\s*(Z|"
+                + TIME_ZONES
+                + ")?\\b",
+            Pattern.CASE_INSENSITIVE);
+
     @Override
     protected void process(Text content) {
       processIso(content);
@@ -75,10 +107,7 @@ public class DateTime extends AbstractProcessorDescriptor<DateTime.Processor, No
     }
 
     private void processIso(Text content) {
-      Pattern iso8601 =
-          Pattern.compile(
-              "\\b(\\d{4})-?(\\d{2})-?(\\d{2})[T ](\\d{2}):?(\\d{2}):?(\\d{2})(\\.\\d{3})?\\s?(Z|[-+]\\d{2}:\\d{2})?\\b");
-      Matcher m = iso8601.matcher(content.getData());
+      Matcher m = ISO_8601.matcher(content.getData());
 
       while (m.find()) {
         try {
@@ -103,13 +132,7 @@ public class DateTime extends AbstractProcessorDescriptor<DateTime.Processor, No
     }
 
     private void processTimeOnDate(Text content) {
-      Pattern timeOnDate =
-          Pattern.compile(
-              "\\b([01][0-9]|2[0-3]):?([0-5][0-9]):?([0-5][0-9])?(hrs)? on ([0-2]?[0-9]|3[01]) "
-                  + MONTHS
-                  + " (\\d{4}|'?\\d{2})\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = timeOnDate.matcher(content.getData());
+      Matcher m = TIME_ON_DATE.matcher(content.getData());
 
       while (m.find()) {
         LocalDateTime t;
@@ -137,19 +160,7 @@ public class DateTime extends AbstractProcessorDescriptor<DateTime.Processor, No
     }
 
     private void processDayMonthTime(Text content) {
-      Pattern dayMonthTime =
-          Pattern.compile(
-              "\\b"
-                  + DAYS
-                  + "([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?\\s+"
-                  + MONTHS
-                  + ",?\\s+(\\d{4}|'?\\d{2})\\s+([01][0-9]|2[0-3]):?([0-5][0-9]):?([0-5][0-9])?\\s*(Z|"
-                  + TIME_ZONES
-                  + ")?\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = dayMonthTime.matcher(content.getData());
+      Matcher m = DAY_MONTH_TIME.matcher(content.getData());
 
       while (m.find()) {
         LocalDateTime ldt;
@@ -183,17 +194,7 @@ public class DateTime extends AbstractProcessorDescriptor<DateTime.Processor, No
     }
 
     private void processMonthDayTime(Text content) {
-      Pattern monthDayTime =
-          Pattern.compile(
-              "\\b"
-                  + MONTHS
-                  + "\\s+([0-2]?[0-9]|3[01])\\s*"
-                  + DATE_SUFFIXES
-                  + "?,?\\s+(\\d{4}|'?\\d{2})\\s+([01][0-9]|2[0-3]):?([0-5][0-9]):?([0-5][0-9])?\\s*(Z|"
-                  + TIME_ZONES
-                  + ")?\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = monthDayTime.matcher(content.getData());
+      Matcher m = MONTH_DAY_TIME.matcher(content.getData());
 
       while (m.find()) {
         LocalDateTime ldt;
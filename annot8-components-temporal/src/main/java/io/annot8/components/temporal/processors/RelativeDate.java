@@ -112,6 +112,29 @@ public class RelativeDate
     private static final String MONTHS =
         "(January|Jan|February|Feb|March|Mar|April|Apr|May|June|Jun|July|Jul|August|Aug|September|Sept|Sep|October|Oct|November|Nov|December|Dec)";
 
+    private static final Pattern YESTERDAY =
+        Pattern.compile("\\b(day before )?yesterday\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TODAY = Pattern.compile("\\btoday\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TOMORROW =
+        Pattern.compile("\\b(day after )?tomorrow\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern THIS_X =
+        Pattern.compile("\\bthis (week|month|year)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NEXT_LAST_DAY =
+        Pattern.compile("\\b(next|last) " + DAYS + "\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NEXT_LAST_WEEK =
+        Pattern.compile(
+            "\\b((in the|within the|" + DAYS + ") )?(next|last) week\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NEXT_LAST_MONTH =
+        Pattern.compile("\\b((in the|within the) )?(next|last) month\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NEXT_LAST_YEAR =
+        Pattern.compile(
+            "\\b((in the|within the|" + MONTHS + ") )?(next|last) year\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern IN_THE_NEXT_LAST_X =
+        Pattern.compile(
+            "\\b(in|within) the (next|last) (\\d+) (day|week|month|year)s\\b",
+            Pattern.CASE_INSENSITIVE);
+
     public Processor(
         DateTimeFormatter dateTimeFormatter,
         Collection<String> dateProperties,
@@ -170,8 +193,7 @@ public class RelativeDate
     }
 
     private void yesterday(Text content, LocalDate relativeTo) {
-      Pattern p = Pattern.compile("\\b(day before )?yesterday\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = YESTERDAY.matcher(content.getData());
 
       while (m.find()) {
         if (m.group(1) != null) {
@@ -183,8 +205,7 @@ public class RelativeDate
     }
 
     private void today(Text content, LocalDate relativeTo) {
-      Pattern p = Pattern.compile("\\btoday\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = TODAY.matcher(content.getData());
 
       while (m.find()) {
         createRelativeDay(content, m.start(), m.end(), 0, relativeTo);
@@ -192,8 +213,7 @@ public class RelativeDate
     }
 
     private void tomorrow(Text content, LocalDate relativeTo) {
-      Pattern p = Pattern.compile("\\b(day after )?tomorrow\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = TOMORROW.matcher(content.getData());
 
       while (m.find()) {
         if (m.group(1) != null) {
@@ -205,8 +225,7 @@ public class RelativeDate
     }
 
     private void thisX(Text content, LocalDate relativeTo) {
-      Pattern p = Pattern.compile("\\bthis (week|month|year)\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = THIS_X.matcher(content.getData());
 
       while (m.find()) {
         if ("week".equalsIgnoreCase(m.group(1))) {
@@ -220,8 +239,7 @@ public class RelativeDate
     }
 
     private void nextLastDay(Text content, LocalDate relativeTo) {
-      Pattern p = Pattern.compile("\\b(next|last) " + DAYS + "\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = NEXT_LAST_DAY.matcher(content.getData());
 
       while (m.find()) {
         Integer offset = null;
@@ -251,11 +269,7 @@ public class RelativeDate
     }
 
     private void nextLastWeek(Text content, LocalDate relativeTo) {
-      Pattern p =
-          Pattern.compile(
-              "\\b((in the|within the|" + DAYS + ") )?(next|last) week\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = NEXT_LAST_WEEK.matcher(content.getData());
 
       while (m.find()) {
         if (m.group(3) != null) {
@@ -283,10 +297,7 @@ public class RelativeDate
     }
 
     private void nextLastMonth(Text content, LocalDate relativeTo) {
-      Pattern p =
-          Pattern.compile(
-              "\\b((in the|within the) )?(next|last) month\\b", Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = NEXT_LAST_MONTH.matcher(content.getData());
 
       while (m.find()) {
         if (m.group(2) != null) {
@@ -306,11 +317,7 @@ public class RelativeDate
     }
 
     private void nextLastYear(Text content, LocalDate relativeTo) {
-      Pattern p =
-          Pattern.compile(
-              "\\b((in the|within the|" + MONTHS + ") )?(next|last) year\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = NEXT_LAST_YEAR.matcher(content.getData());
 
       while (m.find()) {
         if (m.group(3) != null) {
@@ -341,11 +348,7 @@ public class RelativeDate
     }
 
     private void inTheNextLastX(Text content, LocalDate relativeTo) {
-      Pattern p =
-          Pattern.compile(
-              "\\b(in|within) the (next|last) (\\d+) (day|week|month|year)s\\b",
-              Pattern.CASE_INSENSITIVE);
-      Matcher m = p.matcher(content.getData());
+      Matcher m = IN_THE_NEXT_LAST_X.matcher(content.getData());
 
       while (m.find()) {
         int offset = Integer.parseInt(m.group(3));
@@ -278,6 +278,31 @@ public class DateTest {
     }
   }
 
+  @Test
+  public void testBetweenPrefix() {
+
+    try (Processor p = new Date.Processor(false)) {
+      Item item = new TestItem();
+      Text content =
+          item.createContent(TestStringContent.class)
+              .withData("Sales rose BETWEEN\n  2017 and 2019, but not 2020 and 2021.")
+              .save();
+
+      p.process(item);
+
+      List<String> intervals =
+          content
+              .getAnnotations()
+              .getByType(AnnotationTypes.ANNOTATION_TYPE_TEMPORAL_INTERVAL)
+              .map(a -> content.getText(a).get())
+              .collect(Collectors.toList());
+      assertEquals(List.of("2017 and 2019"), intervals);
+
+      // 2020 and 2021 aren't preceded by between, so should be separate years
+      assertEquals(3L, content.getAnnotations().getAll().count());
+    }
+  }
+
   @Test
   public void testBadYearMonthDayRange() {
 
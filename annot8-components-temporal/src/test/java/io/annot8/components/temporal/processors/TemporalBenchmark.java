@@ -0,0 +1,120 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.temporal.processors;
+
+import io.annot8.api.components.Processor;
+import io.annot8.api.data.Item;
+import io.annot8.testing.testimpl.TestItem;
+import io.annot8.testing.testimpl.content.TestStringContent;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the Date, DateTime and RelativeDate processors over long, news-wire style documents with
+ * a realistic density of dates and ranges.
+ *
+ * <p>Run with {@code mvn test-compile exec:java
+ * -Dexec.mainClass=io.annot8.components.temporal.processors.TemporalBenchmark
+ * -Dexec.classpathScope=test}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemporalBenchmark {
+  private static final String[] SENTENCES = {
+    "Officials said on Monday 3 October 2016 that talks would resume next week.",
+    "The ministry confirmed that between 2017 and 2019 exports fell sharply.",
+    "Shares closed lower in London, where trading was thin ahead of the holiday.",
+    "The report, published on 2016-12-01, covers the period June-September 2015.",
+    "He was on duty from 10-15 Jan 2015, and again from 27th September - 4th October 2016.",
+    "A spokesperson declined to comment further when contacted by telephone.",
+    "The summit, held between 2 January 2018 and 1 January 2019, ended without agreement.",
+    "Analysts expect the central bank to raise rates later this year.",
+    "The incident was reported at 14:30 on 4 November 1998 by local police.",
+    "Production is due to start in late August 2016 and finish by March 2017.",
+    "Yesterday the committee met for the first time since 1/12/2016.",
+    "Talks will continue in the next 3 weeks, according to a statement."
+  };
+
+  @Param({"10", "100", "1000"})
+  public int paragraphs;
+
+  private String text;
+
+  private Date.Processor date;
+  private DateTime.Processor dateTime;
+  private RelativeDate.Processor relativeDate;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < paragraphs; i++) {
+      for (int j = 0; j < 5; j++) {
+        sb.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+      }
+      sb.append("\n\n");
+    }
+
+    text = sb.toString();
+
+    date = new Date.Processor(false);
+    dateTime = new DateTime.Processor();
+    relativeDate =
+        new RelativeDate.Processor(DateTimeFormatter.ISO_LOCAL_DATE, List.of("date"), true);
+  }
+
+  @TearDown
+  public void tearDown() {
+    date.close();
+    dateTime.close();
+    relativeDate.close();
+  }
+
+  @Benchmark
+  public Item date() {
+    return process(date);
+  }
+
+  @Benchmark
+  public Item dateTime() {
+    return process(dateTime);
+  }
+
+  @Benchmark
+  public Item relativeDate() {
+    return process(relativeDate);
+  }
+
+  private Item process(Processor processor) {
+    Item item = new TestItem();
+    item.createContent(TestStringContent.class).withData(text).save();
+
+    processor.process(item);
+    return item;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TemporalBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -18,11 +18,28 @@ import io.annot8.common.data.content.FileContent;
 import io.annot8.common.data.content.Image;
 import io.annot8.common.data.content.Text;
 import io.annot8.conventions.PropertyKeys;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import net.sourceforge.tess4j.ITesseract;
 import net.sourceforge.tess4j.TessAPI;
 import net.sourceforge.tess4j.Tesseract;
@@ -43,6 +60,17 @@ public class OCR extends AbstractProcessorDescriptor<OCR.Processor, OCR.Settings
 
   @Override
   protected Processor createComponent(Context context, Settings settings) {
+    // Tesseract instances aren't thread safe, so create one for each thread
+    int concurrency = Math.max(1, settings.getConcurrency());
+    List<ITesseract> instances = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      instances.add(createTesseract(settings));
+    }
+
+    return new Processor(settings.getExtensions(), instances);
+  }
+
+  private static ITesseract createTesseract(Settings settings) {
     ITesseract instance = new Tesseract();
 
     if (!settings.getConfigs().isEmpty()) instance.setConfigs(settings.getConfigs());
@@ -53,7 +81,7 @@ public class OCR extends AbstractProcessorDescriptor<OCR.Processor, OCR.Settings
     instance.setPageSegMode(settings.getPageSegmentation());
     settings.getVariables().forEach(instance::setTessVariable);
 
-    return new Processor(settings.getExtensions(), instance);
+    return instance;
   }
 
   @Override
@@ -65,71 +93,193 @@ public class OCR extends AbstractProcessorDescriptor<OCR.Processor, OCR.Settings
         .build();
   }
 
+  /**
+   * Processor that OCRs files and images using a pool of Tesseract instances.
+   *
+   * <p>If the concurrency is greater than 1, then each page of a file is OCR'd separately, and all
+   * of the pages and images in an item are OCR'd concurrently. Pages are decoded one at a time on
+   * the calling thread, and at most twice the concurrency are held in memory waiting to be OCR'd.
+   * Files that can't be split into pages (e.g. PDFs) are OCR'd whole. The text of a file is
+   * reassembled in page order, and Text content is always created on the calling thread, in the
+   * same order as if it had been processed serially.
+   */
   public static class Processor extends AbstractProcessor {
-    private final ITesseract instance;
     private final List<String> extensions;
+    private final BlockingQueue<ITesseract> instances;
+    private final ExecutorService executor;
+    private final Semaphore pagesInFlight;
 
-    private Processor(List<String> extensions, ITesseract tesseract) {
+    Processor(List<String> extensions, List<ITesseract> instances) {
       this.extensions = extensions;
-      this.instance = tesseract;
+      this.instances = new ArrayBlockingQueue<>(instances.size(), false, instances);
+
+      if (instances.size() > 1) {
+        executor =
+            Executors.newFixedThreadPool(
+                instances.size(),
+                r -> {
+                  Thread t = new Thread(r, "annot8-tesseract-ocr");
+                  t.setDaemon(true);
+                  return t;
+                });
+        pagesInFlight = new Semaphore(2 * instances.size());
+      } else {
+        executor = null;
+        pagesInFlight = null;
+      }
     }
 
     @Override
     public ProcessorResponse process(Item item) {
+      List<FileContent> files =
+          item.getContents(FileContent.class)
+              .filter(
+                  fc ->
+                      extensions.contains(
+                          FilenameUtils.getExtension(fc.getData().getName()).toLowerCase()))
+              .collect(Collectors.toList());
+      List<Image> images = item.getContents(Image.class).collect(Collectors.toList());
+
+      // Submit everything before waiting for any results, so that all of the pages and images can
+      // be OCR'd concurrently
+      List<CompletableFuture<String>> fileResults =
+          files.stream().map(this::ocrFile).collect(Collectors.toList());
+      List<CompletableFuture<String>> imageResults =
+          images.stream()
+              .map(image -> timed("ocr-image", submit(t -> t.doOCR(image.getData()))))
+              .collect(Collectors.toList());
+
+      List<Exception> exceptions = new ArrayList<>();
+      for (int i = 0; i < files.size(); i++) {
+        FileContent fc = files.get(i);
+        createTextContent(item, await(fileResults.get(i), "File", fc, exceptions), fc);
+      }
+
+      for (int i = 0; i < images.size(); i++) {
+        Image image = images.get(i);
+        createTextContent(item, await(imageResults.get(i), "Image", image, exceptions), image);
+      }
+
+      if (exceptions.isEmpty()) {
+        return ProcessorResponse.ok();
+      } else {
+        return ProcessorResponse.itemError(exceptions);
+      }
+    }
+
+    private CompletableFuture<String> ocrFile(FileContent fc) {
+      if (executor == null) return timed("ocr-file", submit(t -> t.doOCR(fc.getData())));
+
+      long start = System.currentTimeMillis();
+
+      // Split the file into pages, and OCR each page separately
+      List<CompletableFuture<String>> results = new ArrayList<>();
+      try (ImageInputStream iis = ImageIO.createImageInputStream(fc.getData())) {
+        Iterator<ImageReader> readers =
+            iis == null ? Collections.emptyIterator() : ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) return timed("ocr-file", start, submit(t -> t.doOCR(fc.getData())));
+
+        ImageReader reader = readers.next();
+        try {
+          reader.setInput(iis);
+
+          int pages = reader.getNumImages(true);
+          for (int i = 0; i < pages; i++) {
+            // Wait for earlier pages to be OCR'd before decoding more
+            pagesInFlight.acquire();
+
+            IIOImage page;
+            try {
+              page = reader.readAll(i, reader.getDefaultReadParam());
+            } catch (IOException | RuntimeException e) {
+              pagesInFlight.release();
+              throw e;
+            }
+
+            results.add(
+                submit(t -> t.doOCR(List.of(page), null))
+                    .whenComplete((r, e) -> pagesInFlight.release()));
+          }
+        } finally {
+          reader.dispose();
+        }
+      } catch (IOException | RuntimeException e) {
+        return timed("ocr-file", start, CompletableFuture.failedFuture(e));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return timed("ocr-file", start, CompletableFuture.failedFuture(e));
+      }
+
+      // Reassemble the text in page order, as Tesseract would have done
+      CompletableFuture<String> text =
+          CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+              .thenApply(
+                  v -> results.stream().map(CompletableFuture::join).collect(Collectors.joining()));
+
+      return timed("ocr-file", start, text);
+    }
+
+    private CompletableFuture<String> submit(OcrTask task) {
+      if (executor == null) {
+        try {
+          return CompletableFuture.completedFuture(ocr(task));
+        } catch (Exception e) {
+          return CompletableFuture.failedFuture(e);
+        }
+      }
+
+      return CompletableFuture.supplyAsync(
+          () -> {
+            try {
+              return ocr(task);
+            } catch (Exception e) {
+              throw new CompletionException(e);
+            }
+          },
+          executor);
+    }
+
+    private String ocr(OcrTask task) throws TesseractException, InterruptedException {
+      ITesseract instance = instances.take();
+      try {
+        return task.ocr(instance);
+      } finally {
+        instances.add(instance);
+      }
+    }
+
+    private CompletableFuture<String> timed(String timer, CompletableFuture<String> result) {
+      return timed(timer, System.currentTimeMillis(), result);
+    }
+
+    private CompletableFuture<String> timed(
+        String timer, long start, CompletableFuture<String> result) {
+      return result.whenComplete(
+          (r, e) ->
+              metrics()
+                  .timer(timer)
+                  .record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS));
+    }
 
-      item.getContents(FileContent.class)
-          .filter(
-              fc ->
-                  extensions.contains(
-                      FilenameUtils.getExtension(fc.getData().getName()).toLowerCase()))
-          .forEach(
-              fc -> {
-                String content =
-                    metrics()
-                        .timer("ocr-file")
-                        .record(
-                            () -> {
-                              try {
-                                return instance.doOCR(fc.getData());
-                              } catch (TesseractException e) {
-                                log()
-                                    .error(
-                                        "Unable to extract text from File content {}",
-                                        fc.getId(),
-                                        e);
-                              }
-
-                              return null;
-                            });
-
-                createTextContent(item, content, fc);
-              });
-
-      item.getContents(Image.class)
-          .forEach(
-              image -> {
-                String content =
-                    metrics()
-                        .timer("ocr-image")
-                        .record(
-                            () -> {
-                              try {
-                                return instance.doOCR(image.getData());
-                              } catch (TesseractException e) {
-                                log()
-                                    .error(
-                                        "Unable to extract text from Image content {}",
-                                        image.getId(),
-                                        e);
-                              }
-
-                              return null;
-                            });
-
-                createTextContent(item, content, image);
-              });
-
-      return ProcessorResponse.ok();
+    private String await(
+        CompletableFuture<String> result,
+        String type,
+        Content<?> content,
+        List<Exception> exceptions) {
+      try {
+        return result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        log().error("Interrupted whilst extracting text from {} content {}", type, content.getId());
+        exceptions.add(e);
+      } catch (ExecutionException e) {
+        log()
+            .error(
+                "Unable to extract text from {} content {}", type, content.getId(), e.getCause());
+        exceptions.add(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+      }
+
+      return null;
     }
 
     private Text createTextContent(Item item, String textContent, Content<?> sourceContent) {
@@ -142,6 +292,16 @@ public class OCR extends AbstractProcessorDescriptor<OCR.Processor, OCR.Settings
           .withProperty(PropertyKeys.PROPERTY_KEY_PARENT, sourceContent.getId())
           .save();
     }
+
+    @Override
+    public void close() {
+      if (executor != null) executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface OcrTask {
+    String ocr(ITesseract instance) throws TesseractException;
   }
 
   /** Settings class for {@link OCR} */
@@ -156,6 +316,7 @@ public class OCR extends AbstractProcessorDescriptor<OCR.Processor, OCR.Settings
     private int ocrEngine = TessAPI.TessOcrEngineMode.OEM_DEFAULT;
     private int pageSegmentation = -1;
     private Map<String, String> variables = new HashMap<>();
+    private int concurrency = 1;
 
     @Description("List of file extensions (case insensitive) that will be OCR'd")
     public List<String> getExtensions() {
@@ -220,9 +381,22 @@ public class OCR extends AbstractProcessorDescriptor<OCR.Processor, OCR.Settings
       this.variables = variables;
     }
 
+    @Description(
+        value =
+            "Number of Tesseract instances to use, and therefore the maximum number of pages or images that are OCR'd concurrently",
+        defaultValue = "1")
+    public int getConcurrency() {
+      return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+      this.concurrency = concurrency;
+    }
+
     @Override
     public boolean validate() {
-      return extensions != null
+      return concurrency >= 1
+          && extensions != null
           && !extensions.isEmpty()
           && configs != null
           && dataPath != null
@@ -2,13 +2,35 @@
 package io.annot8.components.tesseract.processors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 import io.annot8.api.components.Processor;
+import io.annot8.api.components.responses.ProcessorResponse;
 import io.annot8.api.data.Item;
 import io.annot8.common.data.content.FileContent;
+import io.annot8.common.data.content.Image;
 import io.annot8.common.data.content.Text;
 import io.annot8.testing.testimpl.TestItem;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +56,165 @@ public class OCRTest {
             .filter(t -> t.getData().trim().equals("Annot8 Test Image"))
             .count());
   }
+
+  @Test
+  public void testPagesInOrder() throws Exception {
+    List<FakeTesseract> instances = createInstances(3, Set.of());
+    File file = createTiff(8);
+
+    try (OCR.Processor ocr = new OCR.Processor(List.of("tif"), new ArrayList<>(instances))) {
+      Item item = new TestItem();
+      item.createContent(FileContent.class).withData(file).save();
+
+      assertEquals(ProcessorResponse.Status.OK, ocr.process(item).getStatus());
+
+      List<Text> texts = item.getContents(Text.class).collect(Collectors.toList());
+      assertEquals(1, texts.size());
+      assertEquals(
+          "Page 0\nPage 1\nPage 2\nPage 3\nPage 4\nPage 5\nPage 6\nPage 7\n",
+          texts.get(0).getData());
+    }
+
+    assertEquals(8, instances.stream().mapToInt(t -> t.calls.get()).sum());
+    assertFalse(instances.stream().anyMatch(t -> t.shared.get()));
+  }
+
+  @Test
+  public void testPageFailure() throws Exception {
+    List<FakeTesseract> instances = createInstances(2, Set.of(3));
+    File file = createTiff(6);
+
+    try (OCR.Processor ocr = new OCR.Processor(List.of("tif"), new ArrayList<>(instances))) {
+      Item item = new TestItem();
+      item.createContent(FileContent.class).withData(file).save();
+      item.createContent(Image.class)
+          .withData(new BufferedImage(100, 50, BufferedImage.TYPE_BYTE_GRAY))
+          .save();
+
+      ProcessorResponse response = ocr.process(item);
+      assertEquals(ProcessorResponse.Status.ITEM_ERROR, response.getStatus());
+      assertEquals(
+          List.of(TesseractException.class),
+          response.getExceptions().stream().map(Object::getClass).collect(Collectors.toList()));
+
+      // The image is still OCR'd, but no text is created for the file with the failed page
+      List<Text> texts = item.getContents(Text.class).collect(Collectors.toList());
+      assertEquals(1, texts.size());
+      assertEquals("Image", texts.get(0).getData());
+
+      // Every instance is returned to the pool, so a later item can use all of them
+      instances.forEach(t -> t.failPages = Set.of());
+      assertTimeoutPreemptively(
+          Duration.ofSeconds(30),
+          () -> {
+            Item next = new TestItem();
+            next.createContent(FileContent.class).withData(file).save();
+
+            assertEquals(ProcessorResponse.Status.OK, ocr.process(next).getStatus());
+            assertEquals(1, next.getContents(Text.class).count());
+          });
+    }
+
+    assertFalse(instances.stream().anyMatch(t -> t.shared.get()));
+  }
+
+  @Test
+  public void testSerial() throws Exception {
+    List<FakeTesseract> instances = createInstances(1, Set.of());
+    File file = createTiff(2);
+
+    try (OCR.Processor ocr = new OCR.Processor(List.of("tif"), new ArrayList<>(instances))) {
+      Item item = new TestItem();
+      item.createContent(FileContent.class).withData(file).save();
+
+      assertEquals(ProcessorResponse.Status.OK, ocr.process(item).getStatus());
+      assertEquals(
+          List.of("File"),
+          item.getContents(Text.class).map(Text::getData).collect(Collectors.toList()));
+    }
+  }
+
+  private static List<FakeTesseract> createInstances(int count, Set<Integer> failPages) {
+    List<FakeTesseract> instances = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      FakeTesseract t = new FakeTesseract();
+      t.failPages = failPages;
+      instances.add(t);
+    }
+
+    return instances;
+  }
+
+  /** Creates a multi-page TIFF, where the width of each page identifies the page number */
+  private File createTiff(int pages) throws IOException {
+    File file = Files.createTempFile("annot8-ocr", ".tif").toFile();
+    file.deleteOnExit();
+
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+    try (ImageOutputStream ios = ImageIO.createImageOutputStream(file)) {
+      writer.setOutput(ios);
+      writer.prepareWriteSequence(null);
+      for (int i = 0; i < pages; i++) {
+        BufferedImage image = new BufferedImage(100 + i, 50, BufferedImage.TYPE_BYTE_GRAY);
+        writer.writeToSequence(new IIOImage(image, null, null), null);
+      }
+      writer.endWriteSequence();
+    } finally {
+      writer.dispose();
+    }
+
+    return file;
+  }
+
+  /**
+   * Fake Tesseract instance that returns the page number, and records whether it was used by more
+   * than one thread at once
+   */
+  private static class FakeTesseract extends Tesseract {
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean shared = new AtomicBoolean();
+    private volatile Set<Integer> failPages;
+
+    @Override
+    public String doOCR(List<IIOImage> imageList, Rectangle rect) throws TesseractException {
+      int page = imageList.get(0).getRenderedImage().getWidth() - 100;
+      return use(
+          () -> {
+            if (failPages.contains(page)) throw new TesseractException("Failed page " + page);
+
+            return "Page " + page + "\n";
+          });
+    }
+
+    @Override
+    public String doOCR(File imageFile) throws TesseractException {
+      return use(() -> "File");
+    }
+
+    @Override
+    public String doOCR(BufferedImage bi) throws TesseractException {
+      return use(() -> "Image");
+    }
+
+    private String use(Result result) throws TesseractException {
+      if (inUse.incrementAndGet() > 1) shared.set(true);
+      calls.incrementAndGet();
+      try {
+        // Finish pages in a different order to that in which they were submitted
+        Thread.sleep(ThreadLocalRandom.current().nextInt(50));
+        return result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TesseractException(e);
+      } finally {
+        inUse.decrementAndGet();
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface Result {
+    String get() throws TesseractException;
+  }
 }
@@ -40,47 +40,16 @@ public class Clean extends AbstractProcessorDescriptor<Clean.Processor, Clean.Se
   public static class Processor extends AbstractTextProcessor {
 
     private final Settings settings;
-
-    private static final String TRIM_LINES = "(\\h+\\n\\h+|\\h+\\n|\\n\\h+)";
-
-    private static final String SPLIT_LINES = "-\\n";
-    private static final String SINGLE_NEW_LINES = "(?<=\\S)\\h*\\n\\h*(?=\\S)";
-    private static final String REPEATED_NEW_LINES = "(\\h*\\n\\h*){2,}";
-    private static final String REPEATED_TABS = "([ \t]+\t[ \t]+|[ \t]+\t|\t[ \t]+)";
+    private final Cleaner cleaner;
 
     public Processor(Settings settings) {
       this.settings = settings;
+      this.cleaner = new Cleaner(settings);
     }
 
     @Override
     protected void process(Text content) {
-      String clean = content.getData().replaceAll("\\r", "");
-
-      if (settings.isTrim()) clean = clean.strip();
-
-      if (settings.isTrimLines()) clean = clean.replaceAll(TRIM_LINES, "\n");
-
-      if (settings.isReplaceSmartCharacters()) {
-        clean =
-            clean
-                .replaceAll("[\u2013\u2014\u2015]", "-")
-                .replaceAll("\u2017", "_")
-                .replaceAll("[\u2018\u2019\u201b\u2032]", "'")
-                .replaceAll("\u201a", ",")
-                .replaceAll("[\u201c\u201d\u201e\u2033]", "\"")
-                .replaceAll("\u2026", "...");
-      }
-
-      if (settings.isRemoveSingleNewLines()) {
-        clean = clean.replaceAll(SPLIT_LINES, "-");
-        clean = clean.replaceAll(SINGLE_NEW_LINES, " ");
-        clean = clean.replaceAll(REPEATED_NEW_LINES, "\n\n");
-      }
-
-      if (settings.isRemoveRepeatedWhitespace()) {
-        clean = clean.replaceAll(REPEATED_TABS, "\t");
-        clean = clean.replaceAll(" {2,}", " ");
-      }
+      String clean = cleaner.clean(content.getData());
 
       if (!clean.equalsIgnoreCase(content.getData())) {
         Item item = content.getItem();
@@ -104,6 +73,342 @@ public class Clean extends AbstractProcessorDescriptor<Clean.Processor, Clean.Se
     }
   }
 
+  /**
+   * Performs all of the enabled cleaning steps in a single pass over the text.
+   *
+   * <p>The output is the same as applying each step to the whole text in turn, which used to be
+   * done with the following regular expressions (after removing all carriage returns and, if
+   * enabled, stripping the text):
+   *
+   * <ol>
+   *   <li>Trim lines: {@code (\h+\n\h+|\h+\n|\n\h+)} with {@code \n}
+   *   <li>Replace smart characters, e.g. curly quotes with straight quotes
+   *   <li>Remove single new lines: {@code -\n} with {@code -}, then {@code (?<=\S)\h*\n\h*(?=\S)}
+   *       with a space, then {@code (\h*\n\h*){2,}} with {@code \n\n}
+   *   <li>Remove repeated whitespace: {@code ([ \t]+\t[ \t]+|[ \t]+\t|\t[ \t]+)} with {@code \t},
+   *       then {@code " {2,}"} with a space
+   * </ol>
+   *
+   * None of these steps ever matches or produces a non-whitespace character (other than the hyphen
+   * before a new line, and the smart character replacements, which are one to one), so the text can
+   * be treated as runs of whitespace separated by other characters. Other characters are copied
+   * across, replacing smart characters, and each run of whitespace is buffered and then cleaned on
+   * its own. Only the character before a run, and whether there is a character after it, can affect
+   * how it is cleaned.
+   */
+  static final class Cleaner {
+    private final boolean trim;
+    private final boolean trimLines;
+    private final boolean replaceSmartCharacters;
+    private final boolean removeSingleNewLines;
+    private final boolean removeRepeatedWhitespace;
+
+    Cleaner(Settings settings) {
+      this.trim = settings.isTrim();
+      this.trimLines = settings.isTrimLines();
+      this.replaceSmartCharacters = settings.isReplaceSmartCharacters();
+      this.removeSingleNewLines = settings.isRemoveSingleNewLines();
+      this.removeRepeatedWhitespace = settings.isRemoveRepeatedWhitespace();
+    }
+
+    String clean(String text) {
+      int begin = 0;
+      int end = text.length();
+
+      // Carriage returns are whitespace, so stripping first gives the same result as removing them
+      // first, as String.strip() would have done
+      if (trim) {
+        while (begin < end && Character.isWhitespace(text.charAt(begin))) begin++;
+        while (end > begin && Character.isWhitespace(text.charAt(end - 1))) end--;
+      }
+
+      StringBuilder sb = new StringBuilder(end - begin);
+      StringBuilder run = new StringBuilder();
+      StringBuilder buffer = new StringBuilder();
+
+      boolean hasPrevious = false;
+      boolean previousHyphen = false;
+
+      for (int i = begin; i < end; i++) {
+        char c = text.charAt(i);
+
+        if (c == '\r') continue;
+
+        if (isWhitespace(c)) {
+          run.append(c);
+          continue;
+        }
+
+        if (run.length() > 0) {
+          appendRun(sb, run, buffer, hasPrevious, previousHyphen, true);
+          run.setLength(0);
+        }
+
+        previousHyphen = appendCharacter(sb, c) == '-';
+        hasPrevious = true;
+      }
+
+      if (run.length() > 0) appendRun(sb, run, buffer, hasPrevious, previousHyphen, false);
+
+      return sb.toString();
+    }
+
+    // Returns the last character appended
+    private char appendCharacter(StringBuilder sb, char c) {
+      if (replaceSmartCharacters) {
+        switch (c) {
+          case '\u2013':
+          case '\u2014':
+          case '\u2015':
+            c = '-';
+            break;
+          case '\u2017':
+            c = '_';
+            break;
+          case '\u2018':
+          case '\u2019':
+          case '\u201b':
+          case '\u2032':
+            c = '\'';
+            break;
+          case '\u201a':
+            c = ',';
+            break;
+          case '\u201c':
+          case '\u201d':
+          case '\u201e':
+          case '\u2033':
+            c = '"';
+            break;
+          case '\u2026':
+            sb.append("...");
+            return '.';
+          default:
+            break;
+        }
+      }
+
+      sb.append(c);
+      return c;
+    }
+
+    private void appendRun(
+        StringBuilder sb,
+        StringBuilder run,
+        StringBuilder buffer,
+        boolean hasPrevious,
+        boolean previousHyphen,
+        boolean hasNext) {
+      // A single whitespace character, other than a new line, is never changed
+      if (run.length() == 1 && run.charAt(0) != '\n') {
+        sb.append(run.charAt(0));
+        return;
+      }
+
+      // Each step reads from one buffer and writes to the other
+      StringBuilder in = run;
+      StringBuilder out = buffer;
+      StringBuilder t;
+
+      if (trimLines) {
+        trimLines(in, out);
+        t = in;
+        in = out;
+        out = clear(t);
+      }
+
+      if (removeSingleNewLines) {
+        // The new line is removed from a line ending in a hyphen
+        if (previousHyphen && in.length() > 0 && in.charAt(0) == '\n') in.deleteCharAt(0);
+
+        removeSingleNewLines(in, out, hasPrevious, hasNext);
+        t = in;
+        in = out;
+        out = clear(t);
+
+        removeRepeatedNewLines(in, out);
+        t = in;
+        in = out;
+        out = clear(t);
+      }
+
+      if (removeRepeatedWhitespace) {
+        removeRepeatedTabs(in, out);
+        t = in;
+        in = out;
+        out = clear(t);
+
+        removeRepeatedSpaces(in, out);
+        in = out;
+      }
+
+      sb.append(in);
+      clear(buffer);
+    }
+
+    private static StringBuilder clear(StringBuilder sb) {
+      sb.setLength(0);
+      return sb;
+    }
+
+    // Remove horizontal whitespace either side of a new line
+    private static void trimLines(CharSequence in, StringBuilder out) {
+      int n = in.length();
+      int i = 0;
+      while (i < n) {
+        if (!isHorizontal(in.charAt(i))) {
+          out.append(in.charAt(i++));
+          continue;
+        }
+
+        int j = i;
+        while (j < n && isHorizontal(in.charAt(j))) j++;
+
+        if ((i == 0 || in.charAt(i - 1) != '\n') && (j == n || in.charAt(j) != '\n'))
+          out.append(in, i, j);
+
+        i = j;
+      }
+    }
+
+    // Replace a single new line (and surrounding horizontal whitespace) between two non-whitespace
+    // characters with a space
+    private static void removeSingleNewLines(
+        CharSequence in, StringBuilder out, boolean hasPrevious, boolean hasNext) {
+      int n = in.length();
+      int p = 0;
+      while (p < n) {
+        int end = matchSingleNewLine(in, p, hasPrevious, hasNext);
+        if (end > p) {
+          out.append(' ');
+          p = end;
+        } else {
+          out.append(in.charAt(p++));
+        }
+      }
+    }
+
+    private static int matchSingleNewLine(
+        CharSequence in, int p, boolean hasPrevious, boolean hasNext) {
+      int n = in.length();
+
+      // (?<=\S)
+      if (p == 0 ? !hasPrevious : isSpace(in.charAt(p - 1))) return -1;
+
+      // \h*\n
+      int i = p;
+      while (i < n && isHorizontal(in.charAt(i))) i++;
+      if (i == n || in.charAt(i) != '\n') return -1;
+
+      // \h*(?=\S), backtracking from the longest run of horizontal whitespace
+      int j = i + 1;
+      int k = j;
+      while (k < n && isHorizontal(in.charAt(k))) k++;
+
+      for (int q = k; q >= j; q--) {
+        if (q == n ? hasNext : !isSpace(in.charAt(q))) return q;
+      }
+
+      return -1;
+    }
+
+    // Replace two or more new lines (and surrounding horizontal whitespace) with two new lines
+    private static void removeRepeatedNewLines(CharSequence in, StringBuilder out) {
+      int n = in.length();
+      int p = 0;
+      while (p < n) {
+        int count = 0;
+        int first = -1;
+        int end = p;
+
+        int i = p;
+        while (true) {
+          int j = i;
+          while (j < n && isHorizontal(in.charAt(j))) j++;
+          if (first < 0) first = j;
+
+          if (j == n || in.charAt(j) != '\n') break;
+
+          j++;
+          while (j < n && isHorizontal(in.charAt(j))) j++;
+
+          count++;
+          i = end = j;
+        }
+
+        if (count >= 2) {
+          out.append("\n\n");
+          p = end;
+        } else {
+          // Nothing up to (and including) the first new line can start a match either
+          int next = Math.max(count == 0 ? first : first + 1, p + 1);
+          out.append(in, p, next);
+          p = next;
+        }
+      }
+    }
+
+    // Replace runs of spaces and tabs that contain a tab with a single tab
+    private static void removeRepeatedTabs(CharSequence in, StringBuilder out) {
+      int n = in.length();
+      int i = 0;
+      while (i < n) {
+        char c = in.charAt(i);
+        if (c != ' ' && c != '\t') {
+          out.append(c);
+          i++;
+          continue;
+        }
+
+        boolean tab = false;
+        int j = i;
+        while (j < n && (in.charAt(j) == ' ' || in.charAt(j) == '\t')) {
+          tab |= in.charAt(j) == '\t';
+          j++;
+        }
+
+        if (tab && j - i >= 2) {
+          out.append('\t');
+        } else {
+          out.append(in, i, j);
+        }
+
+        i = j;
+      }
+    }
+
+    // Replace runs of spaces with a single space
+    private static void removeRepeatedSpaces(CharSequence in, StringBuilder out) {
+      int n = in.length();
+      for (int i = 0; i < n; i++) {
+        char c = in.charAt(i);
+        if (c != ' ' || i == 0 || in.charAt(i - 1) != ' ') out.append(c);
+      }
+    }
+
+    // \h
+    private static boolean isHorizontal(char c) {
+      return c == ' '
+          || c == '\t'
+          || c == '\u00a0'
+          || c == '\u1680'
+          || c == '\u180e'
+          || (c >= '\u2000' && c <= '\u200a')
+          || c == '\u202f'
+          || c == '\u205f'
+          || c == '\u3000';
+    }
+
+    // \s
+    private static boolean isSpace(char c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == '\u000b' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWhitespace(char c) {
+      return isSpace(c) || isHorizontal(c);
+    }
+  }
+
   public static class Settings implements io.annot8.api.settings.Settings {
     private boolean removeSourceContent = false;
     private boolean trim = true;
@@ -8,6 +8,7 @@ import io.annot8.api.data.Item;
 import io.annot8.common.data.content.Text;
 import io.annot8.testing.testimpl.TestItem;
 import io.annot8.testing.testimpl.content.TestStringContent;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 public class CleanTest {
@@ -115,6 +116,90 @@ public class CleanTest {
     assertEquals("A B\tC\tD\tE\tF\tG\tH", item.getContents(Text.class).findFirst().get().getData());
   }
 
+  @Test
+  public void testAll() {
+    Clean.Settings s = new Clean.Settings();
+
+    Processor p = new Clean.Processor(s);
+    Item item = new TestItem();
+
+    item.createContent(TestStringContent.class)
+        .withData(
+            "  \u201cHello\u201d  she \r\n said\u2026 \t \n\n\n An extreme-\n  ly long \u2013 word.  \n")
+        .save();
+
+    p.process(item);
+    assertEquals(2L, item.getContents().count());
+
+    assertEquals(
+        "\"Hello\" she said...\n\nAn extreme-ly long - word.",
+        item.getContents(Text.class)
+            .filter(t -> t.getDescription().startsWith("Cleaned"))
+            .findFirst()
+            .get()
+            .getData());
+  }
+
+  @Test
+  public void testSameAsRegularExpressions() {
+    char[] alphabet = {
+      'a', 'b', '-', '.', ' ', ' ', '\t', '\t', '\n', '\n', '\r', '\u000b', '\f', '\u00a0',
+      '\u2003', '\u3000', '\u2028', '\u2013', '\u2026', '\u201c'
+    };
+
+    Random random = new Random(0);
+    for (int i = 0; i < 50000; i++) {
+      StringBuilder sb = new StringBuilder();
+      int length = random.nextInt(30);
+      for (int j = 0; j < length; j++) {
+        sb.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      String text = sb.toString();
+
+      Clean.Settings s = new Clean.Settings();
+      s.setTrim(random.nextBoolean());
+      s.setTrimLines(random.nextBoolean());
+      s.setReplaceSmartCharacters(random.nextBoolean());
+      s.setRemoveSingleNewLines(random.nextBoolean());
+      s.setRemoveRepeatedWhitespace(random.nextBoolean());
+
+      assertEquals(cleanWithRegularExpressions(text, s), new Clean.Cleaner(s).clean(text));
+    }
+  }
+
+  // The original implementation, which applied each step to the whole text in turn
+  private static String cleanWithRegularExpressions(String text, Clean.Settings settings) {
+    String clean = text.replaceAll("\\r", "");
+
+    if (settings.isTrim()) clean = clean.strip();
+
+    if (settings.isTrimLines()) clean = clean.replaceAll("(\\h+\\n\\h+|\\h+\\n|\\n\\h+)", "\n");
+
+    if (settings.isReplaceSmartCharacters()) {
+      clean =
+          clean
+              .replaceAll("[\u2013\u2014\u2015]", "-")
+              .replaceAll("\u2017", "_")
+              .replaceAll("[\u2018\u2019\u201b\u2032]", "'")
+              .replaceAll("\u201a", ",")
+              .replaceAll("[\u201c\u201d\u201e\u2033]", "\"")
+              .replaceAll("\u2026", "...");
+    }
+
+    if (settings.isRemoveSingleNewLines()) {
+      clean = clean.replaceAll("-\\n", "-");
+      clean = clean.replaceAll("(?<=\\S)\\h*\\n\\h*(?=\\S)", " ");
+      clean = clean.replaceAll("(\\h*\\n\\h*){2,}", "\n\n");
+    }
+
+    if (settings.isRemoveRepeatedWhitespace()) {
+      clean = clean.replaceAll("([ \t]+\t[ \t]+|[ \t]+\t|\t[ \t]+)", "\t");
+      clean = clean.replaceAll(" {2,}", " ");
+    }
+
+    return clean;
+  }
+
   @Test
   public void testCopyProperties() {
     Clean.Settings s = getFalseSettings();
@@ -0,0 +1,154 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.tika.processors;
+
+import java.util.function.Consumer;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * ContentHandler that buffers the text of a document and passes it to a consumer in chunks as
+ * parsing proceeds, rather than accumulating the whole document in memory.
+ *
+ * <p>If splitting on pages, a chunk is emitted at the end of each page (marked by Tika as {@code
+ * <div class="page">}). If a chunk size is given, a chunk is also emitted whenever that many
+ * characters have been buffered, split at the last whitespace character where possible. Any
+ * remaining text is emitted at the end of the document, or when {@link #flush()} is called.
+ *
+ * <p>This handler expects to receive only the body of the document, so should usually be wrapped in
+ * a {@link org.apache.tika.sax.BodyContentHandler}.
+ */
+public class ChunkingContentHandler extends DefaultHandler {
+  private final boolean splitOnPages;
+  private final int chunkSize;
+  private final Consumer<Chunk> consumer;
+
+  private final StringBuilder buffer = new StringBuilder();
+  private int offset = 0;
+  private int index = 0;
+
+  private int depth = 0;
+  private int pageDepth = -1;
+  private int page = 0;
+
+  /**
+   * @param splitOnPages Emit a chunk at the end of each page
+   * @param chunkSize Maximum number of characters in a chunk, or 0 for no maximum
+   * @param consumer Consumer that receives each chunk as it is emitted
+   */
+  public ChunkingContentHandler(boolean splitOnPages, int chunkSize, Consumer<Chunk> consumer) {
+    this.splitOnPages = splitOnPages;
+    this.chunkSize = chunkSize;
+    this.consumer = consumer;
+  }
+
+  @Override
+  public void startElement(String uri, String localName, String qName, Attributes atts) {
+    depth++;
+
+    if (splitOnPages && pageDepth < 0 && isPage(localName, atts)) {
+      pageDepth = depth;
+      page++;
+    }
+  }
+
+  @Override
+  public void endElement(String uri, String localName, String qName) {
+    if (depth == pageDepth) {
+      pageDepth = -1;
+      flush();
+    }
+
+    depth--;
+  }
+
+  @Override
+  public void characters(char[] ch, int start, int length) {
+    buffer.append(ch, start, length);
+
+    while (chunkSize > 0 && buffer.length() >= chunkSize) {
+      emit(splitPoint());
+    }
+  }
+
+  @Override
+  public void ignorableWhitespace(char[] ch, int start, int length) {
+    characters(ch, start, length);
+  }
+
+  @Override
+  public void endDocument() {
+    flush();
+  }
+
+  /** Emit any buffered text as a chunk */
+  public void flush() {
+    emit(buffer.length());
+  }
+
+  /** Returns the total number of characters emitted so far */
+  public int getLength() {
+    return offset;
+  }
+
+  private static boolean isPage(String localName, Attributes atts) {
+    return "div".equals(localName) && "page".equals(atts.getValue("class"));
+  }
+
+  private int splitPoint() {
+    for (int i = chunkSize - 1; i > 0; i--) {
+      if (Character.isWhitespace(buffer.charAt(i))) return i + 1;
+    }
+
+    // No whitespace, so split at the chunk size but avoid breaking a surrogate pair
+    if (Character.isHighSurrogate(buffer.charAt(chunkSize - 1)) && chunkSize > 1)
+      return chunkSize - 1;
+
+    return chunkSize;
+  }
+
+  private void emit(int length) {
+    if (length == 0) return;
+
+    String text = buffer.substring(0, length);
+    buffer.delete(0, length);
+
+    consumer.accept(new Chunk(index, offset, text, page));
+
+    index++;
+    offset += length;
+  }
+
+  /** A chunk of text, and its position within the document */
+  public static class Chunk {
+    private final int index;
+    private final int offset;
+    private final String text;
+    private final int page;
+
+    public Chunk(int index, int offset, String text, int page) {
+      this.index = index;
+      this.offset = offset;
+      this.text = text;
+      this.page = page;
+    }
+
+    /** The index of this chunk within the document, starting at 0 */
+    public int getIndex() {
+      return index;
+    }
+
+    /** The character offset of the start of this chunk within the document */
+    public int getOffset() {
+      return offset;
+    }
+
+    public String getText() {
+      return text;
+    }
+
+    /** The page on which this chunk ends, starting at 1, or 0 if no pages have been seen */
+    public int getPage() {
+      return page;
+    }
+  }
+}
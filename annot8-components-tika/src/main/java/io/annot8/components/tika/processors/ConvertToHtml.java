@@ -19,12 +19,19 @@ import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
-import org.apache.tika.parser.AutoDetectParser;
-import org.apache.tika.parser.ParseContext;
 import org.apache.tika.sax.ToXMLContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 
@@ -36,7 +43,7 @@ public class ConvertToHtml
 
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    return new Processor(settings.isRemoveSourceContent());
+    return new Processor(settings);
   }
 
   @Override
@@ -58,10 +65,33 @@ public class ConvertToHtml
   }
 
   public static class Processor extends AbstractProcessor {
+    private static final Cleaner CLEANER = Cleaner.create();
+
     private final boolean removeSourceContent;
+    private final int maxCharacters;
+    private final int tempFileThreshold;
+    private final TikaParser parser;
 
     public Processor(boolean removeSourceContent) {
-      this.removeSourceContent = removeSourceContent;
+      this(createSettings(removeSourceContent));
+    }
+
+    public Processor(Settings settings) {
+      this(settings, new TikaParser(settings));
+    }
+
+    public Processor(Settings settings, TikaParser parser) {
+      this.removeSourceContent = settings.isRemoveSourceContent();
+      this.maxCharacters = settings.getMaxCharacters();
+      this.tempFileThreshold =
+          settings.getTempFileThreshold() < 0 ? Integer.MAX_VALUE : settings.getTempFileThreshold();
+      this.parser = parser;
+    }
+
+    private static Settings createSettings(boolean removeSourceContent) {
+      Settings settings = new Settings();
+      settings.setRemoveSourceContent(removeSourceContent);
+      return settings;
     }
 
     public ProcessorResponse process(Item item) {
@@ -69,16 +99,20 @@ public class ConvertToHtml
       item.getContents(InputStreamContent.class)
           .forEach(
               c -> {
-                this.createHtml(item, c.getId(), c.getData());
-                if (removeSourceContent) item.removeContent(c);
+                try (InputStream inputStream = c.getData()) {
+                  this.createHtml(item, c.getId(), inputStream);
+                  if (removeSourceContent) item.removeContent(c);
+                } catch (IOException e) {
+                  this.log().error("Unable to read InputStream Content {}", c.getId(), e);
+                }
               });
 
       // Process Files
       item.getContents(FileContent.class)
           .forEach(
               c -> {
-                try {
-                  this.createHtml(item, c.getId(), new FileInputStream(c.getData()));
+                try (InputStream inputStream = new FileInputStream(c.getData())) {
+                  this.createHtml(item, c.getId(), inputStream);
                   if (removeSourceContent) item.removeContent(c);
                 } catch (IOException e) {
                   this.log().error("Unable to read File Content {}", c.getId(), e);
@@ -89,23 +123,47 @@ public class ConvertToHtml
     }
 
     private void createHtml(Item item, String originalContentName, InputStream inputStream) {
+      // HTML is written as UTF-8 bytes, in memory unless it exceeds the threshold
+      DiscardableOutputStream outputStream =
+          new DiscardableOutputStream(
+              new DeferredFileOutputStream(tempFileThreshold, "annot8-tika", ".html", null));
+      boolean saved = false;
+
       try {
         // Create Tika context
-        ContentHandler htmlHandler = new ToXMLContentHandler();
+        ContentHandler htmlHandler =
+            new ToXMLContentHandler(outputStream, StandardCharsets.UTF_8.name());
+        WriteOutContentHandler limitHandler =
+            new WriteOutContentHandler(htmlHandler, maxCharacters);
         Metadata metadata = new Metadata();
-        ParseContext context = new ParseContext();
 
         // Parse document
-        AutoDetectParser parser = new AutoDetectParser();
-        parser.parse(inputStream, htmlHandler, metadata, context);
+        long start = System.currentTimeMillis();
+        try {
+          parser.parse(inputStream, limitHandler, metadata);
+        } catch (SAXException e) {
+          if (!limitHandler.isWriteLimitReached(e)) throw e;
+
+          log()
+              .warn(
+                  "HTML converted from Content {} truncated to {} characters",
+                  originalContentName,
+                  maxCharacters);
+          metrics().counter("truncated").increment();
+        } finally {
+          metrics()
+              .timer("parse." + TikaParser.getMediaType(metadata))
+              .record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
+        }
+
+        // Flush any buffered output (endDocument isn't called if the output was truncated)
+        htmlHandler.endDocument();
+        outputStream.close();
 
         // Create Text content
         Content.Builder<InputStreamContent, InputStream> builder =
             item.createContent(InputStreamContent.class)
-                .withData(
-                    () ->
-                        new ByteArrayInputStream(
-                            htmlHandler.toString().getBytes(StandardCharsets.UTF_8)))
+                .withData(createSupplier(outputStream.getDelegate()))
                 .withDescription("HTML version of " + originalContentName);
 
         // Add metadata to content
@@ -119,29 +177,122 @@ public class ConvertToHtml
 
         // Save content
         builder.save();
+        saved = true;
       } catch (SAXException | IOException | TikaException e) {
         log().error("Unable to convert Content {} to HTML", originalContentName, e);
+      } finally {
+        if (!saved) discard(outputStream);
       }
     }
+
+    private void discard(DiscardableOutputStream outputStream) {
+      try {
+        outputStream.discard();
+      } catch (IOException e) {
+        log().warn("Unable to discard HTML output", e);
+      }
+    }
+
+    static Supplier<InputStream> createSupplier(DeferredFileOutputStream outputStream) {
+      if (outputStream.isInMemory()) {
+        byte[] data = outputStream.getData();
+        return () -> new ByteArrayInputStream(data);
+      }
+
+      Path file = outputStream.getFile().toPath();
+      Supplier<InputStream> supplier =
+          () -> {
+            try {
+              return Files.newInputStream(file);
+            } catch (IOException e) {
+              throw new UncheckedIOException("Unable to read HTML from temporary file " + file, e);
+            }
+          };
+
+      // Delete the file once the content holding the supplier has been released
+      CLEANER.register(supplier, () -> deleteTempFile(file));
+
+      return supplier;
+    }
+
+    private static void deleteTempFile(Path file) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        // Nothing more can be done from the cleaner thread, so leave it for the OS to tidy up
+      }
+    }
+
+    @Override
+    public void close() {
+      parser.close();
+    }
   }
 
-  public static class Settings implements io.annot8.api.settings.Settings {
-    private boolean removeSourceContent = true;
+  /**
+   * Output stream for the HTML which can be discarded, closing it and deleting any temporary file,
+   * whilst a parse that has timed out may still be writing to it in the background. Anything
+   * written after it has been discarded is ignored, so that the abandoned parse can't create a new
+   * temporary file.
+   */
+  static final class DiscardableOutputStream extends OutputStream {
+    private final DeferredFileOutputStream delegate;
+    private boolean discarded = false;
+
+    DiscardableOutputStream(DeferredFileOutputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    DeferredFileOutputStream getDelegate() {
+      return delegate;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+      if (!discarded) delegate.write(b);
+    }
 
     @Override
-    public boolean validate() {
-      return true;
+    public synchronized void write(byte[] b, int off, int len) throws IOException {
+      if (!discarded) delegate.write(b, off, len);
     }
 
+    @Override
+    public synchronized void flush() throws IOException {
+      if (!discarded) delegate.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      if (!discarded) delegate.close();
+    }
+
+    /** Close the stream and delete any temporary file, ignoring any further output */
+    synchronized void discard() throws IOException {
+      if (discarded) return;
+      discarded = true;
+
+      try {
+        delegate.close();
+      } finally {
+        if (!delegate.isInMemory()) Files.deleteIfExists(delegate.getFile().toPath());
+      }
+    }
+  }
+
+  public static class Settings extends TikaSettings {
+    private int tempFileThreshold = 10 * 1024 * 1024;
+
     @Description(
-        value = "Should the source Content be removed after successful processing?",
-        defaultValue = "true")
-    public boolean isRemoveSourceContent() {
-      return removeSourceContent;
+        value =
+            "Size in bytes above which the HTML is stored in a temporary file rather than in memory, or -1 to always store in memory",
+        defaultValue = "10485760")
+    public int getTempFileThreshold() {
+      return tempFileThreshold;
     }
 
-    public void setRemoveSourceContent(boolean removeSourceContent) {
-      this.removeSourceContent = removeSourceContent;
+    public void setTempFileThreshold(int tempFileThreshold) {
+      this.tempFileThreshold = tempFileThreshold;
     }
   }
 }
@@ -16,16 +16,20 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.content.FileContent;
 import io.annot8.common.data.content.InputStreamContent;
 import io.annot8.common.data.content.Text;
+import io.annot8.components.tika.processors.ChunkingContentHandler.Chunk;
+import io.annot8.conventions.PropertyKeys;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
-import org.apache.tika.parser.AutoDetectParser;
-import org.apache.tika.parser.ParseContext;
 import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
 import org.xml.sax.SAXException;
 
 @ComponentName("Tika Extractor")
@@ -36,7 +40,7 @@ public class TikaExtractor
 
   @Override
   protected Processor createComponent(Context context, Settings settings) {
-    return new Processor(settings.isRemoveSourceContent());
+    return new Processor(settings);
   }
 
   @Override
@@ -59,9 +63,31 @@ public class TikaExtractor
 
   public static class Processor extends AbstractProcessor {
     private final boolean removeSourceContent;
+    private final int maxCharacters;
+    private final Chunking chunking;
+    private final int chunkSize;
+    private final TikaParser parser;
 
     public Processor(boolean removeSourceContent) {
-      this.removeSourceContent = removeSourceContent;
+      this(createSettings(removeSourceContent));
+    }
+
+    public Processor(Settings settings) {
+      this(settings, new TikaParser(settings));
+    }
+
+    public Processor(Settings settings, TikaParser parser) {
+      this.removeSourceContent = settings.isRemoveSourceContent();
+      this.maxCharacters = settings.getMaxCharacters();
+      this.chunking = settings.getChunking();
+      this.chunkSize = settings.getChunkSize();
+      this.parser = parser;
+    }
+
+    private static Settings createSettings(boolean removeSourceContent) {
+      Settings settings = new Settings();
+      settings.setRemoveSourceContent(removeSourceContent);
+      return settings;
     }
 
     public ProcessorResponse process(Item item) {
@@ -71,16 +97,21 @@ public class TikaExtractor
       item.getContents(InputStreamContent.class)
           .forEach(
               c -> {
-                this.createText(item, c.getId(), c.getData());
-                if (removeSourceContent) item.removeContent(c);
+                try (InputStream inputStream = c.getData()) {
+                  this.createText(item, c.getId(), inputStream);
+                  if (removeSourceContent) item.removeContent(c);
+                } catch (IOException e) {
+                  this.log().error("Unable to read InputStream Content {}", c.getId(), e);
+                  exceptions.add(e);
+                }
               });
 
       // Process Files
       item.getContents(FileContent.class)
           .forEach(
               c -> {
-                try {
-                  this.createText(item, c.getId(), new FileInputStream(c.getData()));
+                try (InputStream inputStream = new FileInputStream(c.getData())) {
+                  this.createText(item, c.getId(), inputStream);
                   if (removeSourceContent) item.removeContent(c);
                 } catch (IOException e) {
                   this.log().error("Unable to read File Content {}", c.getId(), e);
@@ -98,54 +129,146 @@ public class TikaExtractor
     private void createText(Item item, String originalContentName, InputStream inputStream) {
       try {
         // Create Tika context
-        BodyContentHandler textHandler = new BodyContentHandler(Integer.MAX_VALUE);
         Metadata metadata = new Metadata();
-        ParseContext context = new ParseContext();
+
+        // If we aren't chunking, then hold on to the text until parsing is complete so that all
+        // the metadata is available. Likewise if parsing happens on a background thread, so that
+        // content is only created on this thread and never after the parse has timed out.
+        // Otherwise, create Text content as each chunk is emitted.
+        List<Chunk> deferred = new ArrayList<>();
+        Consumer<Chunk> consumer;
+        if (chunking == Chunking.NONE || parser.parsesInBackground()) {
+          consumer = deferred::add;
+        } else {
+          consumer = chunk -> createChunkContent(item, originalContentName, metadata, chunk);
+        }
+
+        ChunkingContentHandler textHandler =
+            new ChunkingContentHandler(
+                chunking == Chunking.PAGE, chunking == Chunking.NONE ? 0 : chunkSize, consumer);
+        WriteOutContentHandler limitHandler =
+            new WriteOutContentHandler(textHandler, maxCharacters);
 
         // Parse document
-        AutoDetectParser parser = new AutoDetectParser();
-        parser.parse(inputStream, textHandler, metadata, context);
-
-        // Create Text content
-        Content.Builder<Text, String> builder =
-            item.createContent(Text.class)
-                .withData(textHandler.toString())
-                .withDescription("Tika'd output of " + originalContentName);
-
-        // Add metadata to content
-        for (String name : metadata.names()) {
-          if (metadata.isMultiValued(name)) {
-            builder = builder.withProperty(name, metadata.getValues(name));
-          } else {
-            builder = builder.withProperty(name, metadata.get(name));
-          }
+        long start = System.currentTimeMillis();
+        try {
+          parser.parse(inputStream, new BodyContentHandler(limitHandler), metadata);
+        } catch (SAXException e) {
+          if (!limitHandler.isWriteLimitReached(e)) throw e;
+
+          log()
+              .warn(
+                  "Text extracted from Content {} truncated to {} characters",
+                  originalContentName,
+                  maxCharacters);
+          metrics().counter("truncated").increment();
+        } finally {
+          metrics()
+              .timer("parse." + TikaParser.getMediaType(metadata))
+              .record(System.currentTimeMillis() - start, TimeUnit.MILLISECONDS);
         }
 
-        // Save content
-        builder.save();
+        textHandler.flush();
+
+        if (chunking == Chunking.NONE) {
+          String text = deferred.stream().map(Chunk::getText).collect(Collectors.joining());
+          createContent(item, originalContentName, metadata, text).save();
+        } else {
+          deferred.forEach(chunk -> createChunkContent(item, originalContentName, metadata, chunk));
+        }
       } catch (SAXException | IOException | TikaException e) {
         log().error("Unable to extract text from Content {}", originalContentName, e);
       }
     }
+
+    private void createChunkContent(
+        Item item, String originalContentName, Metadata metadata, Chunk chunk) {
+      Content.Builder<Text, String> builder =
+          createContent(item, originalContentName, metadata, chunk.getText())
+              .withDescription(
+                  "Tika'd output of " + originalContentName + " (chunk " + chunk.getIndex() + ")")
+              .withProperty(PropertyKeys.PROPERTY_KEY_PARENT, originalContentName)
+              .withProperty(PropertyKeys.PROPERTY_KEY_INDEX, chunk.getIndex())
+              .withProperty(PropertyKeys.PROPERTY_KEY_START, chunk.getOffset())
+              .withProperty(
+                  PropertyKeys.PROPERTY_KEY_END, chunk.getOffset() + chunk.getText().length());
+
+      if (chunk.getPage() > 0)
+        builder = builder.withProperty(PropertyKeys.PROPERTY_KEY_PAGE, chunk.getPage());
+
+      builder.save();
+      metrics().counter("chunks").increment();
+    }
+
+    private Content.Builder<Text, String> createContent(
+        Item item, String originalContentName, Metadata metadata, String text) {
+      // Create Text content
+      Content.Builder<Text, String> builder =
+          item.createContent(Text.class)
+              .withData(text)
+              .withDescription("Tika'd output of " + originalContentName);
+
+      // Add metadata to content (when chunking, this is the metadata available so far)
+      for (String name : metadata.names()) {
+        if (metadata.isMultiValued(name)) {
+          builder = builder.withProperty(name, metadata.getValues(name));
+        } else {
+          builder = builder.withProperty(name, metadata.get(name));
+        }
+      }
+
+      return builder;
+    }
+
+    @Override
+    public void close() {
+      parser.close();
+    }
   }
 
-  public static class Settings implements io.annot8.api.settings.Settings {
-    private boolean removeSourceContent = true;
+  public static class Settings extends TikaSettings {
+    private Chunking chunking = Chunking.NONE;
+    private int chunkSize = 100_000;
 
     @Override
     public boolean validate() {
-      return true;
+      return super.validate()
+          && chunking != null
+          && chunkSize >= 0
+          && (chunking != Chunking.CHARACTERS || chunkSize > 0);
     }
 
     @Description(
-        value = "Should the source Content be removed after successful processing?",
-        defaultValue = "true")
-    public boolean isRemoveSourceContent() {
-      return removeSourceContent;
+        value =
+            "How the extracted text should be split into separate Text content. If a timeout is set, then chunks are only created once the whole document has been parsed",
+        defaultValue = "NONE")
+    public Chunking getChunking() {
+      return chunking;
     }
 
-    public void setRemoveSourceContent(boolean removeSourceContent) {
-      this.removeSourceContent = removeSourceContent;
+    public void setChunking(Chunking chunking) {
+      this.chunking = chunking;
+    }
+
+    @Description(
+        value =
+            "Maximum number of characters in each chunk, or 0 for no maximum when chunking by PAGE",
+        defaultValue = "100000")
+    public int getChunkSize() {
+      return chunkSize;
     }
+
+    public void setChunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+  }
+
+  public enum Chunking {
+    /** Create a single Text content once the whole document has been parsed */
+    NONE,
+    /** Create a Text content for each page, and split pages larger than the chunk size */
+    PAGE,
+    /** Create a Text content for each block of up to chunk size characters */
+    CHARACTERS
   }
 }
@@ -0,0 +1,238 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.tika.processors;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.fork.ForkParser;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses documents with a single, shared {@link AutoDetectParser}, optionally enforcing a timeout
+ * per document.
+ *
+ * <p>Within the pipeline JVM, a timeout only stops waiting for the parse. Java can't kill a thread,
+ * so a parse that times out is abandoned, and carries on in the background until it fails or
+ * completes; closing the input stream will usually make it fail. Once the maximum number of
+ * abandoned parses are still running, further documents are rejected until some of them have
+ * finished. Parses that haven't timed out don't count towards this limit.
+ *
+ * <p>If a fork pool size is configured, then documents are instead parsed in a pool of forked JVMs
+ * (using Tika's {@link ForkParser}) so that a pathological document cannot hang or exhaust the
+ * memory of the pipeline JVM. This is the only way to really stop a parse that has timed out, as
+ * the forked JVM is killed. In this mode, the MIME type is detected in the pipeline JVM before the
+ * document is passed to the forked JVM.
+ */
+public class TikaParser implements Closeable {
+  public static final String UNKNOWN_MEDIA_TYPE = "unknown";
+
+  // AutoDetectParser is thread-safe, and expensive to create, so we share a single instance
+  private static final AutoDetectParser SHARED_PARSER = new AutoDetectParser();
+
+  private final long timeout;
+  private final ForkParser forkParser;
+  private final ExecutorService executor;
+  private final int maxAbandonedParses;
+  private final AtomicInteger abandonedParses = new AtomicInteger();
+
+  public TikaParser() {
+    this(0, 0, List.of());
+  }
+
+  public TikaParser(TikaSettings settings) {
+    this(
+        settings.getTimeout(),
+        settings.getMaxAbandonedParses(),
+        settings.getForkPoolSize(),
+        settings.getForkJavaCommand());
+  }
+
+  public TikaParser(long timeout, int forkPoolSize, List<String> forkJavaCommand) {
+    this(timeout, TikaSettings.DEFAULT_MAX_ABANDONED_PARSES, forkPoolSize, forkJavaCommand);
+  }
+
+  public TikaParser(
+      long timeout, int maxAbandonedParses, int forkPoolSize, List<String> forkJavaCommand) {
+    this.timeout = timeout;
+    this.maxAbandonedParses = maxAbandonedParses;
+
+    if (forkPoolSize > 0) {
+      forkParser = new ForkParser(TikaParser.class.getClassLoader(), SHARED_PARSER);
+      forkParser.setPoolSize(forkPoolSize);
+      forkParser.setJavaCommand(forkJavaCommand);
+      if (timeout > 0) forkParser.setServerParseTimeoutMillis(timeout);
+
+      executor = null;
+    } else {
+      forkParser = null;
+
+      if (timeout > 0) {
+        executor =
+            Executors.newCachedThreadPool(
+                r -> {
+                  Thread t = new Thread(r, "annot8-tika-parser");
+                  t.setDaemon(true);
+                  return t;
+                });
+      } else {
+        executor = null;
+      }
+    }
+  }
+
+  /**
+   * Parse the input stream, passing the output to the handler and populating the metadata. The
+   * input stream is not closed by this method.
+   */
+  public void parse(InputStream inputStream, ContentHandler handler, Metadata metadata)
+      throws IOException, SAXException, TikaException {
+    if (forkParser != null) {
+      TikaInputStream tis = TikaInputStream.get(inputStream);
+      MediaType mediaType = SHARED_PARSER.getDetector().detect(tis, metadata);
+      metadata.set(Metadata.CONTENT_TYPE, mediaType.toString());
+
+      forkParser.parse(tis, handler, metadata, new ParseContext());
+    } else if (executor == null) {
+      SHARED_PARSER.parse(inputStream, handler, metadata, new ParseContext());
+    } else {
+      parseWithTimeout(inputStream, handler, metadata);
+    }
+  }
+
+  private void parseWithTimeout(InputStream inputStream, ContentHandler handler, Metadata metadata)
+      throws IOException, SAXException, TikaException {
+    int abandoned = abandonedParses.get();
+    if (abandoned >= maxAbandonedParses) {
+      throw new TikaException(
+          abandoned
+              + " parses which timed out are still running, which is the maximum allowed"
+              + " (maxAbandonedParses) - consider using fork mode");
+    }
+
+    TimedParse parse = new TimedParse(inputStream, handler, metadata);
+    Future<?> future = executor.submit(parse);
+
+    try {
+      future.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      parse.abandon();
+      future.cancel(true);
+      throw new TikaException("Parsing did not complete within " + timeout + "ms", e);
+    } catch (InterruptedException e) {
+      parse.abandon();
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new TikaException("Interrupted whilst parsing", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) throw (IOException) cause;
+      if (cause instanceof SAXException) throw (SAXException) cause;
+      if (cause instanceof TikaException) throw (TikaException) cause;
+      if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+
+      throw new TikaException("Unable to parse document", cause);
+    }
+  }
+
+  /** Returns the number of parses which have timed out but are still running in the background */
+  public int getAbandonedParses() {
+    return abandonedParses.get();
+  }
+
+  /**
+   * Returns true if documents are parsed on a background thread, in which case the handler is
+   * called from that thread and may still be called after {@link #parse} has thrown
+   */
+  public boolean parsesInBackground() {
+    return executor != null;
+  }
+
+  /**
+   * Returns the base MIME type (i.e. without parameters) from the metadata, or {@link
+   * #UNKNOWN_MEDIA_TYPE} if it is not available
+   */
+  public static String getMediaType(Metadata metadata) {
+    String contentType = metadata.get(Metadata.CONTENT_TYPE);
+    if (contentType == null) return UNKNOWN_MEDIA_TYPE;
+
+    MediaType mediaType = MediaType.parse(contentType);
+    if (mediaType == null) return UNKNOWN_MEDIA_TYPE;
+
+    return mediaType.getBaseType().toString();
+  }
+
+  /** A parse on the executor, which is counted while it runs on after being abandoned */
+  private class TimedParse implements Callable<Void> {
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+    private static final int DONE = 3;
+
+    private final AtomicInteger state = new AtomicInteger(NEW);
+    private final InputStream inputStream;
+    private final ContentHandler handler;
+    private final Metadata metadata;
+
+    private TimedParse(InputStream inputStream, ContentHandler handler, Metadata metadata) {
+      this.inputStream = inputStream;
+      this.handler = handler;
+      this.metadata = metadata;
+    }
+
+    @Override
+    public Void call() throws Exception {
+      if (!state.compareAndSet(NEW, RUNNING)) return null;
+
+      try {
+        SHARED_PARSER.parse(inputStream, handler, metadata, new ParseContext());
+      } finally {
+        if (state.getAndSet(DONE) == ABANDONED) abandonedParses.decrementAndGet();
+      }
+
+      return null;
+    }
+
+    /** Stop waiting for the parse, counting it if it is still running and stopping it if not */
+    private void abandon() {
+      // Count the parse first, so that it can't finish and uncount itself before being counted
+      abandonedParses.incrementAndGet();
+
+      while (true) {
+        int current = state.get();
+        if (current == RUNNING) {
+          if (state.compareAndSet(RUNNING, ABANDONED)) return;
+        } else if (current == NEW) {
+          // Stop the parse from starting, as nothing is waiting for it
+          if (state.compareAndSet(NEW, DONE)) break;
+        } else {
+          break;
+        }
+      }
+
+      abandonedParses.decrementAndGet();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (forkParser != null) forkParser.close();
+
+    if (executor != null) executor.shutdownNow();
+  }
+}
@@ -0,0 +1,91 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.tika.processors;
+
+import io.annot8.api.settings.Description;
+import io.annot8.api.settings.Settings;
+import java.util.List;
+
+public class TikaSettings implements Settings {
+  /** Default maximum number of abandoned parses, which is the number of available processors */
+  public static final int DEFAULT_MAX_ABANDONED_PARSES = Runtime.getRuntime().availableProcessors();
+
+  private boolean removeSourceContent = true;
+  private long timeout = 0;
+  private int maxAbandonedParses = DEFAULT_MAX_ABANDONED_PARSES;
+  private int maxCharacters = -1;
+  private int forkPoolSize = 0;
+  private List<String> forkJavaCommand = List.of("java", "-Xmx512m", "-Djava.awt.headless=true");
+
+  @Override
+  public boolean validate() {
+    return timeout >= 0
+        && maxAbandonedParses >= 0
+        && maxCharacters != 0
+        && forkPoolSize >= 0
+        && (forkPoolSize == 0 || (forkJavaCommand != null && !forkJavaCommand.isEmpty()));
+  }
+
+  @Description(
+      value = "Should the source Content be removed after successful processing?",
+      defaultValue = "true")
+  public boolean isRemoveSourceContent() {
+    return removeSourceContent;
+  }
+
+  public void setRemoveSourceContent(boolean removeSourceContent) {
+    this.removeSourceContent = removeSourceContent;
+  }
+
+  @Description(
+      value = "Maximum time in milliseconds to spend parsing a single document, or 0 for no limit",
+      defaultValue = "0")
+  public long getTimeout() {
+    return timeout;
+  }
+
+  public void setTimeout(long timeout) {
+    this.timeout = timeout;
+  }
+
+  @Description(
+      "Maximum number of parses which have timed out, but are still running in the background, before further documents are rejected (defaults to the number of available processors). Not used in fork mode, where parses that time out are stopped.")
+  public int getMaxAbandonedParses() {
+    return maxAbandonedParses;
+  }
+
+  public void setMaxAbandonedParses(int maxAbandonedParses) {
+    this.maxAbandonedParses = maxAbandonedParses;
+  }
+
+  @Description(
+      value =
+          "Maximum number of characters to extract from a single document, or -1 for no limit. Output beyond this is truncated.",
+      defaultValue = "-1")
+  public int getMaxCharacters() {
+    return maxCharacters;
+  }
+
+  public void setMaxCharacters(int maxCharacters) {
+    this.maxCharacters = maxCharacters;
+  }
+
+  @Description(
+      value = "Number of forked JVMs to parse documents in, or 0 to parse within the pipeline JVM",
+      defaultValue = "0")
+  public int getForkPoolSize() {
+    return forkPoolSize;
+  }
+
+  public void setForkPoolSize(int forkPoolSize) {
+    this.forkPoolSize = forkPoolSize;
+  }
+
+  @Description("Command (including JVM arguments such as heap size) used to start forked JVMs")
+  public List<String> getForkJavaCommand() {
+    return forkJavaCommand;
+  }
+
+  public void setForkJavaCommand(List<String> forkJavaCommand) {
+    this.forkJavaCommand = forkJavaCommand;
+  }
+}
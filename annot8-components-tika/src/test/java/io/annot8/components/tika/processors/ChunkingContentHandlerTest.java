@@ -0,0 +1,70 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.tika.processors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.annot8.components.tika.processors.ChunkingContentHandler.Chunk;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.helpers.AttributesImpl;
+
+public class ChunkingContentHandlerTest {
+
+  @Test
+  public void testChunkSize() {
+    List<Chunk> chunks = new ArrayList<>();
+    ChunkingContentHandler handler = new ChunkingContentHandler(false, 10, chunks::add);
+
+    characters(handler, "The quick brown fox");
+    characters(handler, "jumpsoverthelazydog");
+    handler.endDocument();
+
+    assertEquals(5, chunks.size());
+
+    assertChunk(chunks.get(0), 0, 0, "The quick ");
+    assertChunk(chunks.get(1), 1, 10, "brown ");
+    assertChunk(chunks.get(2), 2, 16, "foxjumpsov");
+    assertChunk(chunks.get(3), 3, 26, "erthelazyd");
+    assertChunk(chunks.get(4), 4, 36, "og");
+
+    assertEquals(38, handler.getLength());
+  }
+
+  @Test
+  public void testPages() {
+    List<Chunk> chunks = new ArrayList<>();
+    ChunkingContentHandler handler = new ChunkingContentHandler(true, 0, chunks::add);
+
+    AttributesImpl page = new AttributesImpl();
+    page.addAttribute("", "class", "class", "CDATA", "page");
+
+    handler.startElement("", "div", "div", page);
+    handler.startElement("", "p", "p", new AttributesImpl());
+    characters(handler, "Page one");
+    handler.endElement("", "p", "p");
+    handler.endElement("", "div", "div");
+
+    handler.startElement("", "div", "div", page);
+    characters(handler, "Page two");
+    handler.endElement("", "div", "div");
+    handler.endDocument();
+
+    assertEquals(2, chunks.size());
+
+    assertChunk(chunks.get(0), 0, 0, "Page one");
+    assertEquals(1, chunks.get(0).getPage());
+    assertChunk(chunks.get(1), 1, 8, "Page two");
+    assertEquals(2, chunks.get(1).getPage());
+  }
+
+  private static void characters(ChunkingContentHandler handler, String s) {
+    handler.characters(s.toCharArray(), 0, s.length());
+  }
+
+  private static void assertChunk(Chunk chunk, int index, int offset, String text) {
+    assertEquals(index, chunk.getIndex());
+    assertEquals(offset, chunk.getOffset());
+    assertEquals(text, chunk.getText());
+  }
+}
@@ -2,6 +2,7 @@
 package io.annot8.components.tika.processors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.annot8.api.components.Processor;
@@ -9,8 +10,20 @@ import io.annot8.api.data.Item;
 import io.annot8.common.data.content.InputStreamContent;
 import io.annot8.testing.testimpl.TestItem;
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.junit.jupiter.api.Test;
 
 public class ConvertToHtmlTest {
@@ -37,4 +50,125 @@ public class ConvertToHtmlTest {
 
     assertTrue(html.contains("<p>Hello world!</p>"));
   }
+
+  @Test
+  public void testTempFile() {
+    ConvertToHtml.Settings settings = new ConvertToHtml.Settings();
+    settings.setTempFileThreshold(0);
+
+    Processor extractor = new ConvertToHtml.Processor(settings);
+
+    Item item = new TestItem();
+    item.createContent(InputStreamContent.class)
+        .withData(ConvertToHtmlTest.class.getResourceAsStream("test.pdf"))
+        .save();
+
+    extractor.process(item);
+
+    assertEquals(1, item.getContents(InputStreamContent.class).count());
+    InputStreamContent isc = item.getContents(InputStreamContent.class).findFirst().get();
+
+    // Read twice, to check the supplier can be reused
+    for (int i = 0; i < 2; i++) {
+      String html =
+          new BufferedReader(new InputStreamReader(isc.getData(), StandardCharsets.UTF_8))
+              .lines()
+              .collect(Collectors.joining("\n"));
+
+      assertTrue(html.contains("<p>Hello world!</p>"));
+    }
+  }
+
+  @Test
+  public void testTempFileDeleted() throws Exception {
+    DeferredFileOutputStream outputStream =
+        new DeferredFileOutputStream(0, "annot8-tika", ".html", null);
+    outputStream.write("<p>Hello world!</p>".getBytes(StandardCharsets.UTF_8));
+    outputStream.close();
+
+    File file = outputStream.getFile();
+    Supplier<InputStream> supplier = ConvertToHtml.Processor.createSupplier(outputStream);
+    try (InputStream inputStream = supplier.get()) {
+      assertEquals("<p>Hello world!</p>", new String(inputStream.readAllBytes()));
+    }
+    assertTrue(file.exists());
+
+    // Once nothing references the supplier, the file is deleted when it is garbage collected
+    supplier = null;
+    for (int i = 0; i < 100 && file.exists(); i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void testDiscard() throws Exception {
+    DeferredFileOutputStream deferred =
+        new DeferredFileOutputStream(10, "annot8-tika", ".html", null);
+    ConvertToHtml.DiscardableOutputStream outputStream =
+        new ConvertToHtml.DiscardableOutputStream(deferred);
+
+    outputStream.write("Hello".getBytes(StandardCharsets.UTF_8));
+    outputStream.discard();
+
+    // Writing past the threshold after discarding mustn't create a temporary file
+    outputStream.write(" world!".repeat(10).getBytes(StandardCharsets.UTF_8));
+    outputStream.close();
+    assertTrue(deferred.isInMemory());
+
+    deferred = new DeferredFileOutputStream(0, "annot8-tika", ".html", null);
+    outputStream = new ConvertToHtml.DiscardableOutputStream(deferred);
+
+    outputStream.write("Hello world!".getBytes(StandardCharsets.UTF_8));
+    File file = deferred.getFile();
+    assertTrue(file.exists());
+
+    outputStream.discard();
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void testTimeoutCreatesNoTempFile() throws Exception {
+    ConvertToHtml.Settings settings = new ConvertToHtml.Settings();
+    settings.setRemoveSourceContent(false);
+    settings.setTimeout(100);
+    settings.setTempFileThreshold(1000);
+
+    Processor extractor = new ConvertToHtml.Processor(settings);
+
+    CountDownLatch latch = new CountDownLatch(1);
+    DelayedInputStream inputStream =
+        new DelayedInputStream("Hello world! ".repeat(1000).getBytes(), latch);
+
+    Item item = new TestItem();
+    item.createContent(InputStreamContent.class).withData(inputStream).save();
+
+    Set<Path> before = tempFiles();
+
+    extractor.process(item);
+    assertEquals(1, item.getContents(InputStreamContent.class).count());
+
+    // Let the abandoned parse carry on to the end of the document, past the threshold
+    latch.countDown();
+    assertTrue(inputStream.finished.await(10, TimeUnit.SECONDS));
+    Thread.sleep(500);
+
+    extractor.close();
+
+    assertEquals(1, item.getContents(InputStreamContent.class).count());
+    assertEquals(before, tempFiles());
+  }
+
+  private static Set<Path> tempFiles() throws IOException {
+    try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+      return files
+          .filter(
+              f ->
+                  f.getFileName().toString().startsWith("annot8-tika")
+                      && f.getFileName().toString().endsWith(".html"))
+          .collect(Collectors.toSet());
+    }
+  }
 }
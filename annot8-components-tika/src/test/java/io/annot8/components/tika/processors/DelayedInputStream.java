@@ -0,0 +1,47 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.tika.processors;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CountDownLatch;
+
+/** InputStream that blocks until the latch is released, and then reads the data */
+class DelayedInputStream extends ByteArrayInputStream {
+  private final CountDownLatch latch;
+  final CountDownLatch finished = new CountDownLatch(1);
+
+  DelayedInputStream(byte[] data, CountDownLatch latch) {
+    super(data);
+    this.latch = latch;
+  }
+
+  @Override
+  public synchronized int read() {
+    await();
+    int b = super.read();
+    if (b < 0) finished.countDown();
+    return b;
+  }
+
+  @Override
+  public synchronized int read(byte[] b, int off, int len) {
+    await();
+    int n = super.read(b, off, len);
+    if (n < 0) finished.countDown();
+    return n;
+  }
+
+  private void await() {
+    // Ignore interrupts, like a stuck parse would
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) Thread.currentThread().interrupt();
+  }
+}
@@ -3,17 +3,24 @@ package io.annot8.components.tika.processors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.annot8.api.components.Processor;
 import io.annot8.api.data.Item;
 import io.annot8.common.data.content.FileContent;
 import io.annot8.common.data.content.InputStreamContent;
 import io.annot8.common.data.content.Text;
+import io.annot8.conventions.PropertyKeys;
 import io.annot8.testing.testimpl.TestItem;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 public class TikaExtractorTest {
@@ -116,4 +123,136 @@ public class TikaExtractorTest {
 
     assertEquals(0, item.getContents(Text.class).count());
   }
+
+  @Test
+  public void testMaxCharacters() throws IOException {
+    Path p = Files.createTempFile("annot8-tika", ".txt");
+    p.toFile().deleteOnExit();
+
+    Files.write(p, "Hello world!".getBytes());
+
+    TikaExtractor.Settings settings = new TikaExtractor.Settings();
+    settings.setRemoveSourceContent(false);
+    settings.setMaxCharacters(5);
+
+    Processor extractor = new TikaExtractor.Processor(settings);
+
+    Item item = new TestItem();
+    item.createContent(FileContent.class).withData(p.toFile()).save();
+
+    extractor.process(item);
+
+    assertEquals(1, item.getContents(Text.class).count());
+    assertEquals("Hello", item.getContents(Text.class).findFirst().get().getData());
+  }
+
+  @Test
+  public void testTimeout() {
+    TikaExtractor.Settings settings = new TikaExtractor.Settings();
+    settings.setRemoveSourceContent(false);
+    settings.setTimeout(60000);
+
+    Processor extractor = new TikaExtractor.Processor(settings);
+
+    Item item = new TestItem();
+    item.createContent(InputStreamContent.class)
+        .withData(TikaExtractorTest.class.getResourceAsStream("test.pdf"))
+        .save();
+
+    extractor.process(item);
+    extractor.close();
+
+    assertEquals(
+        1, item.getContents(Text.class).filter(c -> c.getData().contains("Hello world!")).count());
+  }
+
+  @Test
+  public void testTimeoutCreatesNoChunks() throws Exception {
+    TikaExtractor.Settings settings = new TikaExtractor.Settings();
+    settings.setRemoveSourceContent(false);
+    settings.setTimeout(100);
+    settings.setChunking(TikaExtractor.Chunking.CHARACTERS);
+    settings.setChunkSize(100);
+
+    Processor extractor = new TikaExtractor.Processor(settings);
+
+    CountDownLatch latch = new CountDownLatch(1);
+    DelayedInputStream inputStream =
+        new DelayedInputStream("Hello world! ".repeat(1000).getBytes(), latch);
+
+    Item item = new TestItem();
+    item.createContent(InputStreamContent.class).withData(inputStream).save();
+
+    extractor.process(item);
+    assertEquals(0, item.getContents(Text.class).count());
+
+    // Let the abandoned parse carry on to the end of the document
+    latch.countDown();
+    assertTrue(inputStream.finished.await(10, TimeUnit.SECONDS));
+    Thread.sleep(500);
+
+    extractor.close();
+
+    assertEquals(0, item.getContents(Text.class).count());
+  }
+
+  @Test
+  public void testTimeoutChunking() throws IOException {
+    Path p = Files.createTempFile("annot8-tika", ".txt");
+    p.toFile().deleteOnExit();
+
+    Files.write(p, "Hello world! Goodbye world!".getBytes());
+
+    TikaExtractor.Settings settings = new TikaExtractor.Settings();
+    settings.setRemoveSourceContent(false);
+    settings.setTimeout(60000);
+    settings.setChunking(TikaExtractor.Chunking.CHARACTERS);
+    settings.setChunkSize(16);
+
+    Processor extractor = new TikaExtractor.Processor(settings);
+
+    Item item = new TestItem();
+    item.createContent(FileContent.class).withData(p.toFile()).save();
+
+    extractor.process(item);
+    extractor.close();
+
+    assertEquals(2, item.getContents(Text.class).count());
+  }
+
+  @Test
+  public void testChunking() throws IOException {
+    Path p = Files.createTempFile("annot8-tika", ".txt");
+    p.toFile().deleteOnExit();
+
+    Files.write(p, "Hello world! Goodbye world!".getBytes());
+
+    TikaExtractor.Settings settings = new TikaExtractor.Settings();
+    settings.setRemoveSourceContent(false);
+    settings.setChunking(TikaExtractor.Chunking.CHARACTERS);
+    settings.setChunkSize(16);
+
+    Processor extractor = new TikaExtractor.Processor(settings);
+
+    Item item = new TestItem();
+    item.createContent(FileContent.class).withData(p.toFile()).save();
+
+    extractor.process(item);
+
+    List<Text> texts =
+        item.getContents(Text.class)
+            .sorted(
+                Comparator.comparing(
+                    t ->
+                        t.getProperties()
+                            .get(PropertyKeys.PROPERTY_KEY_INDEX, Integer.class)
+                            .get()))
+            .collect(Collectors.toList());
+
+    assertEquals(2, texts.size());
+    assertEquals("Hello world! ", texts.get(0).getData());
+    assertEquals(0, texts.get(0).getProperties().get(PropertyKeys.PROPERTY_KEY_START).get());
+    assertTrue(texts.get(1).getData().startsWith("Goodbye world!"));
+    assertEquals(13, texts.get(1).getProperties().get(PropertyKeys.PROPERTY_KEY_START).get());
+  }
 }
@@ -0,0 +1,216 @@
+/* Annot8 (annot8.io) - Licensed under Apache-2.0. */
+package io.annot8.components.tika.processors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.sax.BodyContentHandler;
+import org.junit.jupiter.api.Test;
+
+public class TikaParserTest {
+
+  @Test
+  public void testGetMediaType() {
+    Metadata metadata = new Metadata();
+    assertEquals(TikaParser.UNKNOWN_MEDIA_TYPE, TikaParser.getMediaType(metadata));
+
+    metadata.set(Metadata.CONTENT_TYPE, "text/plain; charset=UTF-8");
+    assertEquals("text/plain", TikaParser.getMediaType(metadata));
+  }
+
+  @Test
+  public void testParseMediaType() throws Exception {
+    Metadata metadata = new Metadata();
+    try (TikaParser parser = new TikaParser()) {
+      parser.parse(
+          TikaParserTest.class.getResourceAsStream("test.pdf"), new BodyContentHandler(), metadata);
+    }
+
+    assertEquals("application/pdf", TikaParser.getMediaType(metadata));
+  }
+
+  @Test
+  public void testTimeout() {
+    CountDownLatch latch = new CountDownLatch(1);
+
+    try (TikaParser parser = new TikaParser(100, 0, List.of())) {
+      assertTimeoutPreemptively(
+          Duration.ofSeconds(10),
+          () ->
+              assertThrows(
+                  TikaException.class,
+                  () ->
+                      parser.parse(
+                          new BlockingInputStream(latch),
+                          new BodyContentHandler(),
+                          new Metadata())));
+    } finally {
+      latch.countDown();
+    }
+  }
+
+  @Test
+  public void testAbandonedParsesLimited() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+
+    try (TikaParser parser = new TikaParser(100, 2, 0, List.of())) {
+      // Each of these parses carries on in the background after timing out
+      for (int i = 0; i < 2; i++) {
+        assertThrows(
+            TikaException.class,
+            () ->
+                parser.parse(
+                    new BlockingInputStream(latch), new BodyContentHandler(), new Metadata()));
+      }
+      assertEquals(2, parser.getAbandonedParses());
+
+      // So this document is rejected
+      TikaException e =
+          assertThrows(
+              TikaException.class,
+              () ->
+                  parser.parse(
+                      TikaParserTest.class.getResourceAsStream("test.pdf"),
+                      new BodyContentHandler(),
+                      new Metadata()));
+      assertTrue(e.getMessage().contains("maxAbandonedParses"));
+
+      // Until the abandoned parses have finished
+      latch.countDown();
+      for (int i = 0; i < 100 && parser.getAbandonedParses() > 0; i++) {
+        Thread.sleep(100);
+      }
+      assertEquals(0, parser.getAbandonedParses());
+
+      parser.parse(
+          TikaParserTest.class.getResourceAsStream("test.pdf"),
+          new BodyContentHandler(),
+          new Metadata());
+    } finally {
+      latch.countDown();
+    }
+  }
+
+  @Test
+  public void testConcurrentParsesNotLimited() throws Exception {
+    int count = 8;
+
+    // Every parse waits until all of them are running at once
+    CountDownLatch running = new CountDownLatch(count);
+    ExecutorService executor = Executors.newFixedThreadPool(count);
+
+    try (TikaParser parser = new TikaParser(10000, 1, 0, List.of())) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  parser.parse(
+                      new GatheringInputStream(running), new BodyContentHandler(), new Metadata());
+                  return null;
+                }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+
+      assertEquals(0, parser.getAbandonedParses());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFork() throws Exception {
+    Metadata metadata = new Metadata();
+    BodyContentHandler handler = new BodyContentHandler();
+    try (TikaParser parser =
+        new TikaParser(60000, 1, List.of("java", "-Xmx256m", "-Djava.awt.headless=true"))) {
+      parser.parse(TikaParserTest.class.getResourceAsStream("test.pdf"), handler, metadata);
+    }
+
+    assertEquals("application/pdf", TikaParser.getMediaType(metadata));
+    assertTrue(handler.toString().contains("Hello world!"));
+  }
+
+  /**
+   * InputStream that, on its first read, counts down the latch and waits for it to be released, and
+   * then reads some text
+   */
+  static class GatheringInputStream extends ByteArrayInputStream {
+    private final CountDownLatch latch;
+
+    GatheringInputStream(CountDownLatch latch) {
+      super("Hello world!".getBytes(StandardCharsets.UTF_8));
+      this.latch = latch;
+    }
+
+    @Override
+    public int read() {
+      gather();
+      return super.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      gather();
+      return super.read(b, off, len);
+    }
+
+    private void gather() {
+      if (latch.getCount() == 0) return;
+
+      latch.countDown();
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * InputStream that blocks on every read until the latch is released, ignoring interrupts like a
+   * stuck parse would, and is then empty
+   */
+  static class BlockingInputStream extends InputStream {
+    private final CountDownLatch latch;
+
+    BlockingInputStream(CountDownLatch latch) {
+      this.latch = latch;
+    }
+
+    @Override
+    public int read() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          latch.await();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+
+      if (interrupted) Thread.currentThread().interrupt();
+
+      return -1;
+    }
+  }
+}
@@ -11,6 +11,7 @@ import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractRegexProcessor;
+import io.annot8.components.base.text.processors.RegexPrefilter;
 import io.annot8.conventions.AnnotationTypes;
 import java.util.regex.Pattern;
 
@@ -32,6 +33,8 @@ public class FlightNumber extends AbstractProcessorDescriptor<FlightNumber.Proce
   }
 
   public static class Processor extends AbstractRegexProcessor {
+    private static final RegexPrefilter PREFILTER = new RegexPrefilter(true, 1, 64, "Flight");
+
     public Processor() {
       super(
           Pattern.compile(
@@ -40,5 +43,10 @@ public class FlightNumber extends AbstractProcessorDescriptor<FlightNumber.Proce
           0,
           AnnotationTypes.ENTITY_PREFIX + "flight");
     }
+
+    @Override
+    protected RegexPrefilter prefilter() {
+      return PREFILTER;
+    }
   }
 }
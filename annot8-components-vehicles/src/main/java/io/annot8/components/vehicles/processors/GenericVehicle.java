@@ -2,7 +2,6 @@
 package io.annot8.components.vehicles.processors;
 
 import io.annot8.api.capabilities.Capabilities;
-import io.annot8.api.components.Processor;
 import io.annot8.api.components.annotations.ComponentDescription;
 import io.annot8.api.components.annotations.ComponentName;
 import io.annot8.api.context.Context;
@@ -11,7 +10,6 @@ import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
 import io.annot8.common.data.content.Text;
-import io.annot8.components.base.processors.MultiProcessor;
 import io.annot8.components.base.text.processors.DescribedWordToken;
 import io.annot8.components.stopwords.resources.NoOpStopwords;
 import io.annot8.components.stopwords.resources.Stopwords;
@@ -19,15 +17,17 @@ import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
 import io.annot8.utils.text.PluralUtils;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 @ComponentName("Generic Vehicle")
 @ComponentDescription("Extracts vehicles (with descriptions) from text")
-public class GenericVehicle extends AbstractProcessorDescriptor<MultiProcessor, NoSettings> {
+public class GenericVehicle
+    extends AbstractProcessorDescriptor<DescribedWordToken.Processor, NoSettings> {
 
   @Override
-  protected MultiProcessor createComponent(Context context, NoSettings noSettings) {
+  protected DescribedWordToken.Processor createComponent(Context context, NoSettings noSettings) {
     Stopwords sw;
     if (context == null || context.getResource(Stopwords.class).isEmpty()) {
       sw = new NoOpStopwords();
@@ -247,61 +247,25 @@ public class GenericVehicle extends AbstractProcessorDescriptor<MultiProcessor,
             "pale",
             "metallic");
 
-    Processor road =
-        new DescribedWordToken.Processor(
-            sw,
-            AnnotationTypes.ANNOTATION_TYPE_VEHICLE,
-            PluralUtils.pluraliseSet(roadVehicles),
-            descriptors,
-            false,
-            Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "road"));
+    // Look for all of the vehicles in a single pass, assigning the subtype from the set of vehicles
+    // that matched
+    Map<String, Map<String, Object>> vehicles = new HashMap<>();
+    addVehicles(vehicles, roadVehicles, Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "road"));
+    addVehicles(vehicles, railVehicles, Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "rail"));
+    addVehicles(vehicles, maritimeVehicles, Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "maritime"));
+    addVehicles(vehicles, airVehicles, Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "air"));
+    addVehicles(vehicles, spaceVehicles, Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "space"));
+    addVehicles(vehicles, otherVehicles, Collections.emptyMap());
 
-    Processor rail =
-        new DescribedWordToken.Processor(
-            sw,
-            AnnotationTypes.ANNOTATION_TYPE_VEHICLE,
-            PluralUtils.pluraliseSet(railVehicles),
-            descriptors,
-            false,
-            Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "rail"));
-
-    Processor maritime =
-        new DescribedWordToken.Processor(
-            sw,
-            AnnotationTypes.ANNOTATION_TYPE_VEHICLE,
-            PluralUtils.pluraliseSet(maritimeVehicles),
-            descriptors,
-            false,
-            Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "maritime"));
-
-    Processor air =
-        new DescribedWordToken.Processor(
-            sw,
-            AnnotationTypes.ANNOTATION_TYPE_VEHICLE,
-            PluralUtils.pluraliseSet(airVehicles),
-            descriptors,
-            false,
-            Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "air"));
-
-    Processor space =
-        new DescribedWordToken.Processor(
-            sw,
-            AnnotationTypes.ANNOTATION_TYPE_VEHICLE,
-            PluralUtils.pluraliseSet(spaceVehicles),
-            descriptors,
-            false,
-            Map.of(PropertyKeys.PROPERTY_KEY_SUBTYPE, "space"));
-
-    Processor other =
-        new DescribedWordToken.Processor(
-            sw,
-            AnnotationTypes.ANNOTATION_TYPE_VEHICLE,
-            PluralUtils.pluraliseSet(otherVehicles),
-            descriptors,
-            false,
-            Collections.emptyMap());
+    return new DescribedWordToken.Processor(
+        sw, AnnotationTypes.ANNOTATION_TYPE_VEHICLE, vehicles, descriptors, false);
+  }
 
-    return new MultiProcessor(road, rail, maritime, air, space, other);
+  private static void addVehicles(
+      Map<String, Map<String, Object>> vehicles,
+      Set<String> tokens,
+      Map<String, Object> properties) {
+    PluralUtils.pluraliseSet(tokens).forEach(t -> vehicles.putIfAbsent(t, properties));
   }
 
   @Override
@@ -52,4 +52,26 @@ public class FlightNumberTest {
       Assertions.assertEquals(0, a2.getProperties().getAll().size());
     }
   }
+
+  @Test
+  public void testLowerCase() {
+    try (Processor p = new FlightNumber.Processor()) {
+      Item item = new TestItem();
+
+      Text content =
+          item.createContent(TestStringContent.class)
+              .withData("James caught flight BA22 to Baltimore.")
+              .save();
+
+      p.process(item);
+
+      List<String> covered =
+          content
+              .getAnnotations()
+              .getAll()
+              .map(a -> a.getBounds().getData(content).get())
+              .collect(Collectors.toList());
+      Assertions.assertEquals(List.of("flight BA22"), covered);
+    }
+  }
 }
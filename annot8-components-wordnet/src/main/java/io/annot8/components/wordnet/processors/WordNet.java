@@ -1,12 +1,14 @@
 /* Annot8 (annot8.io) - Licensed under Apache-2.0. */
 package io.annot8.components.wordnet.processors;
 
+import io.annot8.api.annotations.Annotation;
 import io.annot8.api.capabilities.Capabilities;
 import io.annot8.api.components.annotations.ComponentDescription;
 import io.annot8.api.components.annotations.ComponentName;
+import io.annot8.api.components.annotations.SettingsClass;
 import io.annot8.api.context.Context;
 import io.annot8.api.exceptions.Annot8RuntimeException;
-import io.annot8.api.settings.NoSettings;
+import io.annot8.api.settings.Description;
 import io.annot8.common.components.AbstractProcessorDescriptor;
 import io.annot8.common.components.capabilities.SimpleCapabilities;
 import io.annot8.common.data.bounds.SpanBounds;
@@ -14,7 +16,11 @@ import io.annot8.common.data.content.Text;
 import io.annot8.components.base.text.processors.AbstractTextProcessor;
 import io.annot8.conventions.AnnotationTypes;
 import io.annot8.conventions.PropertyKeys;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import net.sf.extjwnl.JWNLException;
 import net.sf.extjwnl.data.IndexWord;
 import net.sf.extjwnl.data.POS;
@@ -22,11 +28,12 @@ import net.sf.extjwnl.dictionary.Dictionary;
 
 @ComponentName("WordNet Lemmas")
 @ComponentDescription("Add lemmas to word tokens using WordNet")
-public class WordNet extends AbstractProcessorDescriptor<WordNet.Processor, NoSettings> {
+@SettingsClass(WordNet.Settings.class)
+public class WordNet extends AbstractProcessorDescriptor<WordNet.Processor, WordNet.Settings> {
 
   @Override
-  protected Processor createComponent(Context context, NoSettings noSettings) {
-    return new Processor();
+  protected Processor createComponent(Context context, Settings settings) {
+    return new Processor(settings.getCacheSize());
   }
 
   @Override
@@ -37,10 +44,30 @@ public class WordNet extends AbstractProcessorDescriptor<WordNet.Processor, NoSe
         .build();
   }
 
+  /**
+   * Processor that adds lemmas to word tokens.
+   *
+   * <p>As vocabulary is heavily repeated, the lemma (or lack of one) for each combination of part
+   * of speech and surface form is held in a least recently used cache, to avoid repeating the
+   * dictionary lookup.
+   */
   public static class Processor extends AbstractTextProcessor {
     private Dictionary dictionary;
+    private final Map<String, Optional<String>> lemmas;
 
     public Processor() {
+      this(Settings.DEFAULT_CACHE_SIZE);
+    }
+
+    public Processor(int cacheSize) {
+      lemmas =
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<String>> eldest) {
+              return size() > cacheSize;
+            }
+          };
+
       try {
         // With Java 9 modules this will throw IllegalArgumentException.
         // Which means that the class.getResourceAsStream('path/in/jar') returns null;
@@ -57,33 +84,31 @@ public class WordNet extends AbstractProcessorDescriptor<WordNet.Processor, NoSe
 
     @Override
     protected void process(Text content) {
-      content
-          .getAnnotations()
-          .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
-          .filter(a -> a.getProperties().has(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class))
-          .forEach(
-              a -> {
-                POS pos =
-                    toPos(
-                        a.getProperties()
-                            .get(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class)
-                            .get());
-                String word = content.getText(a).get();
-
-                if (pos != null) {
-                  Optional<IndexWord> lookupWord = lookupWord(pos, word);
-
-                  if (lookupWord.isPresent()) {
-                    content
-                        .getAnnotations()
-                        .copy(a)
-                        .withProperty(PropertyKeys.PROPERTY_KEY_LEMMA, lookupWord.get().getLemma())
-                        .save();
-
-                    content.getAnnotations().delete(a);
-                  }
-                }
-              });
+      // Collect the tokens first, so that we aren't modifying the annotations whilst streaming them
+      List<Annotation> tokens =
+          content
+              .getAnnotations()
+              .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+              .filter(
+                  a -> a.getProperties().has(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class))
+              .collect(Collectors.toList());
+
+      for (Annotation a : tokens) {
+        POS pos =
+            toPos(
+                a.getProperties().get(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, String.class).get());
+        if (pos == null) continue;
+
+        Optional<String> lemma = lookupLemma(pos, content.getText(a).get());
+
+        if (lemma.isPresent()) {
+          content
+              .getAnnotations()
+              .edit(a)
+              .withProperty(PropertyKeys.PROPERTY_KEY_LEMMA, lemma.get())
+              .save();
+        }
+      }
     }
 
     @Override
@@ -121,6 +146,26 @@ public class WordNet extends AbstractProcessorDescriptor<WordNet.Processor, NoSe
       return ret;
     }
 
+    /**
+     * Lookup the lemma of the word, using the cache if the word has been looked up before.
+     *
+     * @param pos the pos
+     * @param word the word
+     * @return the lemma, (as an optional)
+     */
+    public Optional<String> lookupLemma(final POS pos, final String word) {
+      // The key of a POS is a single character, so this can't be ambiguous
+      String key = pos.getKey() + word;
+
+      Optional<String> lemma = lemmas.get(key);
+      if (lemma == null) {
+        lemma = lookupWord(pos, word).map(IndexWord::getLemma);
+        lemmas.put(key, lemma);
+      }
+
+      return lemma;
+    }
+
     /**
      * Lookup the word from the dictionary, performing lemmisation if required.
      *
@@ -137,4 +182,28 @@ public class WordNet extends AbstractProcessorDescriptor<WordNet.Processor, NoSe
       }
     }
   }
+
+  /** Settings class for {@link WordNet} */
+  public static class Settings implements io.annot8.api.settings.Settings {
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+
+    @Description(
+        value =
+            "Maximum number of words (by part of speech and surface form) for which the lemma is cached",
+        defaultValue = "10000")
+    public int getCacheSize() {
+      return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+      this.cacheSize = cacheSize;
+    }
+
+    @Override
+    public boolean validate() {
+      return cacheSize >= 0;
+    }
+  }
 }
@@ -72,6 +72,60 @@ public class WordNetTest {
     assertFalse(qm.getProperties().has(PropertyKeys.PROPERTY_KEY_LEMMA));
   }
 
+  @Test
+  public void testRepeatedWords() {
+    Processor p = new WordNet.Processor(1);
+    Item item = new TestItem();
+
+    Text content =
+        item.createContent(TestStringContent.class).withData("dogs cats dogs cats").save();
+
+    for (int i = 0; i < 4; i++) {
+      content
+          .getAnnotations()
+          .create()
+          .withType(AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+          .withBounds(new SpanBounds(i * 5, i * 5 + 4))
+          .withProperty(PropertyKeys.PROPERTY_KEY_PARTOFSPEECH, "NNS")
+          .save();
+    }
+
+    p.process(item);
+
+    List<String> lemmas =
+        content
+            .getAnnotations()
+            .getByBoundsAndType(SpanBounds.class, AnnotationTypes.ANNOTATION_TYPE_WORDTOKEN)
+            .sorted(SortUtils.SORT_BY_SPANBOUNDS)
+            .map(a -> a.getProperties().get(PropertyKeys.PROPERTY_KEY_LEMMA, String.class).get())
+            .collect(Collectors.toList());
+
+    assertEquals(List.of("dog", "cat", "dog", "cat"), lemmas);
+  }
+
+  @Test
+  public void testLookupLemma() {
+    WordNet.Processor p = new WordNet.Processor();
+
+    assertEquals("be", p.lookupLemma(POS.VERB, "is").get());
+    assertEquals("be", p.lookupLemma(POS.VERB, "is").get());
+    assertTrue(p.lookupLemma(POS.NOUN, "xyzzyplugh").isEmpty());
+    assertTrue(p.lookupLemma(POS.NOUN, "xyzzyplugh").isEmpty());
+  }
+
+  @Test
+  public void testSettings() {
+    WordNet.Settings s = new WordNet.Settings();
+    assertEquals(WordNet.Settings.DEFAULT_CACHE_SIZE, s.getCacheSize());
+    assertTrue(s.validate());
+
+    s.setCacheSize(0);
+    assertTrue(s.validate());
+
+    s.setCacheSize(-1);
+    assertFalse(s.validate());
+  }
+
   @Test
   public void testToPos() {
     assertEquals(POS.VERB, WordNet.Processor.toPos("verb"));